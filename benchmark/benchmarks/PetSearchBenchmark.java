@@ -0,0 +1,90 @@
+package benchmarks;
+
+import io.restassured.path.json.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utilities.JsonStreamSearch;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pet Search Benchmark
+ * <p>
+ * Finding "doggie" in category 12, in a findByStatus response of <code>pets</code> available pets;
+ * through <code>LinkedHashMap</code> casts over the whole materialised list (as <code>retrieve_all_available_pets</code> once did),
+ * vs the {@link JsonStreamSearch} it does now.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PetSearchBenchmark {
+
+    //region  helper variables
+
+    private static final String PET_NAME = "doggie";
+    private static final long PET_CATEGORY_ID = 12;
+
+    @Param({"100", "1000", "10000"})
+    public int pets;
+
+    private byte[] availablePets;
+
+    //endregion
+
+    @Setup
+    public void setUp() {
+        availablePets = RecordedPayloads.availablePets(pets).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public boolean materialised_casts() {
+
+        ArrayList<LinkedHashMap<String, Object>> list_of_available_pets = new JsonPath(new ByteArrayInputStream(availablePets)).get();
+
+        for (LinkedHashMap<String, Object> pet_content : list_of_available_pets) {
+
+            String pet_name = pet_content.get("name") != null ? (String) pet_content.get("name") : "";
+
+            LinkedHashMap<String, Object> pet_content_category = (LinkedHashMap<String, Object>) pet_content.get("category");
+
+            Object pet_content_category_id = pet_content_category != null ? pet_content_category.get("id") : -1;
+
+            if (pet_name.equals(PET_NAME) && pet_content_category_id instanceof Number
+                    && ((Number) pet_content_category_id).longValue() == PET_CATEGORY_ID)
+                return true;
+        }
+
+        return false;
+    }
+
+    @Benchmark
+    public boolean streamed() {
+        return JsonStreamSearch
+                .forFields("name", "category.id")
+                .findFirst(new ByteArrayInputStream(availablePets), pet_content ->
+                        PET_NAME.equals(pet_content.get("name")) && Long.valueOf(PET_CATEGORY_ID).equals(pet_content.get("category.id"))
+                )
+                .isFound();
+    }
+
+}
@@ -0,0 +1,87 @@
+package benchmarks;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Recorded Payloads
+ * <p>
+ * Responses recorded from the live APIs (<code>./test_data/stubs</code>), rebuilt as Rest Assured
+ * {@link Response}s without any http; so that benchmarks measure only what tests do with a response.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+final class RecordedPayloads {
+
+    //region  helper variables
+
+    private static final String STUBS_FOLDER_PATH = "./test_data/stubs/";
+
+    static final String RANDOM_BREED_IMAGE =
+            "{\"message\":\"https://images.dog.ceo/breeds/hound-afghan/n02088094_1003.jpg\",\"status\":\"success\"}";
+
+    //endregion
+
+    private RecordedPayloads() {
+    }
+
+    static String listOfAllBreeds() {
+        return read("dog_breeds_list_all.json");
+    }
+
+    /**
+     * @param size, pets in the list; the recorded pets, repeated with new ids, to a findByStatus-like size.
+     * @return a json array of available pets; only the last of which is "doggie" in category 12.
+     */
+    static String availablePets(int size) {
+
+        StringBuilder json = new StringBuilder(size * 256).append('[');
+
+        for (int i = 1; i <= size; i++) {
+
+            boolean is_last = i == size;
+
+            json.append(i > 1 ? "," : "")
+                    .append("{\"id\":").append(9_222_968_140_497_200_000L + i)
+                    .append(",\"category\":{\"id\":").append(is_last ? 12 : i % 11).append(",\"name\":\"dogs\"}")
+                    .append(",\"name\":\"").append(is_last ? "doggie" : "fish-" + i).append('"')
+                    .append(",\"photoUrls\":[\"https://images.dog.ceo/breeds/hound-afghan/n02088094_").append(i).append(".jpg\"]")
+                    .append(",\"tags\":[{\"id\":0,\"name\":\"string\"}]")
+                    .append(",\"status\":\"available\"}");
+        }
+
+        return json.append(']').toString();
+    }
+
+    /**
+     * @return a 200 json response, as the APIs send it.
+     */
+    static Response okJson(String body) {
+        return new ResponseBuilder()
+                .setStatusCode(200)
+                .setStatusLine("HTTP/1.1 200 OK")
+                .setContentType("application/json")
+                .setBody(body)
+                .build();
+    }
+
+    //region helper methods
+
+    private static String read(String file_name) {
+        try {
+            return new String(Files.readAllBytes(Paths.get(STUBS_FOLDER_PATH + file_name)), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("recorded payload not found; run benchmarks from the project folder. " + file_name, e);
+        }
+    }
+
+    //endregion
+
+}
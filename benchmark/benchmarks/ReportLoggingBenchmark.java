@@ -0,0 +1,80 @@
+package benchmarks;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import utilities.AsyncReportWriter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Report Logging Benchmark
+ * <p>
+ * What one pass / fail line costs the test thread; logged straight on to an {@link ExtentTest}
+ * (formatted on the test thread, under Extent's lock), vs queued on to the {@link AsyncReportWriter}.
+ * No html reporter is attached, so neither pays for writing the report file.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportLoggingBenchmark {
+
+    //region  helper variables
+
+    private static final String KEY = "message";
+
+    private ExtentReports extent;
+    private AsyncReportWriter writer;
+    private ExtentTest test;
+
+    //endregion
+
+    @Setup(Level.Trial)
+    public void setUpReport() {
+        extent = new ExtentReports();
+        writer = new AsyncReportWriter(extent);
+    }
+
+    /**
+     * A test case per iteration; so the logs kept in memory don't pile up over the whole run.
+     */
+    @Setup(Level.Iteration)
+    public void setUpTestCase() {
+        test = extent.createTest("TestCase: logging benchmark");
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownTestCase() {
+        writer.drain();
+        extent.removeTest(test);
+    }
+
+    @Benchmark
+    public ExtentTest extent_log_synchronous() {
+        return test.log(Status.PASS, String.format("key found %s in response.", KEY));
+    }
+
+    @Benchmark
+    public void async_writer_enqueue() {
+        writer.enqueue(test, Status.PASS, "key found %s in response.", KEY);
+    }
+
+}
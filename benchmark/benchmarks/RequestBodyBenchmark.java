@@ -0,0 +1,97 @@
+package benchmarks;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utilities.Pet;
+import utilities.PetJson;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request Body Benchmark
+ * <p>
+ * Throughput of building the add pet request body's bytes, as sent:
+ * <ul>
+ *     <li>as <code>add_a_new_pet</code> once did; an org.json {@link JSONObject} tree, <code>toString()</code>, then encoded.</li>
+ *     <li>a typed {@link Pet}, written by {@link PetJson} straight to bytes.</li>
+ *     <li>a pre-encoded {@link PetJson.Template}, with only the id and name patched in; as bulk writes do.</li>
+ * </ul>
+ * Run with <code>-prof gc</code> to compare allocation per body too.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestBodyBenchmark {
+
+    private static final String PET_NAME = "bench-pet";
+
+    private static final String PHOTO_URL = "https://images.dog.ceo/breeds/greyhound-italian/n02091032_10352.jpg";
+
+    private static final PetJson.Template TEMPLATE = PetJson.template(typedPet());
+
+    private static Pet typedPet() {
+        return new Pet(
+                0,
+                new Pet.Category(1989, "hunting-wild-hound"),
+                PET_NAME,
+                Collections.singletonList(PHOTO_URL),
+                Collections.singletonList(new Pet.Tag(19890616, "k9")),
+                "available"
+        );
+    }
+
+    @Benchmark
+    public byte[] json_object_build_and_serialize() {
+
+        JSONObject request_params = new JSONObject();
+
+        request_params.put("id", 0);
+
+        JSONObject request_category_params = new JSONObject();
+        request_category_params.put("id", 1989);
+        request_category_params.put("name", "hunting-wild-hound");
+        request_params.put("category", request_category_params);
+
+        request_params.put("name", PET_NAME);
+
+        String[] photos = {PHOTO_URL};
+        request_params.put("photoUrls", photos);
+
+        JSONObject request_tags_params = new JSONObject();
+        request_tags_params.put("id", 19890616);
+        request_tags_params.put("name", "k9");
+        JSONObject[] tags = {request_tags_params};
+        request_params.put("tags", tags);
+
+        request_params.put("status", "available");
+
+        return request_params.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] typed_pet_serializer() {
+        return PetJson.toJson(typedPet());
+    }
+
+    @Benchmark
+    public byte[] template_patch() {
+        return TEMPLATE.render(0, PET_NAME);
+    }
+
+}
@@ -0,0 +1,116 @@
+package benchmarks;
+
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import org.hamcrest.Matcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import utilities.ValidationSpec;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasKey;
+
+/**
+ * Response Validation Benchmark
+ * <p>
+ * What <code>TestDogApi.then_validate_response</code> costs per response, layer by layer:
+ * <ul>
+ *     <li>the whole validation, as five <code>response.then()</code> chains; each re-parsing the body.</li>
+ *     <li>the same validation, as a compiled {@link ValidationSpec}; reading the body once.</li>
+ *     <li>GPath extraction through <code>response.jsonPath()</code>; parsing, and the path lookup on a parsed body.</li>
+ *     <li>Hamcrest <code>hasKey</code> / <code>equalTo</code> on an already parsed body.</li>
+ * </ul>
+ * For a small (random breed image) and a larger (list of all breeds) recorded response.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseValidationBenchmark {
+
+    //region  helper variables
+
+    @Param({"random_breed_image", "list_of_all_breeds"})
+    public String payload;
+
+    private Response response;
+    private JsonPath parsed;
+    private Map<String, Object> body;
+
+    private final ValidationSpec spec = ValidationSpec.expect()
+            .statusCode(200)
+            .statusLine("HTTP/1.1 200 OK")
+            .contentType("application/json")
+            .hasKey("message")
+            .hasKey("status")
+            .fieldEquals("status", "success")
+            .compile();
+
+    private final Matcher<Map<? extends String, ?>> hasMessageKey = hasKey("message");
+    private final Matcher<Object> isSuccess = equalTo("success");
+
+    //endregion
+
+    @Setup
+    public void setUp() {
+
+        response = RecordedPayloads.okJson(
+                "random_breed_image".equals(payload) ? RecordedPayloads.RANDOM_BREED_IMAGE : RecordedPayloads.listOfAllBreeds()
+        );
+
+        parsed = response.jsonPath();
+        body = parsed.getMap("$");
+    }
+
+    /**
+     * As <code>then_validate_response</code> does it; less the report logging.
+     */
+    @Benchmark
+    public void five_then_chains() {
+        response.then().statusCode(200).statusLine("HTTP/1.1 200 OK");
+        response.then().contentType(equalTo("application/json"));
+        response.then().body("$", hasKey("message"));
+        response.then().body("$", hasKey("status"));
+        response.then().assertThat().body("status", equalTo("success"));
+    }
+
+    @Benchmark
+    public ValidationSpec.Result compiled_spec() {
+        return spec.validate(response);
+    }
+
+    @Benchmark
+    public Object json_path_parse_and_get() {
+        return response.jsonPath().get("status");
+    }
+
+    @Benchmark
+    public Object json_path_get_on_parsed() {
+        return parsed.get("status");
+    }
+
+    @Benchmark
+    public void hamcrest_on_parsed(Blackhole blackhole) {
+        blackhole.consume(hasMessageKey.matches(body));
+        blackhole.consume(isSuccess.matches(body.get("status")));
+    }
+
+}
@@ -1,7 +1,16 @@
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
-@RunWith(Suite.class)
-@Suite.SuiteClasses({TestDogApi.class, TestPetStoreSwaggerApi.class})
+import utilities.ParallelSuite;
+@RunWith(ParallelSuite.class)
+@Suite.SuiteClasses({TestDogApi.class, TestPetStoreSwaggerApi.class, TestPetStoreContract.class, TestJsonStreamSearch.class, TestPetJson.class, TestReportMerger.class, TestShard.class, TestUniqueNames.class, TestValidationSpec.class, TestResilienceBreaker.class, TestRollingWindow.class, TestApiLoad.class})
 public class ApiTestSuite{}
 // note
-// all tests fail, if you are not connected to the internet!
\ No newline at end of file
+// all tests fail, if you are not connected to the internet!
+// ...unless run against the in-process stub server; mvn test -Dapi.mode=stub
+// every test class is listed above; surefire runs this suite only (a load test is skipped, unless -Dload.test=true)
+// test classes run in parallel (-Dsuite.parallel=classes|methods|both|none, -Dsuite.concurrency=4);
+// on CI, each node runs a slice; mvn test -Dshard.index=<i> -Dshard.count=<n>
+// ...and once every node's ./test_reports/ are collected; mvn -Pmerge-reports test-compile exec:java
+// or continuously, as production probes; mvn -Pmonitor test-compile exec:java (see utilities.SyntheticMonitor)
+// startup; -Dsuite.warmup=on warms the clients up before the first test, untimed (see utilities.SuiteBootstrap)
+// ...and classes mapped from an AppCDS archive, once recorded; mvn -Pcds package exec:exec (see pom.xml)
\ No newline at end of file
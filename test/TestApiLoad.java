@@ -0,0 +1,229 @@
+import io.restassured.response.Response;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import utilities.ApiClient;
+import utilities.HtmlReporter;
+import utilities.LoadGenerator;
+import utilities.Pet;
+import utilities.PetJson;
+import utilities.UniqueNames;
+import utilities.ValidationSpec;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <p>
+ * Load-test mode; the scenarios of {@link TestDogApi} and {@link TestPetStoreSwaggerApi},
+ * driven over and over by a {@link LoadGenerator} as throughput probes, rather than run once:
+ * <ol>
+ *     <li>random breed search; of a breed drawn from {@link TestDogApi}'s table, each run</li>
+ *     <li>list all breeds; every breed of the table among them</li>
+ *     <li>add a pet, then fetch it by id</li>
+ * </ol>
+ * Each response is checked as thoroughly as the scenario's own test checks it; the dog API's against
+ * {@link TestDogApi}'s response spec.
+ * </p>
+ * <p>
+ * Skipped unless <code>-Dload.test=true</code>; see {@link LoadGenerator} for the rate, concurrency
+ * and duration properties. Each scenario's p50/p99/p999 latency and throughput is logged to the Html Report,
+ * and written next to it; <code>./test_reports/&lt;report.title&gt;_load.json</code>.
+ * </p>
+ * <p>
+ * A scenario fails when more than <code>-Dload.max.error.rate</code> (default 0.01) of its runs failed or were missed.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class TestApiLoad {
+
+    //region  helper variables
+
+    public static final String LOAD_TEST_PROPERTY = "load.test";
+    public static final String MAX_ERROR_RATE_PROPERTY = "load.max.error.rate";
+
+    private static HtmlReporter reporter;
+    private static final ApiClient DOG_API = ApiClient.DOG_API;
+    private static final ApiClient PET_STORE_API = ApiClient.PET_STORE_API;
+    private static final List<LoadGenerator.Result> results = new ArrayList<>();
+    private static final UniqueNames PET_NAMES = UniqueNames.shared();
+    private static final String PET_ID_KEY = "id";
+    private static final String PET_NAME_KEY = "name";
+    private static final ValidationSpec PET_SPEC = ValidationSpec.expect()
+            .statusCode(200)
+            .statusLine("HTTP/1.1 200 OK")
+            .contentType("application/json")
+            .hasKey(PET_ID_KEY)
+            .hasKey(PET_NAME_KEY)
+            .compile();
+
+    private static List<String> breeds;
+    private static ValidationSpec every_breed_is_listed;
+    private static final PetJson.Template PET_TEMPLATE = PetJson.template(new Pet(
+            0, null, "",
+            Collections.singletonList("https://images.dog.ceo/breeds/greyhound-italian/n02091032_10352.jpg"),
+            Collections.emptyList(),
+            "available"
+    ));
+
+    //endregion
+
+    //region helper methods
+
+    private static void random_breed_search() {
+
+        String breed = breeds.get(ThreadLocalRandom.current().nextInt(breeds.size()));
+
+        Response response = DOG_API.get("breed/{breed}/images/random", breed);
+
+        TestDogApi.RESPONSE_SPEC.validate(response).assertPassed();
+    }
+
+    private static void list_all_breeds() {
+
+        Response response = DOG_API.get("breeds/list/all");
+
+        every_breed_is_listed.validate(response).assertPassed();
+    }
+
+    private static void add_pet_then_fetch_by_id() {
+
+        String pet_name = PET_NAMES.next("load-pet");
+
+        Response response = PET_STORE_API.given()
+                .header("Content-Type", "application/json")
+                .body(PET_TEMPLATE.render(0, pet_name))
+                .post("/pet");
+
+        ValidationSpec.Result added = then_validate_pet(response, pet_name);
+
+        Object pet_id = added.getValue(PET_ID_KEY);
+
+        Assert.assertTrue("added pet has no id; was " + pet_id, pet_id instanceof Long && (Long) pet_id > 0);
+
+        response = PET_STORE_API.get("/pet/{petId}", pet_id);
+
+        Assert.assertEquals("fetched pet id", pet_id, then_validate_pet(response, pet_name).getValue(PET_ID_KEY));
+    }
+
+    /**
+     * @return the pet response's checks; all passed, and named as the pet added.
+     */
+    private static ValidationSpec.Result then_validate_pet(Response response, String pet_name) {
+
+        ValidationSpec.Result result = PET_SPEC.validate(response);
+
+        result.assertPassed();
+
+        Assert.assertEquals("pet name", pet_name, result.getValue(PET_NAME_KEY));
+
+        return result;
+    }
+
+    /**
+     * Drives the probe, then reports and keeps its result; failing when too many runs failed or were missed.
+     */
+    private void run_load(String scenario, Runnable probe) {
+
+        reporter.createTestCaseReport("load: " + scenario, "drive the " + scenario + " scenario as a throughput probe");
+
+        LoadGenerator.Result result = LoadGenerator.configured().run(scenario, probe);
+
+        synchronized (results) {
+            results.add(result);
+        }
+
+        reporter.getLogger().info("%s; %d succeeded, %d failed, %d missed in %.1f s; %.1f/s.",
+                result.getModel(), result.getSucceeded(), result.getFailed(), result.getMissed(),
+                result.getElapsedSeconds(), result.getThroughput());
+
+        reporter.getLogger().info("latency %s", result.getLatency().summary());
+
+        double max_error_rate = Double.parseDouble(System.getProperty(MAX_ERROR_RATE_PROPERTY, "0.01"));
+
+        try {
+
+            Assert.assertTrue(
+                    String.format("%s error rate %.4f is above %.4f; first failure: %s", scenario, result.getErrorRate(), max_error_rate, result.getFirstFailure()),
+                    result.getErrorRate() <= max_error_rate
+            );
+
+            reporter.getLogger().pass("error rate %.4f, within %.4f.", result.getErrorRate(), max_error_rate);
+
+        } catch (AssertionError e) {
+
+            reporter.getLogger().fail("error rate %.4f, above %.4f; first failure: %s", result.getErrorRate(), max_error_rate, result.getFirstFailure());
+
+            throw e;
+        }
+    }
+
+    //endregion
+
+    @BeforeClass
+    public static void initialize() {
+
+        Assume.assumeTrue("load-test mode is off; run with -Dload.test=true", Boolean.getBoolean(LOAD_TEST_PROPERTY));
+
+        reporter = new HtmlReporter(TestApiLoad.class.getSimpleName());
+
+        // the breeds of TestDogApi's table; each random breed search draws one, and the list of all breeds lists every one.
+        breeds = new ArrayList<>();
+
+        ValidationSpec.Builder every_breed = TestDogApi.RESPONSE_SPEC.and();
+
+        for (Object[] row : TestDogApi.breeds()) {
+            breeds.add((String) row[1]);
+            every_breed.hasKey(TestDogApi.EXPECTED_MESSAGE_KEY + "." + row[1]);
+        }
+
+        Assume.assumeFalse("the breeds table is empty", breeds.isEmpty());
+
+        every_breed_is_listed = every_breed.compile();
+
+        HtmlReporter.registerSummary("load test", () -> {
+            synchronized (results) {
+                return LoadGenerator.toReportTable(results);
+            }
+        });
+    }
+
+    @AfterClass
+    public static void tearDown() {
+
+        if (reporter == null)
+            return;
+
+        synchronized (results) {
+            LoadGenerator.writeReport(results, Paths.get(HtmlReporter.getReportFilePath("_load.json")));
+        }
+
+        reporter.publishTestReport();
+    }
+
+    //region Test Cases
+
+    @Test
+    public void random_breed_search_under_load() {
+        run_load("random breed search", TestApiLoad::random_breed_search);
+    }
+
+    @Test
+    public void list_all_breeds_under_load() {
+        run_load("list all breeds", TestApiLoad::list_all_breeds);
+    }
+
+    @Test
+    public void add_pet_then_fetch_by_id_under_load() {
+        run_load("add pet then fetch by id", TestApiLoad::add_pet_then_fetch_by_id);
+    }
+
+    //endregion
+
+}
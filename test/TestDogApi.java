@@ -1,15 +1,24 @@
 import io.restassured.path.json.JsonPath;
 import io.restassured.response.Response;
 import org.junit.AfterClass;
+import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import utilities.ApiClient;
+import utilities.ConcurrentFanOut;
 import utilities.HtmlReporter;
-
+import utilities.ImageCrawler;
+import utilities.ScenarioRunner;
+import utilities.ScenarioTable;
+import utilities.ValidationSpec;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
-
-import static io.restassured.RestAssured.get;
-import static org.hamcrest.Matchers.equalTo;
-import static org.hamcrest.Matchers.hasKey;
+import java.util.Map;
 
 /**
  * <p>
@@ -31,21 +40,32 @@ import static org.hamcrest.Matchers.hasKey;
  * </p>
  * <br/>
  * <p>
- * Test case(s) are as follows:
+ * Test case(s) are as follows; for every breed:
  * <ol>
  *     <li>
  *              Verify that a successful message is returned when a user searches for random breeds
  *     </li>
  *     <li>
- *              Verify that bulldog is on the list of all breeds
+ *              Verify that the breed is on the list of all breeds
  *      </li>
  *      <li>
- *              Retrieve all sub-breeds for bulldogs and their respective images
+ *              Retrieve all sub-breeds for the breed and their respective images
  *      </li>
  * </ol>
  * </p>
  * <br/>
  * <p>
+ * Breeds are rows of a table, <code>./test_data/breeds.csv</code>; or of the live list of all breeds,
+ * with <code>-Dbreeds.source=live</code> (or any other table, <code>-Dbreeds.source=&lt;path&gt;</code>).
+ * Each row is a test case of its own; run in parallel, and sharded, by the {@link ScenarioRunner}.
+ * </p>
+ * <br/>
+ * <p>
+ * With <code>-Dimage.crawl=true</code>, every sub-breed image is also downloaded, and verified to be an image;
+ * see {@link ImageCrawler}.
+ * </p>
+ * <br/>
+ * <p>
  *     <b><u>Helpful resource(s)</u>:</b><br/>
  *     <ul>
  *         <li>
@@ -61,18 +81,60 @@ import static org.hamcrest.Matchers.hasKey;
  * @author Sizwe I. Mkhonza
  * @since 10 Nov 2020
  */
+@RunWith(ScenarioRunner.class)
 public class TestDogApi {
 
     //region  helper variables
 
+    public static final String BREEDS_SOURCE_PROPERTY = "breeds.source";
+    private static final String DEFAULT_BREEDS_SOURCE = "./test_data/breeds.csv";
+
     private static HtmlReporter reporter;
-    private static final String BASE_URL = "https://dog.ceo/api/";
+    private static final ApiClient DOG_API = ApiClient.DOG_API;
     private static final String EXPECTED_STATUS = "success";
     private static final String EXPECTED_STATUS_KEY = "status";
-    private static final String EXPECTED_MESSAGE_KEY = "message";
+    static final String EXPECTED_MESSAGE_KEY = "message";
+
+    // also the load-test mode's; see TestApiLoad.
+    static final ValidationSpec RESPONSE_SPEC = ValidationSpec.expect()
+            .statusCode(200)
+            .statusLine("HTTP/1.1 200 OK")
+            .contentType("application/json")
+            .hasKey(EXPECTED_MESSAGE_KEY)
+            .hasKey(EXPECTED_STATUS_KEY)
+            .fieldEquals(EXPECTED_STATUS_KEY, EXPECTED_STATUS)
+            .compile();
+
+    private final String caseId;
+    private final String breed;
+    private final List<String> expectedSubBreeds;
 
     //endregion
 
+    /**
+     * @param case_id,     names the test case; e.g. <code>bulldog</code>
+     * @param breed,       e.g. <code>bulldog</code>
+     * @param sub_breeds,  ';' separated; each must be among the breed's listed sub-breeds
+     */
+    public TestDogApi(String case_id, String breed, String sub_breeds) {
+        this.caseId = case_id;
+        this.breed = breed;
+        this.expectedSubBreeds = sub_breeds.isEmpty() ? new ArrayList<>() : Arrays.asList(sub_breeds.split(";"));
+    }
+
+    /**
+     * @return one test case per breed; of the <code>breeds.source</code> table, or of the live list of all breeds.
+     */
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> breeds() {
+
+        String breeds_source = System.getProperty(BREEDS_SOURCE_PROPERTY, DEFAULT_BREEDS_SOURCE);
+
+        ScenarioTable breeds = "live".equalsIgnoreCase(breeds_source) ? listOfAllBreeds() : ScenarioTable.load(breeds_source);
+
+        return breeds.toParameters("breed", "sub_breeds");
+    }
+
     //region Helper Method
 
     /**
@@ -93,84 +155,96 @@ public class TestDogApi {
      * </code>
      * <p/>
      * <p>
+     * the body is read once, and every expectation is checked and logged;
      * whenever what's expected above is not meet...
-     * <b>an unhandled; {@link AssertionError} will be thrown</b>.
+     * <b>an unhandled; {@link AssertionError}, listing every failed expectation; will be thrown</b>.
      * Thereby failing the test!
      * <p/>
      *
      * @param response is {@link Response} from a GET request
      **/
     private void then_validate_response(Response response) {
+        then_validate_response(response, RESPONSE_SPEC);
+    }
 
-        try {
-
-            response.then().statusCode(200).statusLine("HTTP/1.1 200 OK");
-
-            reporter.getLogger().pass("good header info on response!");
-
-        } catch (AssertionError e) {
+    /**
+     * As {@link #then_validate_response(Response)}, but against the given spec.
+     *
+     * @param response is {@link Response} from a GET request
+     * @param spec     the expectations, the response must meet
+     */
+    private void then_validate_response(Response response, ValidationSpec spec) {
 
-            reporter.getLogger().fail("bad header info on response!");
+        ValidationSpec.Result result = spec.validate(response);
 
-            throw e;
+        for (ValidationSpec.Check check : result.getChecks()) {
 
+            if (check.isPassed())
+                reporter.getLogger().pass("%s ;  pass", check.getExpectation());
+            else
+                reporter.getLogger().fail("%s ; fail, was %s", check.getExpectation(), check.getActual());
         }
 
-        try {
-
-            response.then().contentType(equalTo("application/json"));
-
-            reporter.getLogger().pass("response in json format.");
-
-        } catch (AssertionError e) {
-
-            reporter.getLogger().fail("bad response not in json format!");
-
-            throw e;
+        result.assertPassed();
+    }
 
-        }
+    /**
+     * Image crawl mode (<code>-Dimage.crawl=true</code>); downloads every image, and verifies it is one.
+     * <p>
+     * every image that does not resolve, is not of an image content type, or is not the size it should be;
+     * is logged as a fail, and <b>an {@link AssertionError}, listing them; will be thrown</b>.
+     * </p>
+     *
+     * @param image_urls, e.g. of the breed's sub-breeds.
+     */
+    private void then_verify_images(List<String> image_urls) {
 
-        try {
+        ImageCrawler.Result crawl = ImageCrawler.shared().crawl(image_urls);
 
-            response.then().body("$", hasKey(EXPECTED_MESSAGE_KEY)); //body has key
+        reporter.getLogger().info(
+                "crawled %d image(s), %.2f MB in %.2f s; %.2f MB/s, %.1f images/s, concurrency limit %d.",
+                crawl.getImages().size(), crawl.getBytes() / 1e6, crawl.getElapsedSeconds(),
+                crawl.getMegabytesPerSecond(), crawl.getImagesPerSecond(), ImageCrawler.shared().getConcurrencyLimit()
+        );
 
-            reporter.getLogger().pass(String.format("key found %s in response.", EXPECTED_MESSAGE_KEY));
+        for (ImageCrawler.Image duplicate : crawl.getDuplicates())
+            reporter.getLogger().info("%s ; same image as %s", duplicate.getUrl(), duplicate.getDuplicateOf());
 
-        } catch (AssertionError e) {
+        List<String> failures = new ArrayList<>();
 
-            reporter.getLogger().fail(String.format("expected key %s in response!", EXPECTED_MESSAGE_KEY));
+        for (ImageCrawler.Image failed : crawl.getFailures()) {
 
-            throw e;
+            failures.add(failed.getUrl() + " ; " + failed.getFailure());
 
+            reporter.getLogger().fail("%s ; %s", failed.getUrl(), failed.getFailure());
         }
 
-        try {
-
-            response.then().body("$", hasKey(EXPECTED_STATUS_KEY)); //body has key
-
-            reporter.getLogger().pass(String.format("key found %s in response.", EXPECTED_STATUS_KEY));
+        if (failures.isEmpty())
+            reporter.getLogger().pass("all %d image(s) verified", crawl.getImages().size());
 
-        } catch (AssertionError e) {
-
-            reporter.getLogger().fail(String.format("expected key %s in response!", EXPECTED_STATUS_KEY));
-
-            throw e;
-
-        }
+        Assert.assertTrue(failures.size() + " image(s) failed:\n  " + String.join("\n  ", failures), failures.isEmpty());
+    }
 
-        try {
-            response.then().assertThat().body(EXPECTED_STATUS_KEY, equalTo(EXPECTED_STATUS));
+    /**
+     * @return a row per breed, of the list of all breeds; expecting every sub-breed listed with it.
+     */
+    private static ScenarioTable listOfAllBreeds() {
 
-            reporter.getLogger().pass(String.format("%s == %s ;  pass", response.jsonPath().get(EXPECTED_STATUS_KEY), EXPECTED_STATUS));
+        Map<String, List<String>> all_breeds = DOG_API.get("breeds/list/all").jsonPath().getMap(EXPECTED_MESSAGE_KEY);
 
-        } catch (AssertionError e) {
+        List<Map<String, String>> rows = new ArrayList<>();
 
-            reporter.getLogger().fail(String.format("%s == %s ; fail", response.jsonPath().get(EXPECTED_STATUS_KEY), EXPECTED_STATUS));
+        for (Map.Entry<String, List<String>> breed : all_breeds.entrySet()) {
 
-            throw e;
+            Map<String, String> row = new LinkedHashMap<>();
+            row.put(ScenarioTable.CASE_ID_COLUMN, breed.getKey());
+            row.put("breed", breed.getKey());
+            row.put("sub_breeds", String.join(";", breed.getValue()));
 
+            rows.add(row);
         }
 
+        return new ScenarioTable(rows);
     }
 
     //endregion
@@ -192,68 +266,59 @@ public class TestDogApi {
     public void random_breed_search_is_successful() {
 
         reporter.createTestCaseReport(
-                "random_breed_search_is_successful",
-                "1. Verify that a successful message is returned when a user searches for random breeds"
+                "random_breed_search_is_successful [" + caseId + "]",
+                "1. Verify that a successful message is returned when a user searches for random " + breed + " breeds"
         );
 
-        String random_breed = "hound";
+        String random_breed = breed;
 
-        String SEARCH_BREED_URL = String.format("%sbreed/%s/images/random", BASE_URL, random_breed);
+        String SEARCH_BREED_PATH = "breed/{breed}/images/random";
 
-        Response response = get(SEARCH_BREED_URL);
+        Response response = DOG_API.get(SEARCH_BREED_PATH, random_breed);
 
         then_validate_response(response);
 
     }
 
     /**
-     * 2. Verify that bulldog is on the list of all breeds
+     * 2. Verify that the breed is on the list of all breeds
      */
     @Test
-    public void bulldog_is_on_the_list_of_breeds() {
+    public void breed_is_on_the_list_of_breeds() {
 
         reporter.createTestCaseReport(
-                "bulldog_is_on_the_list_of_breeds",
-                "2. Verify that bulldog is on the list of all breeds"
+                "breed_is_on_the_list_of_breeds [" + caseId + "]",
+                "2. Verify that " + breed + " is on the list of all breeds"
         );
 
-        final String BREED = "bulldog";
-
-        String LIST_OF_ALL_BREEDS_URL = String.format("%sbreeds/list/all", BASE_URL);
-
-        Response response = get(LIST_OF_ALL_BREEDS_URL);
-
-        then_validate_response(response);
-
-        try {
-            response.then().assertThat().body(EXPECTED_MESSAGE_KEY, hasKey(BREED));
+        final String BREED = breed;
 
-            reporter.getLogger().pass(String.format("In list of all breeds; breed %s was found.", BREED));
+        String LIST_OF_ALL_BREEDS_PATH = "breeds/list/all";
 
-        } catch (AssertionError e) {
+        // ...the breed being a key, of the message's map of all breeds.
+        ValidationSpec breed_is_listed = RESPONSE_SPEC.and().hasKey(EXPECTED_MESSAGE_KEY + "." + BREED).compile();
 
-            reporter.getLogger().fail(String.format("In list of all breeds; breed %s was not found.", BREED));
+        Response response = DOG_API.get(LIST_OF_ALL_BREEDS_PATH);
 
-            throw e;
-        }
+        then_validate_response(response, breed_is_listed);
     }
 
     /**
-     * 3. Retrieve all sub-breeds for bulldogs and their respective images
+     * 3. Retrieve all sub-breeds for the breed and their respective images
      */
     @Test
-    public void retrieve_all_sub_breeds_for_bulldog_and_their_respective_images() {
+    public void retrieve_all_sub_breeds_and_their_respective_images() {
 
         reporter.createTestCaseReport(
-                "retrieve_all_sub_breeds_for_bulldog_and_their_respective_images",
-                "3. Retrieve all sub-breeds for bulldogs and their respective images"
+                "retrieve_all_sub_breeds_and_their_respective_images [" + caseId + "]",
+                "3. Retrieve all sub-breeds for " + breed + " and their respective images"
         );
 
-        final String BREED = "bulldog";
+        final String BREED = breed;
 
-        String LIST_OF_BREED_SUB_BREED_URL = String.format("%sbreed/%s/list", BASE_URL, BREED);
+        String LIST_OF_BREED_SUB_BREED_PATH = "breed/{breed}/list";
 
-        Response response = get(LIST_OF_BREED_SUB_BREED_URL);
+        Response response = DOG_API.get(LIST_OF_BREED_SUB_BREED_PATH, BREED);
 
         then_validate_response(response);
 
@@ -261,11 +326,40 @@ public class TestDogApi {
 
         List<String> sub_breeds = json_response.getList(EXPECTED_MESSAGE_KEY);
 
-        for (String sub_breed : sub_breeds) {
+        try {
+            Assert.assertTrue(String.format("%s sub-breeds %s, not all listed in %s", BREED, expectedSubBreeds, sub_breeds),
+                    sub_breeds.containsAll(expectedSubBreeds));
+
+            reporter.getLogger().pass("%s sub-breeds %s ; listed", BREED, expectedSubBreeds);
 
-            String sub_breed_url = String.format("%sbreed/%s/%s/images", BASE_URL, BREED, sub_breed);
+        } catch (AssertionError e) {
+
+            reporter.getLogger().fail("%s sub-breeds %s ; not all listed, was %s", BREED, expectedSubBreeds, sub_breeds);
+
+            throw e;
+        }
 
-            Response sub_breed_response = get(sub_breed_url);
+        // fan-out; one GET per sub-breed, at most fanout.concurrency in flight at once...
+        ConcurrentFanOut fan_out = ConcurrentFanOut.withConfiguredLimit();
+
+        ConcurrentFanOut.Result<Response> sub_breed_responses = fan_out.map(
+                sub_breeds,
+                sub_breed -> DOG_API.get("breed/{breed}/{sub_breed}/images", BREED, sub_breed)
+        );
+
+        reporter.getLogger().info(
+                "fetched images of %d sub-breed(s) in %d ms; concurrency limit %d.",
+                sub_breeds.size(), sub_breed_responses.getElapsedMillis(), fan_out.getConcurrencyLimit()
+        );
+
+        List<String> sub_breed_images = new ArrayList<>();
+
+        // ...and then validate every response, in sub-breed order.
+        for (int i = 0; i < sub_breeds.size(); i++) {
+
+            String sub_breed = sub_breeds.get(i);
+
+            Response sub_breed_response = sub_breed_responses.getResults().get(i);
 
             then_validate_response(sub_breed_response);
 
@@ -273,13 +367,19 @@ public class TestDogApi {
 
             List<String> actual_sub_breed_images = json_sub_breed_response.getList(EXPECTED_MESSAGE_KEY);
 
-            System.out.printf("sub-breed %s of breed %s images: \n", sub_breed, BREED);
+            sub_breed_images.addAll(actual_sub_breed_images);
 
-            for (String actual_sub_breed_image : actual_sub_breed_images)
-                System.out.printf("image src = %s \n", actual_sub_breed_image);
+            if (ImageCrawler.isEnabled())
+                continue;
+
+            reporter.getLogger().info("sub-breed %s of breed %s ; %d image(s)", sub_breed, BREED, actual_sub_breed_images.size());
 
-            System.out.println();
+            for (String actual_sub_breed_image : actual_sub_breed_images)
+                reporter.getLogger().info("image src = %s", actual_sub_breed_image);
         }
+
+        if (ImageCrawler.isEnabled() && !sub_breed_images.isEmpty())
+            then_verify_images(sub_breed_images);
     }
 
     //endregion
@@ -0,0 +1,198 @@
+import io.restassured.path.json.JsonPath;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import utilities.HtmlReporter;
+import utilities.JsonStreamSearch;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+/**
+ * <p>
+ * Compares the two ways of searching a large <code>/pet/findByStatus</code> response, for the pet "doggie"
+ * with category id "12":
+ * <ol>
+ *     <li>
+ *              materialised; <code>response.jsonPath().get()</code>, then a linear scan of the {@link LinkedHashMap} tree
+ *     </li>
+ *     <li>
+ *              streamed; {@link JsonStreamSearch}, reading token by token and stopping at the first match
+ *     </li>
+ * </ol>
+ * </p>
+ * <p>
+ * The payload is generated locally, <code>json.search.size</code> pets (default 20000); with the match as the
+ * very last element, so that both ways read the whole list. Elapsed time and bytes allocated, of each way;
+ * are logged on to the Html Report. No internet connection is needed.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class TestJsonStreamSearch {
+
+    //region  helper variables
+
+    private static HtmlReporter reporter;
+    private static byte[] available_pets;
+
+    private static final String PET_NAME = "doggie";
+    private static final long PET_CATEGORY_ID = 12;
+
+    //endregion
+
+    //region helper methods
+
+    /**
+     * @return a findByStatus-like JSON array, of size pets; only the last of which is "doggie" in category 12.
+     */
+    private static byte[] generateAvailablePets(int size) {
+
+        StringBuilder json = new StringBuilder(size * 256).append('[');
+
+        for (int i = 1; i <= size; i++) {
+
+            boolean is_last = i == size;
+
+            json.append(i > 1 ? "," : "")
+                    .append("{\"id\":").append(9_000_000L + i)
+                    .append(",\"category\":{\"id\":").append(is_last ? PET_CATEGORY_ID : i % 11).append(",\"name\":\"category-").append(i % 11).append("\"}")
+                    .append(",\"name\":\"").append(is_last ? PET_NAME : "pet-" + i).append('"')
+                    .append(",\"photoUrls\":[\"https://images.dog.ceo/breeds/hound-afghan/n02088094_").append(i).append(".jpg\"]")
+                    .append(",\"tags\":[{\"id\":").append(i).append(",\"name\":\"tag-").append(i).append("\"}]")
+                    .append(",\"status\":\"available\"}");
+        }
+
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return bytes allocated so far by this thread, or -1 when the JVM can't tell.
+     */
+    private static long allocatedBytes() {
+
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        if (threads instanceof com.sun.management.ThreadMXBean)
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean searchMaterialised() {
+
+        ArrayList<LinkedHashMap<String, Object>> list_of_available_pets = new JsonPath(new ByteArrayInputStream(available_pets)).get();
+
+        for (LinkedHashMap<String, Object> pet_content : list_of_available_pets) {
+
+            String pet_name = pet_content.get("name") != null ? (String) pet_content.get("name") : "";
+
+            LinkedHashMap<String, Object> pet_content_category = (LinkedHashMap<String, Object>) pet_content.get("category");
+
+            Object pet_content_category_id = pet_content_category != null ? pet_content_category.get("id") : -1;
+
+            if (pet_name.equals(PET_NAME) && pet_content_category_id instanceof Number
+                    && ((Number) pet_content_category_id).longValue() == PET_CATEGORY_ID)
+                return true;
+        }
+
+        return false;
+    }
+
+    private static boolean searchStreamed() {
+
+        return JsonStreamSearch
+                .forFields("name", "category.id")
+                .findFirst(new ByteArrayInputStream(available_pets), pet_content ->
+                        PET_NAME.equals(pet_content.get("name")) && Long.valueOf(PET_CATEGORY_ID).equals(pet_content.get("category.id"))
+                )
+                .isFound();
+    }
+
+    //endregion
+
+    @BeforeClass
+    public static void initialize() {
+        reporter = new HtmlReporter(TestJsonStreamSearch.class.getSimpleName());
+        available_pets = generateAvailablePets(Integer.getInteger("json.search.size", 20_000));
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        reporter.publishTestReport();
+    }
+
+    //region Test Cases
+
+    @Test
+    public void streamed_search_finds_the_same_pet_with_less_memory() {
+
+        reporter.createTestCaseReport(
+                "streamed_search_finds_the_same_pet_with_less_memory",
+                "Search a generated list of available pets for 'doggie' with category id '12';" +
+                        " materialised vs streamed, and compare their latency and memory"
+        );
+
+        // warm both ways up once, so that class loading isn't measured...
+        searchMaterialised();
+        searchStreamed();
+
+        long allocated_before = allocatedBytes();
+        long started_at = System.nanoTime();
+
+        boolean is_found_materialised = searchMaterialised();
+
+        long materialised_nanos = System.nanoTime() - started_at;
+        long materialised_bytes = allocatedBytes() - allocated_before;
+
+        allocated_before = allocatedBytes();
+        started_at = System.nanoTime();
+
+        boolean is_found_streamed = searchStreamed();
+
+        long streamed_nanos = System.nanoTime() - started_at;
+        long streamed_bytes = allocatedBytes() - allocated_before;
+
+        reporter.getLogger().info("payload: %d KB", available_pets.length / 1024);
+        reporter.getLogger().info("materialised: %.1f ms, %d KB allocated", materialised_nanos / 1e6, materialised_bytes / 1024);
+        reporter.getLogger().info("streamed: %.1f ms, %d KB allocated", streamed_nanos / 1e6, streamed_bytes / 1024);
+
+        try {
+
+            Assert.assertTrue("materialised search did not find the pet!", is_found_materialised);
+            Assert.assertTrue("streamed search did not find the pet!", is_found_streamed);
+
+            reporter.getLogger().pass("Pet %s with category id %s found, both ways.", PET_NAME, PET_CATEGORY_ID);
+
+        } catch (AssertionError e) {
+
+            reporter.getLogger().fail(e.getMessage());
+
+            throw e;
+        }
+
+        if (materialised_bytes >= 0 && streamed_bytes >= 0) {
+
+            try {
+
+                Assert.assertTrue("streamed search allocated more than the materialised search!", streamed_bytes < materialised_bytes);
+
+                reporter.getLogger().pass("streamed search allocated %.1fx less.", (double) materialised_bytes / Math.max(streamed_bytes, 1));
+
+            } catch (AssertionError e) {
+
+                reporter.getLogger().fail(e.getMessage());
+
+                throw e;
+            }
+        }
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,106 @@
+import io.restassured.path.json.JsonPath;
+import org.junit.Assert;
+import org.junit.Test;
+import utilities.Pet;
+import utilities.PetJson;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * <p>
+ * Unit tests of {@link PetJson}; that a {@link PetJson.Template} renders a pet byte for byte as {@link PetJson#toJson}
+ * writes it, and that either reads back, with a json path, as the name it was given:
+ * <ul>
+ *     <li>quotes, backslashes and control characters; escaped</li>
+ *     <li>non-ASCII, up to surrogate pairs; as UTF-8</li>
+ *     <li>a null name; as json <code>null</code></li>
+ * </ul>
+ * </p>
+ * <p>
+ * Local only; no internet connection is needed, and nothing is logged on to the Html Report.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class TestPetJson {
+
+    //region  helper variables
+
+    private static final long PET_ID = 9_007_199_254_740_993L;
+
+    private static final PetJson.Template PET_TEMPLATE = PetJson.template(pet(0, "prototype"));
+
+    //endregion
+
+    //region helper methods
+
+    private static Pet pet(long id, String name) {
+        return new Pet(id, new Pet.Category(1, "Dogs"), name, Collections.singletonList("url"),
+                Collections.singletonList(new Pet.Tag(1, "tag")), "available");
+    }
+
+    /**
+     * Asserts the template renders the pet as toJson does; and that the json reads back with this name.
+     */
+    private static void assertRendersAsToJson(String name, String expected_name) {
+
+        byte[] rendered = PET_TEMPLATE.render(PET_ID, name);
+        byte[] written = PetJson.toJson(pet(PET_ID, name));
+
+        String json = new String(rendered, StandardCharsets.UTF_8);
+
+        Assert.assertTrue("template and toJson disagree; " + json + " vs " + new String(written, StandardCharsets.UTF_8),
+                Arrays.equals(written, rendered));
+
+        JsonPath path = JsonPath.from(json);
+
+        Assert.assertEquals(json, expected_name, path.getString("name"));
+        Assert.assertEquals(json, PET_ID, path.getLong("id"));
+        Assert.assertEquals(json, "available", path.getString("status"));
+    }
+
+    //endregion
+
+    @Test
+    public void escapesQuotesAndBackslashes() {
+
+        assertRendersAsToJson("say \"woof\"\\", "say \"woof\"\\");
+
+        Assert.assertTrue(new String(PET_TEMPLATE.render(1, "a\"b\\c"), StandardCharsets.UTF_8).contains("\"name\":\"a\\\"b\\\\c\""));
+    }
+
+    @Test
+    public void escapesControlCharacters() {
+
+        assertRendersAsToJson("line\nfeed\ttab\u0001\u001f", "line\nfeed\ttab\u0001\u001f");
+
+        Assert.assertTrue(new String(PET_TEMPLATE.render(1, "\n\u001f"), StandardCharsets.UTF_8).contains("\"name\":\"\\u000a\\u001f\""));
+    }
+
+    @Test
+    public void writesNonAsciiAsUtf8() {
+
+        String name = "café € 🐶"; // 2, 3 and 4 bytes
+
+        assertRendersAsToJson(name, name);
+
+        Assert.assertTrue(new String(PET_TEMPLATE.render(1, name), StandardCharsets.UTF_8).contains("\"name\":\"" + name + "\""));
+    }
+
+    @Test
+    public void replacesLoneSurrogates() {
+        assertRendersAsToJson("a\ud83db\udc36", "a?b?");
+    }
+
+    @Test
+    public void writesEmptyAndNullNames() {
+
+        assertRendersAsToJson("", "");
+        assertRendersAsToJson(null, null);
+
+        Assert.assertTrue(new String(PET_TEMPLATE.render(1, null), StandardCharsets.UTF_8).contains("\"name\":null,"));
+    }
+
+}
@@ -0,0 +1,271 @@
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import io.restassured.http.ContentType;
+import io.restassured.http.Method;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import utilities.ApiClient;
+import utilities.HtmlReporter;
+import utilities.OpenApiSpec;
+import utilities.ScenarioRunner;
+import utilities.StubServer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Contract tests of the PetStore; generated from its Swagger spec, a local copy of
+ * <b><u>https://petstore.swagger.io/v2/swagger.json</u></b> at <code>./test_data/petstore_swagger.json</code>
+ * (or any other, <code>-Dcontract.spec=&lt;path&gt;</code>).
+ * </p>
+ * <p>
+ * Every operation of the spec is a test case of its own; run in parallel, and sharded, by the {@link ScenarioRunner}.
+ * Each case calls its operation, with parameters and a body sampled from the spec, and checks that:
+ * <ol>
+ *     <li>the response status is documented; an undocumented success is only warned of, as its body has no schema to meet.</li>
+ *     <li>the response body meets the documented schema; every violation is logged, with its path in the body.</li>
+ * </ol>
+ * </p>
+ * <p>
+ * Path parameters are of resources each case creates for itself, e.g. a new pet for <code>petId</code>; so cases
+ * that delete or update never touch another case's data. Against the stub server, operations it doesn't serve are skipped.
+ * </p>
+ * <p>
+ * Schemas are compiled once, into validators cached for the whole run, and shared by every case; see {@link OpenApiSpec}.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+@RunWith(ScenarioRunner.class)
+public class TestPetStoreContract {
+
+    //region  helper variables
+
+    public static final String SPEC_PROPERTY = "contract.spec";
+    private static final String DEFAULT_SPEC = "./test_data/petstore_swagger.json";
+
+    private static final OpenApiSpec SPEC = OpenApiSpec.load(System.getProperty(SPEC_PROPERTY, DEFAULT_SPEC));
+
+    /**
+     * Path parameters, by name; to the operation creating a resource to call with, and the property holding its id.
+     */
+    private static final Map<String, String[]> FIXTURES = new HashMap<>();
+
+    static {
+        FIXTURES.put("petId", new String[]{"addPet", "id"});
+        FIXTURES.put("orderId", new String[]{"placeOrder", "id"});
+        FIXTURES.put("username", new String[]{"createUser", "username"});
+    }
+
+    private static HtmlReporter reporter;
+    private static final ApiClient PET_STORE_API = ApiClient.PET_STORE_API;
+
+    private final String caseId;
+    private final OpenApiSpec.Operation operation;
+
+    //endregion
+
+    /**
+     * @param case_id,   names the test case; the operation's id, e.g. <code>getPetById</code>
+     * @param operation, of the spec.
+     */
+    public TestPetStoreContract(String case_id, OpenApiSpec.Operation operation) {
+        this.caseId = case_id;
+        this.operation = operation;
+    }
+
+    /**
+     * @return one test case per operation of the spec.
+     */
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> operations() {
+
+        List<Object[]> operations = new ArrayList<>();
+
+        for (OpenApiSpec.Operation operation : SPEC.getOperations())
+            operations.add(new Object[]{operation.getOperationId(), operation});
+
+        return operations;
+    }
+
+    //region Helper Method
+
+    /**
+     * @return a request of the operation; every parameter sampled from the spec, and every path parameter a fresh fixture.
+     */
+    private RequestSpecification given_a_sampled_request() {
+
+        RequestSpecification request = PET_STORE_API.given().accept(ContentType.JSON);
+
+        for (JsonObject parameter : operation.getParameters()) {
+
+            String name = parameter.get("name").getAsString();
+
+            switch (parameter.get("in").getAsString()) {
+
+                case "path":
+                    request.pathParam(name, fixture(name));
+                    break;
+
+                case "query":
+                    request.queryParam(name, valuesOf(SPEC.sampleOf(parameter)));
+                    break;
+
+                case "header":
+                    request.header(name, SPEC.sampleOf(parameter).getAsString());
+                    break;
+
+                case "body":
+                    request.contentType(ContentType.JSON).body(SPEC.sampleOf(parameter.getAsJsonObject("schema")).toString());
+                    break;
+
+                case "formData":
+
+                    if ("file".equals(parameter.get("type").getAsString()))
+                        request.multiPart(name, caseId + ".txt", caseId.getBytes(StandardCharsets.UTF_8), "text/plain");
+                    else if (operation.isMultipart())
+                        request.multiPart(name, SPEC.sampleOf(parameter).getAsString());
+                    else
+                        request.formParam(name, SPEC.sampleOf(parameter).getAsString());
+
+                    break;
+
+                default:
+                    throw new IllegalArgumentException("not a swagger 2.0 parameter location; " + parameter.get("in"));
+            }
+        }
+
+        return request;
+    }
+
+    /**
+     * Creates a resource, with a body sampled from the spec; e.g. a pet, for a <code>petId</code>.
+     *
+     * @return the resource's id; as sent, or as the server assigned it.
+     */
+    private String fixture(String path_parameter) {
+
+        String[] fixture = FIXTURES.get(path_parameter);
+
+        if (fixture == null)
+            throw new IllegalArgumentException("no fixture for the path parameter " + path_parameter + ", of " + operation);
+
+        OpenApiSpec.Operation creating = SPEC.getOperation(fixture[0]);
+
+        JsonObject resource = SPEC.sampleOf(creating.getBodySchema()).getAsJsonObject();
+
+        Response response = PET_STORE_API.given()
+                .contentType(ContentType.JSON)
+                .body(resource.toString())
+                .request(Method.valueOf(creating.getMethod()), creating.getPath());
+
+        if (response.statusCode() / 100 != 2) {
+            reporter.getLogger().fail("%s fixture ; not created by %s, status %d", path_parameter, creating, response.statusCode());
+            throw new AssertionError(String.format("%s fixture not created by %s; status %d", path_parameter, creating, response.statusCode()));
+        }
+
+        JsonElement sent = resource.get(fixture[1]);
+
+        String id = sent.isJsonPrimitive() && sent.getAsJsonPrimitive().isString()
+                ? sent.getAsString()
+                : String.valueOf(response.jsonPath().getLong(fixture[1]));
+
+        reporter.getLogger().info("%s fixture ; %s, created by %s", path_parameter, id, creating);
+
+        return id;
+    }
+
+    /**
+     * @return the sampled value of a query parameter; an array as its items, each sent as a parameter of its own.
+     */
+    private static List<String> valuesOf(JsonElement sample) {
+
+        List<String> values = new ArrayList<>();
+
+        if (sample.isJsonArray())
+            for (JsonElement item : (JsonArray) sample)
+                values.add(item.getAsString());
+        else
+            values.add(sample.getAsString());
+
+        return values;
+    }
+
+    //endregion
+
+    @BeforeClass
+    public static void initialize() { reporter = new HtmlReporter(TestPetStoreContract.class.getSimpleName()); }
+
+    @AfterClass
+    public static void tearDown() {
+        reporter.publishTestReport();
+    }
+
+    //region Test Cases
+
+    /**
+     * The operation's response; its status documented, and its body meeting the documented schema.
+     */
+    @Test
+    public void response_meets_the_contract() {
+
+        Assume.assumeTrue("not served by the stub server; " + operation,
+                !ApiClient.isStubMode() || StubServer.servesPetStore(operation.getMethod(), operation.getPath()));
+
+        reporter.createTestCaseReport(
+                "response_meets_the_contract [" + caseId + "]",
+                operation + " ; " + operation.getSummary()
+        );
+
+        Response response = given_a_sampled_request().request(Method.valueOf(operation.getMethod()), operation.getPath());
+
+        int status_code = response.statusCode();
+
+        List<String> failures = new ArrayList<>();
+
+        if (operation.documents(status_code)) {
+
+            reporter.getLogger().pass("status %d ; documented", status_code);
+
+        } else if (status_code / 100 == 2) {
+
+            reporter.getLogger().warning("status %d ; not documented, body not validated", status_code);
+
+        } else {
+
+            failures.add("status " + status_code + " is not documented; " + response.asString());
+
+            reporter.getLogger().fail("status %d ; not documented, was %s", status_code, response.asString());
+        }
+
+        if (operation.hasSchema(status_code)) {
+
+            List<String> violations = operation.validate(status_code, response.asByteArray());
+
+            if (violations.isEmpty())
+                reporter.getLogger().pass("body ; meets the schema of status %d", status_code);
+
+            for (String violation : violations)
+                reporter.getLogger().fail("body ; %s", violation);
+
+            failures.addAll(violations);
+        }
+
+        Assert.assertTrue(operation + " broke its contract:\n  " + String.join("\n  ", failures), failures.isEmpty());
+    }
+
+    //endregion
+
+}
@@ -1,17 +1,17 @@
-import io.restassured.RestAssured;
 import io.restassured.http.Method;
 import io.restassured.response.Response;
 
 import java.util.*;
 
 import io.restassured.specification.RequestSpecification;
-import org.apache.commons.lang3.RandomStringUtils;
-
-import java.util.Random;
-
-import org.json.JSONObject;
 import org.junit.*;
+import utilities.ApiClient;
+import utilities.BulkPetPipeline;
 import utilities.HtmlReporter;
+import utilities.JsonStreamSearch;
+import utilities.Pet;
+import utilities.PetJson;
+import utilities.UniqueNames;
 
 /**
  * <p>
@@ -29,6 +29,10 @@ import utilities.HtmlReporter;
  *              <li>
  *                  From point 2 above retrieve the created pet using the ID
  *              </li>
+ *              <li>
+ *                  Bulk; create <code>-Dbulk.pets=N</code> pets, verifying each by ID while the rest are still being created
+ *                  (skipped, unless N is given; <code>-Dbulk.mode=async</code> composes each pet's requests as futures, on a few threads)
+ *              </li>
  *      </ol>
  *  </p>
  *
@@ -42,48 +46,20 @@ public class TestPetStoreSwaggerApi {
     //region  helper variables
 
     private static HtmlReporter reporter;
-    private static final String BASE_URL = "https://petstore.swagger.io/v2";
+    private static final ApiClient PET_STORE_API = ApiClient.PET_STORE_API;
+    private static final UniqueNames PET_NAMES = UniqueNames.shared();
 
     //endregion
 
     //region helper methods
 
-    public String[] getRandomNames(final int generateSize) {
-
-        HashSet<String> list = new HashSet<>();
-
-        Random ran = new Random(26);
-
-        for (int i = 0; i < generateSize; ++i) {
-
-            String name;
-
-            do {
+    private String getUniquePetName() {
 
-                name = RandomStringUtils.randomAlphanumeric(ran.nextInt(generateSize) + 1);
+        String unique_name = PET_NAMES.next("pet");
 
-            } while (list.contains(name));
+        reporter.getLogger().info("Unique name chosen for your pet: %s", unique_name);
 
-            list.add(name);
-
-        }
-
-        return list.toArray(new String[]{});
-    }
-
-    private String getRandomPetName() {
-
-        String[] pet_names = getRandomNames(10);
-
-        Random ran = new Random(pet_names.length);
-
-        int random_name_index = ran.nextInt(pet_names.length - 1);
-
-        String random_name = pet_names[random_name_index];
-
-        reporter.getLogger().info("Random name chosen for your pet: " + random_name);
-
-        return random_name;
+        return unique_name;
     }
 
     //endregion
@@ -113,11 +89,8 @@ public class TestPetStoreSwaggerApi {
 
         String pet_status = "available";
 
-        // compose a pet status url, with this pet status name
-        String pet_status_url = String.format("%s/pet/findByStatus?status=%s", BASE_URL, pet_status);
-
-        // send a get request to the PetStoreApi, and get the response back...
-        Response response = RestAssured.get(pet_status_url);
+        // send a get request to the PetStoreApi, with this pet status name; and get the response back...
+        Response response = PET_STORE_API.given().queryParam("status", pet_status).get("/pet/findByStatus");
 
 
         try {
@@ -157,29 +130,20 @@ public class TestPetStoreSwaggerApi {
         String failureMessage = String.format("Pet %s with category id %s was not found!", PET_NAME, PET_CATEGORY_ID);
         String passMessage = String.format("Pet %s with category id %s found!", PET_NAME, PET_CATEGORY_ID);
 
-        // search on this list...
-        ArrayList<LinkedHashMap<String, Object>> list_of_available_pets = response.jsonPath().get();
+        // search the list of available pets, element by element; only reading each pet's name and category id,
+        // and stop reading at the first match... the body's bytes are already buffered (the ApiClient reads every body
+        // whole, to release its connection), but no tree of the list, nor of any one pet, is ever built from them.
+        JsonStreamSearch.Result search_result = JsonStreamSearch
+                .forFields("name", "category.id")
+                .findFirst(response, pet_content ->
+                        PET_NAME.equals(pet_content.get("name"))
+                                && Long.valueOf(PET_CATEGORY_ID.longValue()).equals(pet_content.get("category.id"))
+                );
 
         // search resultant state; will be kept on this flag...
-        boolean is_pet_found_on_the_list_of_available_pets = false;
-
-        //and then, lets do the search...
-        for (LinkedHashMap<String, Object> pet_content : list_of_available_pets) {
-
-            String pet_name = pet_content.get("name") != null ? (String) pet_content.get("name") : "";
-
-            LinkedHashMap<String, Object> pet_content_category = (LinkedHashMap<String, Object>) pet_content.get("category");
-
-            Object pet_content_category_id = pet_content_category != null ? pet_content_category.get("id") : -1;
-
-            if (pet_name.equals(PET_NAME) && pet_content_category_id.equals(PET_CATEGORY_ID)) {
-
-                is_pet_found_on_the_list_of_available_pets = true;
+        boolean is_pet_found_on_the_list_of_available_pets = search_result.isFound();
 
-                break; //exiting the search...
-
-            }
-        }
+        reporter.getLogger().info("%d available pet(s) scanned.", search_result.getScannedCount());
 
         if (is_pet_found_on_the_list_of_available_pets)
             reporter.getLogger().pass(passMessage);
@@ -212,44 +176,28 @@ public class TestPetStoreSwaggerApi {
         //and status available
         //Confirm the new pet has been added
 
-        final String PET_NAME = getRandomPetName();
+        final String PET_NAME = getUniquePetName();
 
-        // compose add a new pet to store url, with this pet name
-        RestAssured.baseURI = String.format("%s/pet", BASE_URL);
-        RequestSpecification httpRequest = RestAssured.given();
+        // compose add a new pet to store request, with this pet name
+        RequestSpecification httpRequest = PET_STORE_API.given();
 
         //region request body
-        JSONObject request_params = new JSONObject();
-
-        request_params.put("id", 0);
-
-        JSONObject request_category_params = new JSONObject();
-        request_category_params.put("id", 1989);
-        request_category_params.put("name", "hunting-wild-hound");
-        request_params.put("category", request_category_params);
-
-        request_params.put("name", PET_NAME);
-
-        String[] photos = {"https://images.dog.ceo/breeds/greyhound-italian/n02091032_10352.jpg"};
-        request_params.put("photoUrls", photos);
-
-
-        JSONObject request_tags_params = new JSONObject();
-        request_tags_params.put("id", 19890616);
-        request_tags_params.put("name", "k9");
-        JSONObject[] tags = {request_tags_params};
-        request_params.put("tags", tags);
-
-        request_params.put("status", "available");
-
+        Pet pet = new Pet(
+                0,
+                new Pet.Category(1989, "hunting-wild-hound"),
+                PET_NAME,
+                Collections.singletonList("https://images.dog.ceo/breeds/greyhound-italian/n02091032_10352.jpg"),
+                Collections.singletonList(new Pet.Tag(19890616, "k9")),
+                "available"
+        );
         //endregion
 
         //region headers
         httpRequest.header("Content-Type", "application/json");
-        httpRequest.body(request_params.toString());
+        httpRequest.body(PetJson.toJson(pet));
         //endregion
 
-        Response response = httpRequest.request(Method.POST);
+        Response response = httpRequest.request(Method.POST, "/pet");
 
         //region testing
 
@@ -284,7 +232,7 @@ public class TestPetStoreSwaggerApi {
 
         Long pet_id = response.jsonPath().get("id");
         if (pet_id > 0) {
-            reporter.getLogger().pass(String.format("Pet has ID %d, and was created", pet_id));
+            reporter.getLogger().pass("Pet has ID %d, and was created", pet_id);
         } else {
             reporter.getLogger().fail("Pet has No ID!");
         }
@@ -302,8 +250,7 @@ public class TestPetStoreSwaggerApi {
 
         //region testing retrieve the created pet using the ID given on the test above
 
-        String find_pet_by_id_pet_url = String.format("%s/pet/%d", BASE_URL, pet_id);
-        response = RestAssured.get(find_pet_by_id_pet_url);
+        response = PET_STORE_API.get("/pet/{petId}", pet_id);
 
         //region testing
         try {
@@ -311,11 +258,11 @@ public class TestPetStoreSwaggerApi {
             // remember status code 200 is ok, and 400 is an invalid status value.
             response.then().statusCode(200).statusLine("HTTP/1.1 200 OK");
 
-            reporter.getLogger().pass(String.format("Pet with the Name %s with id %d; was found.", PET_NAME, pet_id));
+            reporter.getLogger().pass("Pet with the Name %s with id %d; was found.", PET_NAME, pet_id);
 
         } catch (AssertionError e) {
 
-            reporter.getLogger().fail(String.format("Pet with Name %s with id %d; was not found!", PET_NAME, pet_id));
+            reporter.getLogger().fail("Pet with Name %s with id %d; was not found!", PET_NAME, pet_id);
 
             throw e;
 
@@ -326,6 +273,58 @@ public class TestPetStoreSwaggerApi {
 
     }
 
+    @Test
+    public void bulk_create_and_verify_pets() {
+
+        final int PET_COUNT = Integer.getInteger("bulk.pets", 0);
+
+        Assume.assumeTrue("bulk mode is off; run with -Dbulk.pets=<count>", PET_COUNT > 0);
+
+        //region reporting initialization
+        reporter.createTestCaseReport(
+                "bulk_create_and_verify_pets",
+                "4. Create " + PET_COUNT + " pets with status available" +
+                        " - Confirm each has been added, by its ID; while the rest are still being created\n"
+        );
+        //endregion
+
+        //region testing
+
+        // creates, and verifies each created pet; through a two stage pipeline...
+        BulkPetPipeline.Result result = BulkPetPipeline.configured(PET_STORE_API).run(PET_COUNT, i -> PET_NAMES.next("bulk-pet"));
+
+        HtmlReporter.registerSummary("bulk pets", result::toReportTable);
+
+        reporter.getLogger().info(
+                "%d pet(s) in %.1f s; %d created (%.1f/s), %d verified (%.1f/s).",
+                PET_COUNT, result.getElapsedSeconds(),
+                result.getCreated().getSucceeded(), result.getCreated().getThroughput(),
+                result.getVerified().getSucceeded(), result.getVerified().getThroughput()
+        );
+
+        String failureMessage = String.format(
+                "%d of %d pet(s) not created, %d not verified; first failure: %s",
+                result.getCreated().getFailed(), PET_COUNT, result.getVerified().getFailed(),
+                result.getCreated().getFirstFailure() != null ? result.getCreated().getFirstFailure() : result.getVerified().getFirstFailure()
+        );
+
+        try {
+
+            Assert.assertTrue(failureMessage, result.isComplete());
+
+            reporter.getLogger().pass("All %d pet(s) created and verified.", PET_COUNT);
+
+        } catch (AssertionError e) {
+
+            reporter.getLogger().fail(failureMessage);
+
+            throw e;
+        }
+
+        //endregion
+
+    }
+
     //endregion
 
 }
\ No newline at end of file
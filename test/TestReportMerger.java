@@ -0,0 +1,218 @@
+import com.aventstack.extentreports.Status;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import utilities.ReportMerger;
+import utilities.ResultLog;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>
+ * Unit tests of the {@link ResultLog}, and the {@link ReportMerger} that renders it; a log written, read back
+ * record for record, and merged into an Html Report:
+ * <ul>
+ *     <li>every test case, log, request and summary; read back as written</li>
+ *     <li>a log or request record of a test case the log holds no record of; skipped, the rest merged</li>
+ *     <li>each test case; ending with its last log or request</li>
+ *     <li>of the logs in the folder, only the newest run's; its shards' logs, or the unsharded one</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Local only; each test writes to a temporary folder of its own, never to <code>./test_reports/</code>.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class TestReportMerger {
+
+    //region  helper variables
+
+    private static final String REPORT_TITLE = "MergerTest";
+    private static final long STARTED_AT = 1_792_000_000_000L;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    //endregion
+
+    //region helper methods
+
+    /**
+     * Writes two test cases, a log and a request each; and a summary.
+     */
+    private Path writeResultLog() {
+
+        Path path = folder.getRoot().toPath().resolve(REPORT_TITLE + "_results.log");
+
+        try (ResultLog results = ResultLog.create(path)) {
+
+            int first = results.testCase(STARTED_AT, "TestDogApi", "TestCase: list breeds", "Description: every breed");
+            int second = results.testCase(STARTED_AT + 1, "TestPetStoreSwaggerApi", "TestCase: find pet", null);
+
+            results.log(first, STARTED_AT + 2, Status.PASS, "breeds ; listed");
+            results.request(second, STARTED_AT + 3, "GET pet/{petId}", 404, 1_500_000, "GET pet/{petId} 404");
+            results.log(second, STARTED_AT + 4, Status.FAIL, "pet ; not found");
+            results.request(first, STARTED_AT + 5, "GET breeds/list/all", 200, 2_500_000, "GET breeds/list/all 200");
+            results.summary(STARTED_AT + 6, "http pool", new String[][]{{"requests", "2"}, {"reused", "1"}});
+        }
+
+        return path;
+    }
+
+    /**
+     * Writes a result log of one test case, with one log; last modified at the given time.
+     */
+    private Path writeResultLog(String file_name, String test_name, long last_modified) throws IOException {
+
+        Path path = folder.getRoot().toPath().resolve(file_name);
+
+        try (ResultLog results = ResultLog.create(path)) {
+            results.log(results.testCase(STARTED_AT, "TestDogApi", test_name, null), STARTED_AT + 1, Status.PASS, "passed");
+        }
+
+        Files.setLastModifiedTime(path, FileTime.fromMillis(last_modified));
+
+        return path;
+    }
+
+    private String mergedReport() throws IOException {
+        return new String(Files.readAllBytes(folder.getRoot().toPath().resolve(REPORT_TITLE + "_report.html")), StandardCharsets.UTF_8);
+    }
+
+    //endregion
+
+    @Test
+    public void readsBackEveryRecordAsWritten() {
+
+        List<String> records = new ArrayList<>();
+
+        long read = ResultLog.read(writeResultLog(), new ResultLog.Visitor() {
+
+            @Override
+            public void testCase(int test_case, long started_at, String category, String name, String description) {
+                records.add(String.format("test case %d %d %s %s %s", test_case, started_at - STARTED_AT, category, name, description));
+            }
+
+            @Override
+            public void log(int test_case, long logged_at, Status status, String details) {
+                records.add(String.format("log %d %d %s %s", test_case, logged_at - STARTED_AT, status.name(), details));
+            }
+
+            @Override
+            public void request(int test_case, long logged_at, String endpoint, int status_code, long total_nanos, String details) {
+                records.add(String.format("request %d %d %s %d %d %s", test_case, logged_at - STARTED_AT, endpoint, status_code, total_nanos, details));
+            }
+
+            @Override
+            public void summary(long logged_at, String title, String[][] rows) {
+                records.add(String.format("summary %d %s %s=%s %s=%s", logged_at - STARTED_AT, title, rows[0][0], rows[0][1], rows[1][0], rows[1][1]));
+            }
+        });
+
+        Assert.assertEquals(7, read);
+
+        Assert.assertEquals(Arrays.asList(
+                "test case 0 0 TestDogApi TestCase: list breeds Description: every breed",
+                "test case 1 1 TestPetStoreSwaggerApi TestCase: find pet null",
+                "log 0 2 PASS breeds ; listed",
+                "request 1 3 GET pet/{petId} 404 1500000 GET pet/{petId} 404",
+                "log 1 4 FAIL pet ; not found",
+                "request 0 5 GET breeds/list/all 200 2500000 GET breeds/list/all 200",
+                "summary 6 http pool requests=2 reused=1"
+        ), records);
+    }
+
+    @Test
+    public void mergesEveryTestCaseIntoOneReport() throws IOException {
+
+        writeResultLog();
+
+        Assert.assertEquals(2, ReportMerger.merge(folder.getRoot().toPath(), REPORT_TITLE));
+
+        String report = new String(Files.readAllBytes(folder.getRoot().toPath().resolve(REPORT_TITLE + "_report.html")), StandardCharsets.UTF_8);
+
+        for (String expected : new String[]{"TestCase: list breeds", "TestCase: find pet", "breeds ; listed", "pet ; not found",
+                "GET breeds/list/all 200", "Summary: http pool", "Summary: merge"})
+            Assert.assertTrue("report is missing '" + expected + "'", report.contains(expected));
+    }
+
+    @Test
+    public void endsEachTestCaseWithItsLastLog() throws IOException {
+
+        writeResultLog();
+
+        ReportMerger.merge(folder.getRoot().toPath(), REPORT_TITLE);
+
+        String report = mergedReport();
+
+        // list breeds; started at 0, last logged at 5. find pet; started at 1, last logged at 4.
+        Assert.assertTrue(report.contains("0h 0m 0s+5ms"));
+        Assert.assertTrue(report.contains("0h 0m 0s+3ms"));
+    }
+
+    @Test
+    public void mergesOnlyTheNewestRun() throws IOException {
+
+        writeResultLog(REPORT_TITLE + "_results.log", "TestCase: unsharded", STARTED_AT);
+        writeResultLog(REPORT_TITLE + "_shard-1-of-2_results.log", "TestCase: shard 1 of 2", STARTED_AT + 60_000);
+        writeResultLog(REPORT_TITLE + "_shard-2-of-2_results.log", "TestCase: shard 2 of 2", STARTED_AT + 50_000);
+        writeResultLog(REPORT_TITLE + "_shard-1-of-3_results.log", "TestCase: shard 1 of 3", STARTED_AT + 40_000);
+
+        Assert.assertEquals(2, ReportMerger.merge(folder.getRoot().toPath(), REPORT_TITLE));
+
+        String report = mergedReport();
+
+        Assert.assertTrue(report.contains("TestCase: shard 1 of 2"));
+        Assert.assertTrue(report.contains("TestCase: shard 2 of 2"));
+        Assert.assertFalse("an older run of another shard count", report.contains("TestCase: shard 1 of 3"));
+        Assert.assertFalse("an older unsharded run", report.contains("TestCase: unsharded"));
+
+        // a later unsharded run, e.g. a plain mvn test; wins over the shards left in the folder.
+        writeResultLog(REPORT_TITLE + "_results.log", "TestCase: unsharded", STARTED_AT + 120_000);
+
+        Assert.assertEquals(1, ReportMerger.merge(folder.getRoot().toPath(), REPORT_TITLE));
+        Assert.assertTrue(mergedReport().contains("TestCase: unsharded"));
+    }
+
+    @Test
+    public void mergesARunMissingAShard() throws IOException {
+
+        writeResultLog(REPORT_TITLE + "_shard-1-of-3_results.log", "TestCase: shard 1 of 3", STARTED_AT);
+        writeResultLog(REPORT_TITLE + "_shard-3-of-3_results.log", "TestCase: shard 3 of 3", STARTED_AT);
+
+        Assert.assertEquals(2, ReportMerger.merge(folder.getRoot().toPath(), REPORT_TITLE));
+    }
+
+    @Test
+    public void skipsRecordsOfNoTestCase() throws IOException {
+
+        Path path = folder.getRoot().toPath().resolve(REPORT_TITLE + "_results.log");
+
+        try (ResultLog results = ResultLog.create(path)) {
+
+            int test_case = results.testCase(STARTED_AT, "TestDogApi", "TestCase: list breeds", null);
+
+            results.log(test_case + 7, STARTED_AT + 1, Status.FAIL, "orphan log");
+            results.request(test_case + 7, STARTED_AT + 2, "GET breeds/list/all", 500, 1, "orphan request");
+            results.log(test_case, STARTED_AT + 3, Status.PASS, "breeds ; listed");
+        }
+
+        Assert.assertEquals(1, ReportMerger.merge(folder.getRoot().toPath(), REPORT_TITLE));
+
+        String report = new String(Files.readAllBytes(folder.getRoot().toPath().resolve(REPORT_TITLE + "_report.html")), StandardCharsets.UTF_8);
+
+        Assert.assertTrue(report.contains("breeds ; listed"));
+        Assert.assertFalse(report.contains("orphan log"));
+        Assert.assertFalse(report.contains("orphan request"));
+    }
+
+}
@@ -0,0 +1,120 @@
+import org.junit.Assert;
+import org.junit.Test;
+import utilities.ResiliencePolicy;
+
+/**
+ * <p>
+ * Unit tests of the {@link ResiliencePolicy}'s per host circuit breaker; its states driven by hand, on a clock of
+ * the test's own:
+ * <ul>
+ *     <li>closed; until <code>resilience.breaker.failures</code> requests in a row fail, a success resetting the count</li>
+ *     <li>open; every request fails fast, until <code>resilience.breaker.open.ms</code> has passed</li>
+ *     <li>half open; one trial request let through, whose outcome closes or re-opens the circuit</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Local only; no request is sent.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class TestResilienceBreaker {
+
+    //region  helper variables
+
+    private static final int BREAKER_FAILURES = 3;
+    private static final long BREAKER_OPEN_NANOS = 1_000_000_000L;
+    private static final long NOW = 5_000_000_000L;
+
+    //endregion
+
+    //region helper methods
+
+    /**
+     * @return a host, its circuit opened at NOW.
+     */
+    private static ResiliencePolicy.Host opened() {
+
+        ResiliencePolicy.Host host = new ResiliencePolicy.Host("dog.ceo", BREAKER_FAILURES, BREAKER_OPEN_NANOS);
+
+        for (int i = 1; i < BREAKER_FAILURES; i++)
+            Assert.assertFalse("opened after " + i + " failure(s)", host.recordFailure(NOW));
+
+        Assert.assertTrue(host.recordFailure(NOW));
+        Assert.assertEquals(ResiliencePolicy.State.OPEN, host.getState());
+
+        return host;
+    }
+
+    //endregion
+
+    @Test
+    public void staysClosedUntilEnoughFailuresInARow() {
+
+        ResiliencePolicy.Host host = new ResiliencePolicy.Host("dog.ceo", BREAKER_FAILURES, BREAKER_OPEN_NANOS);
+
+        for (int round = 0; round < 3; round++) {
+
+            for (int i = 1; i < BREAKER_FAILURES; i++) {
+                Assert.assertTrue(host.tryAcquire(NOW));
+                Assert.assertFalse(host.recordFailure(NOW));
+            }
+
+            host.recordSuccess(); // not in a row, any more.
+
+            Assert.assertEquals(ResiliencePolicy.State.CLOSED, host.getState());
+        }
+    }
+
+    @Test
+    public void failsFastWhileOpen() {
+
+        ResiliencePolicy.Host host = opened();
+
+        Assert.assertFalse(host.tryAcquire(NOW));
+        Assert.assertFalse(host.tryAcquire(NOW + BREAKER_OPEN_NANOS - 1));
+        Assert.assertEquals(ResiliencePolicy.State.OPEN, host.getState());
+    }
+
+    @Test
+    public void letsOneTrialThroughOnceOpenLongEnough() {
+
+        ResiliencePolicy.Host host = opened();
+
+        Assert.assertTrue(host.tryAcquire(NOW + BREAKER_OPEN_NANOS));
+        Assert.assertEquals(ResiliencePolicy.State.HALF_OPEN, host.getState());
+
+        Assert.assertFalse("a second trial, while the first is in flight", host.tryAcquire(NOW + BREAKER_OPEN_NANOS));
+    }
+
+    @Test
+    public void closesOnATrialSuccess() {
+
+        ResiliencePolicy.Host host = opened();
+
+        Assert.assertTrue(host.tryAcquire(NOW + BREAKER_OPEN_NANOS));
+
+        host.recordSuccess();
+
+        Assert.assertEquals(ResiliencePolicy.State.CLOSED, host.getState());
+        Assert.assertTrue(host.tryAcquire(NOW + BREAKER_OPEN_NANOS));
+        Assert.assertFalse("opened on one failure, after closing", host.recordFailure(NOW + BREAKER_OPEN_NANOS));
+    }
+
+    @Test
+    public void reopensOnATrialFailure() {
+
+        ResiliencePolicy.Host host = opened();
+
+        long trial_at = NOW + BREAKER_OPEN_NANOS;
+
+        Assert.assertTrue(host.tryAcquire(trial_at));
+        Assert.assertTrue("a failed trial re-opens the circuit", host.recordFailure(trial_at));
+        Assert.assertEquals(ResiliencePolicy.State.OPEN, host.getState());
+
+        // open for a whole period again, from the trial's failure.
+        Assert.assertFalse(host.tryAcquire(trial_at + BREAKER_OPEN_NANOS - 1));
+        Assert.assertTrue(host.tryAcquire(trial_at + BREAKER_OPEN_NANOS));
+    }
+
+}
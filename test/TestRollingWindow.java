@@ -0,0 +1,105 @@
+import org.junit.Assert;
+import org.junit.Test;
+import utilities.RollingWindow;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Unit tests of {@link RollingWindow}; a one minute window of six 10 second slices, recorded to and read on a clock
+ * of the test's own:
+ * <ul>
+ *     <li>a snapshot totals every slice of the span, and no older one</li>
+ *     <li>a record held up for longer than the whole window, is dropped</li>
+ *     <li>an empty window reads as NaN, and <code>-</code></li>
+ * </ul>
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class TestRollingWindow {
+
+    //region  helper variables
+
+    private static final long SLICE = 10_000;
+    private static final long NOW = 1_800_000_000_000L; // a slice's start.
+    private static final long NANOS = 1_000_000;
+
+    //endregion
+
+    //region helper methods
+
+    private static RollingWindow minute() {
+        return new RollingWindow("1m", 1, TimeUnit.MINUTES, 6);
+    }
+
+    //endregion
+
+    @Test
+    public void totalsEverySliceOfTheSpan() {
+
+        RollingWindow window = minute();
+
+        window.record(true, NANOS, NOW);
+        window.record(true, NANOS, NOW + SLICE - 1);
+        window.record(false, NANOS, NOW + SLICE);
+        window.record(true, NANOS, NOW + 5 * SLICE);
+
+        RollingWindow.Snapshot snapshot = window.snapshot(NOW + 5 * SLICE);
+
+        Assert.assertEquals("1m", snapshot.getWindow());
+        Assert.assertEquals(4, snapshot.getCount());
+        Assert.assertEquals(75.0, snapshot.getSuccessPercent(), 0.0);
+        Assert.assertEquals(4, snapshot.getLatency().getCount());
+    }
+
+    @Test
+    public void rollsOldSlicesOff() {
+
+        RollingWindow window = minute();
+
+        window.record(true, NANOS, NOW);
+        window.record(false, NANOS, NOW + SLICE);
+
+        Assert.assertEquals(2, window.snapshot(NOW + 5 * SLICE).getCount());
+        Assert.assertEquals(1, window.snapshot(NOW + 6 * SLICE).getCount());
+        Assert.assertEquals(0.0, window.snapshot(NOW + 6 * SLICE).getSuccessPercent(), 0.0);
+        Assert.assertEquals(0, window.snapshot(NOW + 7 * SLICE).getCount());
+
+        // the slot of the first slice, reused a span later; its old counts reset.
+        window.record(true, NANOS, NOW + 6 * SLICE);
+
+        Assert.assertEquals(2, window.snapshot(NOW + 6 * SLICE).getCount());
+        Assert.assertEquals(50.0, window.snapshot(NOW + 6 * SLICE).getSuccessPercent(), 0.0);
+    }
+
+    @Test
+    public void dropsARecordOlderThanTheWindow() {
+
+        RollingWindow window = minute();
+
+        window.record(true, NANOS, NOW + 6 * SLICE);
+        window.record(false, NANOS, NOW); // same slot, a whole span late.
+
+        RollingWindow.Snapshot snapshot = window.snapshot(NOW + 6 * SLICE);
+
+        Assert.assertEquals(1, snapshot.getCount());
+        Assert.assertEquals(100.0, snapshot.getSuccessPercent(), 0.0);
+    }
+
+    @Test
+    public void readsEmptyAsNothingRecorded() {
+
+        RollingWindow.Snapshot snapshot = minute().snapshot(NOW);
+
+        Assert.assertEquals(0, snapshot.getCount());
+        Assert.assertTrue(Double.isNaN(snapshot.getSuccessPercent()));
+        Assert.assertEquals("-", snapshot.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsSlicesShorterThanAMillisecond() {
+        new RollingWindow("5ms", 5, TimeUnit.MILLISECONDS, 6);
+    }
+
+}
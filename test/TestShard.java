@@ -0,0 +1,80 @@
+import org.junit.Assert;
+import org.junit.Test;
+import utilities.Shard;
+
+/**
+ * <p>
+ * Unit tests of {@link Shard}; that ids alike but for a suffix, as the tables' <code>case_id</code>s are, split evenly
+ * over the shards, each id owned by exactly one.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class TestShard {
+
+    //region  helper variables
+
+    private static final int CASES = 10_000;
+
+    //endregion
+
+    @Test
+    public void ownsEveryCaseOnce() {
+
+        for (int count = 1; count <= 8; count++) {
+
+            for (int i = 0; i < CASES; i++) {
+
+                int owners = 0;
+
+                for (int index = 0; index < count; index++)
+                    if (new Shard(index, count).owns("case-" + i))
+                        owners++;
+
+                Assert.assertEquals("owners of case-" + i + ", in " + count + " shard(s)", 1, owners);
+            }
+        }
+    }
+
+    @Test
+    public void splitsCasesEvenly() {
+
+        for (int count : new int[]{2, 3, 4, 7, 8}) {
+
+            int expected = CASES / count;
+
+            for (int index = 0; index < count; index++) {
+
+                Shard shard = new Shard(index, count);
+
+                int owned = 0;
+
+                for (int i = 0; i < CASES; i++)
+                    if (shard.owns("case-" + i))
+                        owned++;
+
+                // within 10% of an even split; a binomial's deviation is about 1% here.
+                Assert.assertTrue(shard + " owns " + owned + " of " + CASES + " cases", Math.abs(owned - expected) <= expected / 10);
+            }
+        }
+    }
+
+    @Test
+    public void rejectsAnIndexOutsideTheCount() {
+
+        for (int[] index_and_count : new int[][]{{-1, 4}, {4, 4}, {0, 0}}) {
+            try {
+                new Shard(index_and_count[0], index_and_count[1]);
+                Assert.fail("shard " + index_and_count[0] + " of " + index_and_count[1] + " was accepted");
+            } catch (IllegalArgumentException expected) {
+                // the config is rejected up front, not on the first case.
+            }
+        }
+    }
+
+    @Test
+    public void namesItselfOneBased() {
+        Assert.assertEquals("shard 2 of 4", new Shard(1, 4).toString());
+    }
+
+}
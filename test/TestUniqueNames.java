@@ -0,0 +1,107 @@
+import org.junit.Assert;
+import org.junit.Test;
+import utilities.UniqueNames;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * <p>
+ * Unit tests of {@link UniqueNames}; the names' format, the namespace's sanitising, and that parallel threads
+ * sharing one generator are never handed the same name.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class TestUniqueNames {
+
+    //region  helper variables
+
+    private static final int THREADS = 8;
+    private static final int NAMES_PER_THREAD = 10_000;
+
+    //endregion
+
+    @Test
+    public void namesArePrefixNamespaceAndCounter() {
+
+        UniqueNames names = new UniqueNames("ci-42");
+
+        Assert.assertEquals("pet-ci-42-1", names.next("pet"));
+        Assert.assertEquals("pet-ci-42-2", names.next("pet"));
+
+        for (int i = 3; i < 36; i++)
+            names.next("pet");
+
+        Assert.assertEquals("counter in base 36", "pet-ci-42-10", names.next("pet"));
+    }
+
+    @Test
+    public void keepsAnAlreadyCleanNamespace() {
+        Assert.assertEquals("ci-job-42", new UniqueNames("ci-job-42").getNamespace());
+    }
+
+    @Test
+    public void sanitisesTheNamespaceOneToOne() {
+
+        String sanitised = new UniqueNames("CI Job #42").getNamespace();
+
+        Assert.assertTrue(sanitised, sanitised.matches("ci-job-42-[a-z0-9]{1,7}"));
+        Assert.assertEquals("the same namespace, the same sanitised one", sanitised, new UniqueNames("CI Job #42").getNamespace());
+
+        Assert.assertNotEquals(sanitised, new UniqueNames("ci-job-42").getNamespace());
+        Assert.assertNotEquals(sanitised, new UniqueNames("CI_JOB_42").getNamespace());
+    }
+
+    @Test
+    public void rejectsANamespaceWithNoLetterOrDigit() {
+
+        for (String namespace : new String[]{"", "###", "---", " "}) {
+            try {
+                new UniqueNames(namespace);
+                Assert.fail("namespace '" + namespace + "' was accepted");
+            } catch (IllegalArgumentException expected) {
+                // every name would be told apart by its counter only.
+            }
+        }
+    }
+
+    @Test
+    public void parallelThreadsNeverShareAName() throws InterruptedException {
+
+        UniqueNames names = new UniqueNames("parallel");
+        Set<String> handed_out = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+
+            Thread thread = new Thread(() -> {
+
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                for (int i = 0; i < NAMES_PER_THREAD; i++)
+                    handed_out.add(names.next("pet"));
+            });
+
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+
+        for (Thread thread : threads)
+            thread.join();
+
+        Assert.assertEquals(THREADS * NAMES_PER_THREAD, handed_out.size());
+    }
+
+}
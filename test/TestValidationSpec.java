@@ -0,0 +1,106 @@
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.junit.Assert;
+import org.junit.Test;
+import utilities.ValidationSpec;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Unit tests of {@link ValidationSpec}; each expectation checked against a response built locally, and every
+ * failure reported, not only the first.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class TestValidationSpec {
+
+    //region  helper variables
+
+    private static final String BODY = "{\"status\":\"success\",\"code\":12,\"message\":{\"hound\":[\"afghan\"]},\"owner\":{\"name\":\"sizwe\"}}";
+
+    private static final ValidationSpec SPEC = ValidationSpec.expect()
+            .statusCode(200)
+            .contentType("application/json")
+            .hasKey("message")
+            .fieldEquals("status", "success")
+            .fieldEquals("code", 12)
+            .fieldEquals("owner.name", "sizwe")
+            .compile();
+
+    //endregion
+
+    //region helper methods
+
+    private static Response response(int status_code, String content_type, String body) {
+        return new ResponseBuilder()
+                .setStatusCode(status_code)
+                .setStatusLine("HTTP/1.1 " + status_code)
+                .setContentType(content_type)
+                .setBody(body)
+                .build();
+    }
+
+    //endregion
+
+    @Test
+    public void passesAMatchingResponse() {
+
+        ValidationSpec.Result result = SPEC.validate(response(200, "application/json; charset=UTF-8", BODY));
+
+        result.assertPassed();
+
+        Assert.assertEquals(6, result.getChecks().size());
+        Assert.assertEquals(12L, result.getValue("code"));
+        Assert.assertNull("an object is kept as a marker only", result.getValue("message"));
+    }
+
+    @Test
+    public void reportsEveryFailure() {
+
+        String body = "{\"status\":\"error\",\"code\":13,\"owner\":{}}";
+
+        ValidationSpec.Result result = SPEC.validate(response(404, "text/html", body));
+
+        List<ValidationSpec.Check> failures = result.getFailures();
+
+        Assert.assertFalse(result.isPassed());
+        Assert.assertEquals(6, failures.size());
+        Assert.assertEquals("status code == 200 ; was 404", failures.get(0).toString());
+        Assert.assertEquals("has key message ; was absent", failures.get(2).toString());
+        Assert.assertEquals("status == success ; was error", failures.get(3).toString());
+
+        try {
+            result.assertPassed();
+            Assert.fail("a failed spec passed");
+        } catch (AssertionError e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("6 expectation(s) failed:"));
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("owner.name == sizwe ; was null"));
+        }
+    }
+
+    @Test
+    public void failsBodyChecksOfABodyThatIsNotJson() {
+
+        ValidationSpec.Result result = SPEC.validate(response(200, "application/json", "<html>down</html>"));
+
+        Assert.assertEquals(4, result.getFailures().size());
+
+        for (ValidationSpec.Check check : result.getChecks())
+            Assert.assertEquals(check.toString(), !check.getExpectation().startsWith("status code") && !check.getExpectation().startsWith("content type"), !check.isPassed());
+    }
+
+    @Test
+    public void compilesAStricterSpecFromAnother() {
+
+        ValidationSpec stricter = SPEC.and().fieldEquals("owner.name", "thabo").compile();
+
+        ValidationSpec.Result result = stricter.validate(response(200, "application/json", BODY));
+
+        Assert.assertEquals(7, result.getChecks().size());
+        Assert.assertEquals(1, result.getFailures().size());
+        Assert.assertTrue(SPEC.validate(response(200, "application/json", BODY)).isPassed());
+    }
+
+}
@@ -0,0 +1,314 @@
+package utilities;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Api Client
+ * <p>
+ * One per API under test; each holds an immutable {@link RequestSpecification} template,
+ * already pointing at its base url and using the {@link PooledHttpClient} shared by the whole run.
+ * Every request starts from a fresh copy of that template, so tests never touch
+ * RestAssured's global state (e.g. <code>RestAssured.baseURI</code>), and can run concurrently.
+ * </p>
+ * <p>
+ * Base urls are the live hosts, unless:
+ * <ul>
+ *     <li><code>-Ddog.api.base.url=...</code> or <code>-Dpetstore.api.base.url=...</code>; is given, or</li>
+ *     <li><code>-Dapi.mode=stub</code>; which points both APIs at the in-process {@link StubServer}.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Paths are relative to the base url, and may hold path parameters; e.g.
+ * <code>DOG_API.get("breed/{breed}/list", "bulldog")</code>.
+ * </p>
+ * <p>
+ * Identical GETs in flight at once share one network call, and a successful one answers later tests for a while;
+ * see {@link RequestCoalescer}.
+ * </p>
+ * <p>
+ * GETs may be recorded and replayed, see {@link ResponseCache}; a replayed one is not timed.
+ * </p>
+ * <p>
+ * Every request is timed, phase by phase; see {@link RequestTiming}.
+ * </p>
+ * <p>
+ * Every request is sent within a deadline, GETs are retried and hedged, and a host that is down fails fast;
+ * see {@link ResiliencePolicy}.
+ * </p>
+ * <p>
+ * {@link #getAsync} and {@link #postAsync} send without blocking, on the {@link AsyncHttpEngine}; so a multi step flow is
+ * a composition of futures (e.g. <code>postAsync(...).thenCompose(created -&gt; getAsync(...))</code>), and hundreds of
+ * them share a handful of threads. They skip the filter chain; timed, and guarded by their host's circuit and their
+ * endpoint's deadline (see {@link ResiliencePolicy#guard}), but never coalesced, cached, retried or hedged.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class ApiClient {
+
+    //region  helper variables
+
+    public static final String API_MODE_PROPERTY = "api.mode";
+    public static final String DOG_API_BASE_URL_PROPERTY = "dog.api.base.url";
+    public static final String PET_STORE_API_BASE_URL_PROPERTY = "petstore.api.base.url";
+
+    public static final ApiClient DOG_API = new ApiClient(
+            baseUrl(DOG_API_BASE_URL_PROPERTY, "https://dog.ceo/api/", StubServer.DOG_API_PATH)
+    );
+    public static final ApiClient PET_STORE_API = new ApiClient(
+            baseUrl(PET_STORE_API_BASE_URL_PROPERTY, "https://petstore.swagger.io/v2", StubServer.PET_STORE_API_PATH)
+    );
+
+    private final String baseUrl;
+    private final RequestSpecification template;
+
+    //endregion
+
+    static {
+        HtmlReporter.registerSummary("http connections", () -> PooledHttpClient.shared().toReportTable());
+        HtmlReporter.registerSummary("request timings", () -> EndpointTimings.shared().toReportTable());
+    }
+
+    private ApiClient(String base_url) {
+
+        this.baseUrl = base_url;
+
+        URI base_uri = URI.create(base_url);
+
+        RestAssuredConfig config = RestAssuredConfig.config().httpClient(
+                HttpClientConfig.httpClientConfig()
+                        .reuseHttpClientInstance()
+                        .httpClientFactory(() -> PooledHttpClient.shared().getHttpClient())
+        );
+
+        RequestSpecBuilder template = new RequestSpecBuilder()
+                .setBaseUri(base_uri.getScheme() + "://" + base_uri.getAuthority())
+                .setBasePath(base_uri.getPath())
+                .setConfig(config);
+
+        RequestCoalescer coalescer = RequestCoalescer.configured();
+
+        if (coalescer != null)
+            template.addFilter(coalescer);
+
+        // ahead of the timing; a replayed response is not a network request, so neither timed nor counted as one.
+        ResponseCache cache = ResponseCache.configured();
+
+        if (cache != null)
+            template.addFilter(cache);
+
+        template.addFilter(RequestTiming::time);
+
+        ResiliencePolicy resilience = ResiliencePolicy.configured();
+
+        if (resilience != null)
+            template.addFilter(resilience);
+
+        this.template = template
+                .addFilter(ApiClient::readBodyAndReleaseConnection)
+                .build();
+    }
+
+    //region getter
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * @return true, when the APIs are served by the in-process {@link StubServer}.
+     */
+    public static boolean isStubMode() {
+        return "stub".equalsIgnoreCase(System.getProperty(API_MODE_PROPERTY, "live"));
+    }
+
+    //endregion
+
+    /**
+     * @return the endpoint of a request, as its method and path template; e.g. <code>GET breed/{breed}/list</code>.
+     */
+    public static String endpointOf(FilterableRequestSpecification request) {
+
+        String path = request.getUserDefinedPath();
+
+        return request.getMethod() + " " + (path.startsWith("/") ? path.substring(1) : path);
+    }
+
+    /**
+     * @return the host of a request, as its authority; e.g. <code>dog.ceo</code> or <code>localhost:8089</code>.
+     */
+    public static String hostOf(FilterableRequestSpecification request) {
+        return URI.create(request.getBaseUri()).getAuthority();
+    }
+
+    /**
+     * @return a new request, from this API's template; free to be changed by the caller.
+     */
+    public RequestSpecification given() {
+        return RestAssured.given().spec(template);
+    }
+
+    /**
+     * @param path,        relative to the base url.
+     * @param path_params, values of the path's <code>{parameters}</code>, in order.
+     * @return response of a GET request.
+     */
+    public Response get(String path, Object... path_params) {
+        return given().get(path, path_params);
+    }
+
+    /**
+     * @param path,        relative to the base url.
+     * @param path_params, values of the path's <code>{parameters}</code>, in order.
+     * @return response of a GET request, sent without blocking; see {@link AsyncHttpEngine} for the thread it completes on.
+     */
+    public CompletableFuture<Response> getAsync(String path, Object... path_params) {
+        return sendAsync(new HttpGet(urlOf(path, path_params)), path);
+    }
+
+    /**
+     * @param path,        relative to the base url.
+     * @param json_body,   sent as <code>application/json</code>.
+     * @param path_params, values of the path's <code>{parameters}</code>, in order.
+     * @return response of a POST request, sent without blocking; see {@link AsyncHttpEngine} for the thread it completes on.
+     */
+    public CompletableFuture<Response> postAsync(String path, String json_body, Object... path_params) {
+        return postAsync(path, json_body.getBytes(StandardCharsets.UTF_8), path_params);
+    }
+
+    /**
+     * @param json_body, already encoded; e.g. by a {@link PetJson.Template}.
+     * @see #postAsync(String, String, Object...)
+     */
+    public CompletableFuture<Response> postAsync(String path, byte[] json_body, Object... path_params) {
+
+        HttpPost post = new HttpPost(urlOf(path, path_params));
+        post.setEntity(new ByteArrayEntity(json_body, ContentType.APPLICATION_JSON));
+
+        RequestCoalescer coalescer = RequestCoalescer.configured();
+
+        if (coalescer == null)
+            return sendAsync(post, path);
+
+        // forgotten as it's sent, and again once answered; as for a blocking write, see RequestCoalescer.
+        String host = URI.create(baseUrl).getAuthority();
+
+        coalescer.forget(host);
+
+        return sendAsync(post, path).whenComplete((received, failure) -> coalescer.forget(host));
+    }
+
+    //region helper methods
+
+    private static CompletableFuture<Response> sendAsync(HttpUriRequest request, String path) {
+
+        String endpoint = request.getMethod() + " " + (path.startsWith("/") ? path.substring(1) : path);
+
+        ResiliencePolicy resilience = ResiliencePolicy.configured();
+
+        if (resilience == null)
+            return AsyncHttpEngine.shared().send(request, endpoint);
+
+        return resilience.guard(request.getURI().getAuthority(), endpoint, () -> AsyncHttpEngine.shared().send(request, endpoint));
+    }
+
+    /**
+     * @return the absolute url of a path; each of its <code>{parameters}</code> replaced by the next value, url encoded.
+     * @throws IllegalArgumentException when there are more, or fewer, values than parameters.
+     */
+    private String urlOf(String path, Object... path_params) {
+
+        StringBuilder url = new StringBuilder(baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl);
+
+        if (!path.startsWith("/"))
+            url.append('/');
+
+        int param = 0;
+        int from = 0;
+
+        for (int opened = path.indexOf('{'); opened >= 0; opened = path.indexOf('{', from)) {
+
+            int closed = path.indexOf('}', opened);
+
+            if (closed < 0 || param == path_params.length)
+                break;
+
+            url.append(path, from, opened).append(encoded(path_params[param++]));
+
+            from = closed + 1;
+        }
+
+        if (param != path_params.length || path.indexOf('{', from) >= 0)
+            throw new IllegalArgumentException(String.format("%s has %s path parameter(s) than the %d value(s) given",
+                    path, param != path_params.length ? "fewer" : "more", path_params.length));
+
+        return url.append(path, from, path.length()).toString();
+    }
+
+    private static String encoded(Object path_param) {
+
+        try {
+            return URLEncoder.encode(String.valueOf(path_param), StandardCharsets.UTF_8.name()).replace("+", "%20");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException("no UTF-8!", e);
+        }
+    }
+
+    private static String baseUrl(String base_url_property, String live_base_url, String stub_path) {
+
+        String base_url = System.getProperty(base_url_property);
+
+        if (base_url != null)
+            return base_url;
+
+        return isStubMode() ? StubServer.shared().getBaseUrl() + stub_path : live_base_url;
+    }
+
+    /**
+     * Reads (and keeps) the whole body, as soon as the response arrives; so that its pooled connection
+     * is handed back straight away, rather than held until, or if ever, the test reads the body.
+     */
+    private static Response readBodyAndReleaseConnection(FilterableRequestSpecification request, FilterableResponseSpecification response, FilterContext context) {
+
+        return readBody(context.next(request, response));
+    }
+
+    /**
+     * Reads and keeps the whole body, timed as the current request's download; a no-op once read.
+     */
+    static Response readBody(Response received) {
+
+        long reading_since = System.nanoTime();
+
+        received.asByteArray();
+
+        RequestTiming timing = RequestTiming.current();
+
+        if (timing != null)
+            timing.add(RequestTiming.Phase.DOWNLOAD, System.nanoTime() - reading_since);
+
+        return received;
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,235 @@
+package utilities;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Async Http Engine
+ * <p>
+ * The non-blocking client behind {@link ApiClient#getAsync} and {@link ApiClient#postAsync}; one per run, started on
+ * first use. A handful of I/O threads (<code>http.async.io.threads</code>, default the cores, at most 4) multiplex every
+ * request in flight, over a pool of <code>http.async.max.per.host</code> (default 64) connections per host and
+ * <code>http.async.max.total</code> (default 256) in all; so hundreds of requests wait on the network at once, without a
+ * thread each. Connect and read timeouts are {@link PooledHttpClient}'s.
+ * </p>
+ * <p>
+ * A request's future completes on an I/O thread, with the whole body read; as a RestAssured {@link Response}, so
+ * the usual assertions (e.g. {@link ValidationSpec}) apply. Stages chained to it without an executor run on that
+ * thread too, and every request in flight waits on them; so any work on the response (parsing, validating, logging)
+ * belongs in an <code>*Async</code> stage, on an executor of the caller's (see {@link BulkPetPipeline}). Only
+ * sending the next request (e.g. <code>thenCompose(created -&gt; getAsync(...))</code>) is short enough to chain as is.
+ * </p>
+ * <p>
+ * Every request is timed as a whole (see {@link RequestTiming}), and logged to the Html Report test case that sent it;
+ * requests sent, failed and most in flight at once are reported as an Html Report summary.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class AsyncHttpEngine {
+
+    //region  helper variables
+
+    public static final String IO_THREADS_PROPERTY = "http.async.io.threads";
+    public static final String MAX_PER_HOST_PROPERTY = "http.async.max.per.host";
+    public static final String MAX_TOTAL_PROPERTY = "http.async.max.total";
+
+    private static volatile AsyncHttpEngine shared;
+
+    private final int ioThreads;
+    private final CloseableHttpAsyncClient httpClient;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    //endregion
+
+    private AsyncHttpEngine(int io_threads, int max_per_host, int max_total) {
+
+        this.ioThreads = io_threads;
+
+        AtomicInteger threads = new AtomicInteger();
+
+        this.httpClient = HttpAsyncClients.custom()
+                .setDefaultIOReactorConfig(IOReactorConfig.custom()
+                        .setIoThreadCount(io_threads)
+                        .setConnectTimeout(Integer.getInteger(PooledHttpClient.CONNECT_TIMEOUT_PROPERTY, 10_000))
+                        .setSoTimeout(Integer.getInteger(PooledHttpClient.READ_TIMEOUT_PROPERTY, 30_000))
+                        .build())
+                .setMaxConnPerRoute(max_per_host)
+                .setMaxConnTotal(max_total)
+                .setThreadFactory(runnable -> {
+                    Thread thread = new Thread(runnable, "http-async-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                .build();
+
+        this.httpClient.start();
+    }
+
+    /**
+     * @return the engine of this run; started on the first call.
+     */
+    public static AsyncHttpEngine shared() {
+
+        if (shared == null) {
+
+            synchronized (AsyncHttpEngine.class) {
+
+                if (shared == null) {
+
+                    int io_threads = Integer.getInteger(IO_THREADS_PROPERTY, Math.min(4, Runtime.getRuntime().availableProcessors()));
+                    int max_per_host = Integer.getInteger(MAX_PER_HOST_PROPERTY, 64);
+                    int max_total = Integer.getInteger(MAX_TOTAL_PROPERTY, 256);
+
+                    if (io_threads < 1 || max_per_host < 1 || max_total < 1)
+                        throw new IllegalArgumentException(String.format("%s, %s and %s must be at least 1; were %d, %d and %d",
+                                IO_THREADS_PROPERTY, MAX_PER_HOST_PROPERTY, MAX_TOTAL_PROPERTY, io_threads, max_per_host, max_total));
+
+                    shared = new AsyncHttpEngine(io_threads, max_per_host, max_total);
+
+                    AsyncHttpEngine engine = shared;
+
+                    HtmlReporter.registerSummary("async http engine", engine::toReportTable);
+                }
+            }
+        }
+
+        return shared;
+    }
+
+    /**
+     * Sends the request, without waiting for it.
+     *
+     * @param endpoint, it's timed as; e.g. <code>GET pet/{petId}</code>
+     * @return the response, body and all; or, completed exceptionally, why there is none (e.g. an {@link IOException}).
+     */
+    public CompletableFuture<Response> send(HttpUriRequest request, String endpoint) {
+
+        CompletableFuture<Response> response = new CompletableFuture<>();
+
+        ReportLogger logger = HtmlReporter.currentLogger();
+        RequestTiming timing = RequestTiming.startedAsync(endpoint);
+
+        requests.increment();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+        httpClient.execute(request, new FutureCallback<HttpResponse>() {
+
+            @Override
+            public void completed(HttpResponse received) {
+
+                Response built;
+
+                try {
+                    built = responseOf(received);
+                } catch (RuntimeException e) {
+                    failed(e);
+                    return;
+                }
+
+                inFlight.decrementAndGet();
+
+                timing.finishedAsync(built.statusCode(), built.asByteArray().length);
+                timing.answered(built);
+
+                // completed first; the timing's recording is the engine's own work, not the caller's.
+                response.complete(built);
+
+                timing.recordAsync(logger);
+            }
+
+            @Override
+            public void failed(Exception e) {
+
+                inFlight.decrementAndGet();
+                failed.increment();
+
+                timing.finishedAsync(0, 0);
+
+                response.completeExceptionally(e);
+
+                timing.recordAsync(logger);
+            }
+
+            @Override
+            public void cancelled() {
+                failed(new CancellationException(endpoint + " was cancelled"));
+            }
+        });
+
+        return response;
+    }
+
+    /**
+     * @return e.g. I/O threads, requests sent and failed, most in flight at once.
+     */
+    public String[][] toReportTable() {
+        return new String[][]{
+                {"io threads", String.valueOf(ioThreads)},
+                {"requests", String.valueOf(requests.sum())},
+                {"failed", String.valueOf(failed.sum())},
+                {"in flight", String.valueOf(inFlight.get())},
+                {"max in flight", String.valueOf(maxInFlight.get())}
+        };
+    }
+
+    //region helper methods
+
+    /**
+     * @return the response, with its whole body; already buffered by the client, so nothing here blocks.
+     */
+    private static Response responseOf(HttpResponse received) {
+
+        HttpEntity entity = received.getEntity();
+
+        byte[] body;
+
+        try {
+            body = entity == null ? new byte[0] : EntityUtils.toByteArray(entity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not read a buffered response body!", e);
+        }
+
+        List<Header> headers = new ArrayList<>();
+
+        for (org.apache.http.Header header : received.getAllHeaders())
+            headers.add(new Header(header.getName(), header.getValue()));
+
+        ResponseBuilder response = new ResponseBuilder()
+                .setStatusCode(received.getStatusLine().getStatusCode())
+                .setStatusLine(received.getStatusLine().toString())
+                .setHeaders(new Headers(headers))
+                .setBody(body);
+
+        if (entity != null && entity.getContentType() != null)
+            response.setContentType(entity.getContentType().getValue());
+
+        return response.build();
+    }
+
+    //endregion
+
+}
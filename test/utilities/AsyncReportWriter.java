@@ -0,0 +1,356 @@
+package utilities;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous, Batched Report Writer
+ * <p>
+ * Test threads only enqueue log events onto a bounded ring buffer; a single background
+ * writer thread drains them in batches, formats their messages, logs them on to their
+ * {@link ExtentTest} and flushes the report to disk every <code>report.flush.interval.ms</code>.
+ * So request latency is not measured with the reporting work in it,
+ * and a JVM that dies mid-run still leaves the report; as of its last flush, behind.
+ * </p>
+ * <p>
+ * A message's arguments are taken as they are when enqueued; immutable values as is, anything else (e.g. a list)
+ * as its <code>String.valueOf</code>; so a test changing one after logging it, never changes what was logged.
+ * </p>
+ * <p>
+ * {@link ExtentReports} is not thread safe; every log, flush, and test created or removed, holds its lock (the
+ * instance itself, see {@link HtmlReporter}). The writer holds it for a batch at a time.
+ * </p>
+ * <p>
+ * Given a {@link ResultLog}, each event is also appended to it, as it is written; time stamped with when it was
+ * enqueued, and a request's with its endpoint and http status.
+ * </p>
+ * <p>
+ * When the buffer is full, <code>report.queue.policy</code> decides:
+ * <ul>
+ *     <li><b>block</b> (default); the test thread waits for room, each wait is counted as backpressure.</li>
+ *     <li><b>drop</b>; the event is discarded, and counted as dropped.</li>
+ * </ul>
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class AsyncReportWriter {
+
+    //region  helper variables
+
+    public static final String QUEUE_CAPACITY_PROPERTY = "report.queue.capacity";
+    public static final String QUEUE_POLICY_PROPERTY = "report.queue.policy";
+    public static final String FLUSH_INTERVAL_PROPERTY = "report.flush.interval.ms";
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 8192;
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+    private static final int MAX_BATCH_SIZE = 512;
+
+    private final ExtentReports extent;
+    private final ResultLog results;
+    private final BlockingQueue<Event> queue;
+    private final boolean dropWhenFull;
+    private final long flushIntervalMillis;
+    private final Thread writer;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failedWrites = new AtomicLong();
+    private final AtomicLong backpressureWaits = new AtomicLong();
+    private final AtomicLong backpressureNanos = new AtomicLong();
+
+    private final Object drainedMonitor = new Object();
+
+    //endregion
+
+    public AsyncReportWriter(ExtentReports extent) {
+        this(extent, null);
+    }
+
+    /**
+     * @param results, result log every event is also appended to; or null, for none.
+     */
+    public AsyncReportWriter(ExtentReports extent, ResultLog results) {
+
+        this.extent = extent;
+        this.results = results;
+        this.queue = new ArrayBlockingQueue<>(Integer.getInteger(QUEUE_CAPACITY_PROPERTY, DEFAULT_QUEUE_CAPACITY));
+        this.dropWhenFull = "drop".equalsIgnoreCase(System.getProperty(QUEUE_POLICY_PROPERTY, "block"));
+        this.flushIntervalMillis = Long.getLong(FLUSH_INTERVAL_PROPERTY, DEFAULT_FLUSH_INTERVAL_MILLIS);
+
+        this.writer = new Thread(this::writeLoop, "html-report-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::drain, "html-report-shutdown-flush"));
+    }
+
+    //region getters
+
+    public long getEnqueuedCount() {
+        return enqueued.get();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getBackpressureWaitCount() {
+        return backpressureWaits.get();
+    }
+
+    public long getBackpressureWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(backpressureNanos.get());
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    //endregion
+
+    /**
+     * Queues a log line for the given test case; the message is only formatted on the writer thread, from a
+     * snapshot of its arguments.
+     *
+     * @param test,    test case to log on to.
+     * @param status,  log status.
+     * @param message, message, or a {@link String#format(String, Object...)} pattern when args are given.
+     * @param args,    format arguments; may be empty.
+     */
+    public void enqueue(ExtentTest test, Status status, String message, Object... args) {
+        enqueue(new Event(test, ResultLog.NO_TEST_CASE, status, null, message, snapshot(args)));
+    }
+
+    /**
+     * @param result_id, the test case's id in the {@link ResultLog}.
+     */
+    void enqueue(ExtentTest test, int result_id, Status status, String message, Object... args) {
+        enqueue(new Event(test, result_id, status, null, message, snapshot(args)));
+    }
+
+    /**
+     * Queues a finished request's timing, logged as info; and as a request record, to the {@link ResultLog}.
+     */
+    void enqueue(ExtentTest test, int result_id, RequestTiming timing) {
+        enqueue(new Event(test, result_id, Status.INFO, timing, "%s", new Object[]{String.valueOf(timing)}));
+    }
+
+    private void enqueue(Event event) {
+
+        if (queue.offer(event)) {
+            enqueued.incrementAndGet();
+            return;
+        }
+
+        if (dropWhenFull) {
+            dropped.incrementAndGet();
+            return;
+        }
+
+        long waiting_since = System.nanoTime();
+
+        try {
+
+            queue.put(event);
+
+            enqueued.incrementAndGet();
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+
+            dropped.incrementAndGet();
+
+        } finally {
+
+            backpressureWaits.incrementAndGet();
+
+            backpressureNanos.addAndGet(System.nanoTime() - waiting_since);
+        }
+    }
+
+    /**
+     * Blocks until every event enqueued so far is written, and then flushes the report to disk; or, should the writer
+     * thread have died (e.g. of an Error), flushes what was written.
+     */
+    public void drain() {
+
+        synchronized (drainedMonitor) {
+
+            while (written.get() + failedWrites.get() < enqueued.get()) {
+
+                if (!writer.isAlive()) {
+                    System.err.printf("html report writer: stopped, with %d log line(s) not written.%n",
+                            enqueued.get() - written.get() - failedWrites.get());
+                    break;
+                }
+
+                try {
+
+                    drainedMonitor.wait(flushIntervalMillis);
+
+                } catch (InterruptedException e) {
+
+                    Thread.currentThread().interrupt();
+
+                    break;
+                }
+            }
+        }
+
+        synchronized (extent) {
+            extent.flush();
+        }
+
+        if (results != null)
+            results.flush();
+    }
+
+    //region writer thread
+
+    private void writeLoop() {
+
+        List<Event> batch = new ArrayList<>(MAX_BATCH_SIZE);
+
+        long last_flush = System.currentTimeMillis();
+
+        long written_at_last_flush = 0;
+
+        while (true) {
+
+            try {
+
+                Event first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+
+                if (first != null) {
+
+                    batch.add(first);
+
+                    queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+
+                    synchronized (extent) {
+                        for (Event event : batch)
+                            write(event);
+                    }
+
+                    batch.clear();
+
+                    synchronized (drainedMonitor) {
+                        drainedMonitor.notifyAll();
+                    }
+                }
+
+                long now = System.currentTimeMillis();
+
+                if (now - last_flush >= flushIntervalMillis && written.get() != written_at_last_flush) {
+
+                    synchronized (extent) {
+                        extent.flush();
+                    }
+
+                    if (results != null)
+                        results.flush();
+
+                    last_flush = now;
+
+                    written_at_last_flush = written.get();
+                }
+
+            } catch (InterruptedException e) {
+
+                return;
+
+            } catch (RuntimeException e) {
+
+                // a report that can't be flushed, must never stop the tests; try again on the next batch.
+                System.err.println("html report writer: " + e);
+            }
+        }
+    }
+
+    private void write(Event event) {
+
+        try {
+
+            String details = event.args.length == 0 ? event.message : String.format(event.message, event.args);
+
+            event.test.log(event.status, details);
+
+            if (results != null && event.timing != null)
+                results.request(event.resultId, event.enqueuedAt, event.timing.getEndpoint(), event.timing.getStatusCode(), event.timing.getTotalNanos(), details);
+            else if (results != null)
+                results.log(event.resultId, event.enqueuedAt, event.status, details);
+
+            written.incrementAndGet();
+
+        } catch (RuntimeException e) {
+
+            failedWrites.incrementAndGet();
+
+            System.err.println("html report writer, could not log '" + event.message + "': " + e);
+        }
+    }
+
+    /**
+     * @return the args, as they are now; immutable values as is (so that e.g. <code>%d</code> still applies to a
+     * number), anything else as its <code>String.valueOf</code>.
+     */
+    private static Object[] snapshot(Object[] args) {
+
+        if (args == null)
+            return new Object[0];
+
+        Object[] snapshot = new Object[args.length];
+
+        for (int i = 0; i < args.length; i++)
+            snapshot[i] = isImmutable(args[i]) ? args[i] : String.valueOf(args[i]);
+
+        return snapshot;
+    }
+
+    private static boolean isImmutable(Object arg) {
+        return arg == null || arg instanceof String || arg instanceof Boolean || arg instanceof Character
+                || arg instanceof Integer || arg instanceof Long || arg instanceof Double || arg instanceof Float
+                || arg instanceof Short || arg instanceof Byte || arg instanceof BigInteger || arg instanceof BigDecimal
+                || arg instanceof Enum;
+    }
+
+    //endregion
+
+    private static final class Event {
+
+        private final ExtentTest test;
+        private final int resultId;
+        private final Status status;
+        private final RequestTiming timing;
+        private final String message;
+        private final Object[] args;
+        private final long enqueuedAt = System.currentTimeMillis();
+
+        private Event(ExtentTest test, int result_id, Status status, RequestTiming timing, String message, Object[] args) {
+            this.test = test;
+            this.resultId = result_id;
+            this.status = status;
+            this.timing = timing;
+            this.message = message;
+            this.args = args;
+        }
+    }
+
+}
@@ -0,0 +1,474 @@
+package utilities;
+
+import io.restassured.response.Response;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Bulk Pet Pipeline
+ * <p>
+ * Seeds the pet store with N pets and verifies each; as a two stage pipeline:
+ * <ol>
+ *     <li>create; pets are generated one at a time, and POSTed by at most <code>bulk.create.concurrency</code>
+ *     (default 8) threads.</li>
+ *     <li>verify; each returned id is handed straight on to a <code>GET pet/{id}</code>, on at most
+ *     <code>bulk.verify.concurrency</code> (default 8) threads; while other creates are still in flight.</li>
+ * </ol>
+ * </p>
+ * <p>
+ * When verification falls behind, its small queue fills up; and the create threads verify their own pets,
+ * slowing creation down to what verification keeps up with, rather than queueing without bound.
+ * </p>
+ * <p>
+ * With <code>-Dbulk.mode=async</code>, each pet is instead one composed future; its POST then, on success, its GET; sent
+ * by the {@link AsyncHttpEngine}, at most <code>bulk.async.in.flight</code> (default 256) pets at once, on the engine's
+ * few I/O threads. Each response is checked (parsed, validated and logged) on one of <code>bulk.async.workers</code>
+ * (default the cores) worker threads; never on an I/O thread, which every request in flight shares. The caller's
+ * thread only generates pets, waiting while that many are in flight.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class BulkPetPipeline {
+
+    //region  helper variables
+
+    public static final String CREATE_CONCURRENCY_PROPERTY = "bulk.create.concurrency";
+    public static final String VERIFY_CONCURRENCY_PROPERTY = "bulk.verify.concurrency";
+    public static final String MODE_PROPERTY = "bulk.mode";
+    public static final String ASYNC_IN_FLIGHT_PROPERTY = "bulk.async.in.flight";
+    public static final String ASYNC_WORKERS_PROPERTY = "bulk.async.workers";
+
+    private static final int DEFAULT_CONCURRENCY = 8;
+
+    /**
+     * Every bulk pet, but for its name; pre-encoded once.
+     */
+    private static final PetJson.Template PET_TEMPLATE = PetJson.template(new Pet(
+            0,
+            new Pet.Category(1989, "hunting-wild-hound"),
+            "",
+            Collections.singletonList("https://images.dog.ceo/breeds/greyhound-italian/n02091032_10352.jpg"),
+            Collections.emptyList(),
+            "available"
+    ));
+
+    private final ApiClient petStoreApi;
+    private final int createConcurrency;
+    private final int verifyConcurrency;
+
+    /**
+     * pets in flight at once, when async; 0 for the thread pools.
+     */
+    private final int asyncInFlight;
+
+    //endregion
+
+    public BulkPetPipeline(ApiClient pet_store_api, int create_concurrency, int verify_concurrency) {
+
+        if (create_concurrency < 1 || verify_concurrency < 1)
+            throw new IllegalArgumentException("concurrency must be at least 1, but was " + create_concurrency + " / " + verify_concurrency);
+
+        this.petStoreApi = pet_store_api;
+        this.createConcurrency = create_concurrency;
+        this.verifyConcurrency = verify_concurrency;
+        this.asyncInFlight = 0;
+    }
+
+    private BulkPetPipeline(ApiClient pet_store_api, int async_in_flight) {
+
+        if (async_in_flight < 1)
+            throw new IllegalArgumentException("pets in flight must be at least 1, but was " + async_in_flight);
+
+        this.petStoreApi = pet_store_api;
+        this.createConcurrency = 0;
+        this.verifyConcurrency = 0;
+        this.asyncInFlight = async_in_flight;
+    }
+
+    /**
+     * @param async_in_flight, most pets created or verified at once.
+     * @return a pipeline of composed futures, on the {@link AsyncHttpEngine}.
+     */
+    public static BulkPetPipeline async(ApiClient pet_store_api, int async_in_flight) {
+        return new BulkPetPipeline(pet_store_api, async_in_flight);
+    }
+
+    /**
+     * @return a pipeline, of the <code>bulk.mode</code> (<code>threads</code>, the default, or <code>async</code>);
+     * limited by the <code>bulk.*.concurrency</code>, or <code>bulk.async.in.flight</code>, system properties.
+     */
+    public static BulkPetPipeline configured(ApiClient pet_store_api) {
+
+        String mode = System.getProperty(MODE_PROPERTY, "threads");
+
+        switch (mode) {
+
+            case "threads":
+                return new BulkPetPipeline(
+                        pet_store_api,
+                        Integer.getInteger(CREATE_CONCURRENCY_PROPERTY, DEFAULT_CONCURRENCY),
+                        Integer.getInteger(VERIFY_CONCURRENCY_PROPERTY, DEFAULT_CONCURRENCY)
+                );
+
+            case "async":
+                return async(pet_store_api, Integer.getInteger(ASYNC_IN_FLIGHT_PROPERTY, 256));
+
+            default:
+                throw new IllegalArgumentException(MODE_PROPERTY + " must be threads or async, but was " + mode);
+        }
+    }
+
+    /**
+     * Creates and verifies the pets; blocking until every one of them is done.
+     *
+     * @param count,    pets to create.
+     * @param pet_name, name of the i-th pet (0 based); asked for only when that pet is about to be created.
+     */
+    public Result run(int count, IntFunction<String> pet_name) {
+
+        if (asyncInFlight > 0)
+            return runAsync(count, pet_name);
+
+        Result result = new Result(count);
+
+        ExecutorService creators = newPool("bulk-pet-create", createConcurrency, new LinkedBlockingQueue<>());
+        ExecutorService verifiers = newPool("bulk-pet-verify", verifyConcurrency, new ArrayBlockingQueue<>(verifyConcurrency * 4));
+
+        Semaphore create_slots = new Semaphore(createConcurrency);
+
+        long started_at = System.nanoTime();
+
+        try {
+
+            for (int i = 0; i < count; i++) {
+
+                create_slots.acquireUninterruptibly();
+
+                String name = pet_name.apply(i);
+
+                creators.execute(() -> {
+                    try {
+                        Long id = create(name, result);
+                        if (id != null)
+                            verifiers.execute(() -> verify(id, name, result));
+                    } finally {
+                        create_slots.release();
+                    }
+                });
+            }
+
+            awaitShutdown(creators);
+
+        } finally {
+            creators.shutdownNow();
+            awaitShutdown(verifiers);
+        }
+
+        result.elapsedNanos = System.nanoTime() - started_at;
+
+        return result;
+    }
+
+    //region helper methods
+
+    private Result runAsync(int count, IntFunction<String> pet_name) {
+
+        Result result = new Result(count);
+
+        Semaphore in_flight = new Semaphore(asyncInFlight);
+
+        ExecutorService checkers = newPool("bulk-pet-check",
+                Integer.getInteger(ASYNC_WORKERS_PROPERTY, Runtime.getRuntime().availableProcessors()), new LinkedBlockingQueue<>());
+
+        long started_at = System.nanoTime();
+
+        try {
+
+            for (int i = 0; i < count; i++) {
+
+                in_flight.acquireUninterruptibly();
+
+                String name = pet_name.apply(i);
+
+                long creating_since = System.nanoTime();
+
+                // checked on a worker; the verifying GET is only sent from it, so it may be chained as is.
+                petStoreApi.postAsync("/pet", PET_TEMPLATE.render(0, name))
+                        .handleAsync((response, failure) -> created(name, result, creating_since, () -> joined(response, failure)), checkers)
+                        .thenCompose(id -> {
+
+                            if (id == null)
+                                return CompletableFuture.completedFuture(null);
+
+                            long verifying_since = System.nanoTime();
+
+                            return petStoreApi.getAsync("/pet/{petId}", id)
+                                    .handleAsync((response, failure) -> verified(id, name, result, verifying_since, () -> joined(response, failure)), checkers);
+                        })
+                        .whenComplete((done, failure) -> in_flight.release());
+            }
+
+            // every pet is done, once every slot is free again.
+            in_flight.acquireUninterruptibly(asyncInFlight);
+
+        } finally {
+            checkers.shutdown();
+        }
+
+        result.elapsedNanos = System.nanoTime() - started_at;
+
+        return result;
+    }
+
+    /**
+     * @return the new pet's id, or null when it was not created.
+     */
+    private Long create(String name, Result result) {
+
+        return created(name, result, System.nanoTime(), () -> petStoreApi.given()
+                .header("Content-Type", "application/json")
+                .body(PET_TEMPLATE.render(0, name))
+                .post("/pet"));
+    }
+
+    /**
+     * @param response, of the POST; throws when there is none.
+     * @return the new pet's id, or null when it was not created.
+     */
+    private static Long created(String name, Result result, long started_at, Supplier<Response> response) {
+
+        try {
+
+            ValidationSpec.Result created = ValidationSpec.expect()
+                    .statusCode(200)
+                    .hasKey("id")
+                    .fieldEquals("name", name)
+                    .compile()
+                    .validate(response.get());
+
+            created.assertPassed();
+
+            Long id = ((Number) created.getValue("id")).longValue();
+
+            result.created.record(started_at);
+
+            return id;
+
+        } catch (RuntimeException | AssertionError e) {
+
+            result.created.fail(started_at, "create " + name + "; " + e.getMessage());
+
+            return null;
+        }
+    }
+
+    private void verify(long id, String name, Result result) {
+        verified(id, name, result, System.nanoTime(), () -> petStoreApi.get("/pet/{petId}", id));
+    }
+
+    /**
+     * @param response, of the GET; throws when there is none.
+     */
+    private static Void verified(long id, String name, Result result, long started_at, Supplier<Response> response) {
+
+        try {
+
+            ValidationSpec.expect()
+                    .statusCode(200)
+                    .fieldEquals("id", id)
+                    .fieldEquals("name", name)
+                    .compile()
+                    .validate(response.get())
+                    .assertPassed();
+
+            result.verified.record(started_at);
+
+        } catch (RuntimeException | AssertionError e) {
+
+            result.verified.fail(started_at, "verify " + id + "; " + e.getMessage());
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the response of a completed future; or throws why there is none.
+     */
+    private static Response joined(Response response, Throwable failure) {
+
+        if (failure == null)
+            return response;
+
+        throw failure instanceof CompletionException ? (CompletionException) failure : new CompletionException(failure);
+    }
+
+    private static ExecutorService newPool(String name, int size, BlockingQueue<Runnable> queue) {
+
+        return new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private static void awaitShutdown(ExecutorService pool) {
+
+        pool.shutdown();
+
+        try {
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting on the bulk pet pipeline!", e);
+        }
+    }
+
+    //endregion
+
+    /**
+     * Counts, latency and throughput of one pipeline stage.
+     */
+    public static class Stage {
+
+        private final String name;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong succeeded = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong firstStartedAt = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong lastEndedAt = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicReference<String> firstFailure = new AtomicReference<>();
+
+        private Stage(String name) {
+            this.name = name;
+        }
+
+        private void record(long started_at) {
+            succeeded.incrementAndGet();
+            ended(started_at);
+        }
+
+        private void fail(long started_at, String failure) {
+            failed.incrementAndGet();
+            firstFailure.compareAndSet(null, failure);
+            ended(started_at);
+        }
+
+        private void ended(long started_at) {
+
+            long ended_at = System.nanoTime();
+
+            latency.recordNanos(ended_at - started_at);
+            firstStartedAt.accumulateAndGet(started_at, Math::min);
+            lastEndedAt.accumulateAndGet(ended_at, Math::max);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getSucceeded() {
+            return succeeded.get();
+        }
+
+        public long getFailed() {
+            return failed.get();
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        /**
+         * @return the first failure's message, or null when none failed.
+         */
+        public String getFirstFailure() {
+            return firstFailure.get();
+        }
+
+        /**
+         * @return pets through this stage per second; from its first start to its last end.
+         */
+        public double getThroughput() {
+            long span_nanos = lastEndedAt.get() - firstStartedAt.get();
+            return span_nanos <= 0 ? 0 : (getSucceeded() + getFailed()) / (span_nanos / 1e9);
+        }
+    }
+
+    /**
+     * Counts and per stage throughput of a pipeline run.
+     */
+    public static class Result {
+
+        private final int requested;
+        private final Stage created = new Stage("create");
+        private final Stage verified = new Stage("verify");
+        private volatile long elapsedNanos;
+
+        private Result(int requested) {
+            this.requested = requested;
+        }
+
+        public int getRequested() {
+            return requested;
+        }
+
+        public Stage getCreated() {
+            return created;
+        }
+
+        public Stage getVerified() {
+            return verified;
+        }
+
+        public double getElapsedSeconds() {
+            return elapsedNanos / 1e9;
+        }
+
+        /**
+         * @return true, when every requested pet was created and verified.
+         */
+        public boolean isComplete() {
+            return verified.getSucceeded() == requested;
+        }
+
+        /**
+         * @return one row per stage, under a header row; for {@link HtmlReporter#registerSummary}.
+         */
+        public String[][] toReportTable() {
+
+            String[][] rows = new String[3][];
+
+            rows[0] = new String[]{"stage", "succeeded", "failed", "throughput", "p50", "p99", "max", "first failure"};
+
+            int row = 1;
+
+            for (Stage stage : new Stage[]{created, verified})
+                rows[row++] = new String[]{
+                        stage.getName(),
+                        String.valueOf(stage.getSucceeded()), String.valueOf(stage.getFailed()),
+                        String.format("%.1f/s", stage.getThroughput()),
+                        LatencyHistogram.millis(stage.getLatency().getValueAtPercentile(50)),
+                        LatencyHistogram.millis(stage.getLatency().getValueAtPercentile(99)),
+                        LatencyHistogram.millis(stage.getLatency().getMaxMicros()),
+                        stage.getFirstFailure() == null ? "-" : stage.getFirstFailure()
+                };
+
+            return rows;
+        }
+    }
+
+}
@@ -0,0 +1,195 @@
+package utilities;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Concurrent Fan-Out Utility
+ * <p>
+ * Sends one task per input on a bounded executor, and collects the results back
+ * in the same order as the inputs; so that a breed-to-sub-resource crawl costs
+ * roughly the slowest request, instead of the sum of all requests.
+ * </p>
+ * <p>
+ * Virtual threads are used where the running JDK offers them, otherwise a fixed
+ * thread pool (Java 8) is used. Either way; no more than {@link #getConcurrencyLimit()}
+ * tasks are in flight at once.
+ * </p>
+ * <p>
+ * The limit can be set with the system property <code>fanout.concurrency</code>,
+ * a limit of 1 runs every task on the calling thread; one after another.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class ConcurrentFanOut {
+
+    //region  helper variables
+
+    public static final String CONCURRENCY_LIMIT_PROPERTY = "fanout.concurrency";
+    private static final int DEFAULT_CONCURRENCY_LIMIT = 8;
+
+    private final int concurrencyLimit;
+
+    //endregion
+
+    public ConcurrentFanOut(int concurrency_limit) {
+
+        if (concurrency_limit < 1)
+            throw new IllegalArgumentException("concurrency limit must be at least 1, but was " + concurrency_limit);
+
+        this.concurrencyLimit = concurrency_limit;
+    }
+
+    /**
+     * @return a fan-out, limited by the <code>fanout.concurrency</code> system property (default 8).
+     */
+    public static ConcurrentFanOut withConfiguredLimit() {
+        return new ConcurrentFanOut(Integer.getInteger(CONCURRENCY_LIMIT_PROPERTY, DEFAULT_CONCURRENCY_LIMIT));
+    }
+
+    //region getter
+
+    public int getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    //endregion
+
+    /**
+     * Runs the task against every input, at most {@link #getConcurrencyLimit()} at a time.
+     *
+     * @param inputs, the inputs to fan-out over.
+     * @param task,   the task invoked once per input.
+     * @return the results; in input order, and how long the fan-out took.
+     * @throws RuntimeException or {@link Error} that the first failing task (in input order) threw.
+     */
+    public <T, R> Result<R> map(List<T> inputs, Function<? super T, ? extends R> task) {
+
+        long started_at = System.nanoTime();
+
+        List<R> results = new ArrayList<>(inputs.size());
+
+        if (concurrencyLimit == 1 || inputs.size() <= 1) {
+
+            for (T input : inputs)
+                results.add(task.apply(input));
+
+            return new Result<>(results, System.nanoTime() - started_at);
+        }
+
+        ExecutorService executor = newExecutor(Math.min(concurrencyLimit, inputs.size()));
+
+        Semaphore in_flight = new Semaphore(concurrencyLimit);
+
+        ReportLogger caller_logger = HtmlReporter.currentLogger();
+
+        try {
+
+            List<Future<R>> futures = new ArrayList<>(inputs.size());
+
+            for (T input : inputs)
+                futures.add(executor.submit(() -> {
+
+                    in_flight.acquire();
+
+                    try {
+                        return HtmlReporter.withCurrentLogger(caller_logger, () -> task.apply(input));
+                    } finally {
+                        in_flight.release();
+                    }
+                }));
+
+            for (Future<R> future : futures)
+                results.add(await(future));
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new Result<>(results, System.nanoTime() - started_at);
+    }
+
+    //region helper methods
+
+    private static <R> R await(Future<R> future) {
+
+        try {
+
+            return future.get();
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException("interrupted while waiting on fan-out results!", e);
+
+        } catch (ExecutionException e) {
+
+            Throwable cause = e.getCause();
+
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+
+            if (cause instanceof Error)
+                throw (Error) cause;
+
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Virtual threads on JDK 21+, looked up reflectively; so that this still compiles and runs on Java 8.
+     */
+    private static ExecutorService newExecutor(int pool_size) {
+
+        try {
+
+            Method virtual_executor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+
+            return (ExecutorService) virtual_executor.invoke(null);
+
+        } catch (ReflectiveOperationException e) {
+
+            return Executors.newFixedThreadPool(pool_size, runnable -> {
+                Thread thread = new Thread(runnable, "fan-out-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    //endregion
+
+    /**
+     * Ordered results of a fan-out, with how long the whole fan-out took.
+     */
+    public static class Result<R> {
+
+        private final List<R> results;
+        private final long elapsedNanos;
+
+        private Result(List<R> results, long elapsed_nanos) {
+            this.results = Collections.unmodifiableList(results);
+            this.elapsedNanos = elapsed_nanos;
+        }
+
+        public List<R> getResults() {
+            return results;
+        }
+
+        public long getElapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Endpoint Timings
+ * <p>
+ * Every {@link RequestTiming} of the run, aggregated per endpoint (method and path template, e.g.
+ * <code>GET breed/{breed}/list</code>); total latency percentiles, and the mean of each phase. And the mean time
+ * tests took to parse the endpoint's responses; of those they parsed, see {@link RequestTiming#parsed}.
+ * </p>
+ * <p>
+ * Rendered as the "request timings" summary of the Html Report, slowest endpoint (by p99) first.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class EndpointTimings {
+
+    //region  helper variables
+
+    private static final EndpointTimings SHARED = new EndpointTimings();
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    //endregion
+
+    /**
+     * @return the timings shared by the whole test run.
+     */
+    public static EndpointTimings shared() {
+        return SHARED;
+    }
+
+    public void record(RequestTiming timing) {
+        endpoints.computeIfAbsent(timing.getEndpoint(), Endpoint::new).record(timing);
+    }
+
+    void recordParse(String endpoint, long parse_nanos) {
+        endpoints.computeIfAbsent(endpoint, Endpoint::new).recordParse(parse_nanos);
+    }
+
+    /**
+     * @return total latencies of the endpoint so far, or null when it has none yet.
+     */
+    public LatencyHistogram getLatency(String endpoint) {
+
+        Endpoint timings = endpoints.get(endpoint);
+
+        return timings == null ? null : timings.latency;
+    }
+
+    /**
+     * @return one row per endpoint, slowest p99 first; under a header row.
+     */
+    public String[][] toReportTable() {
+
+        List<Endpoint> slowest_first = new ArrayList<>(endpoints.values());
+        slowest_first.sort(Comparator.comparingLong((Endpoint endpoint) -> endpoint.latency.getValueAtPercentile(99)).reversed());
+
+        List<String[]> rows = new ArrayList<>();
+
+        List<String> header = new ArrayList<>();
+        header.add("endpoint");
+        header.add("requests");
+        header.add("p50");
+        header.add("p90");
+        header.add("p99");
+        header.add("max");
+        for (RequestTiming.Phase phase : RequestTiming.Phase.values())
+            header.add("mean " + phase.name().toLowerCase().replace('_', ' '));
+        header.add("mean parse");
+        rows.add(header.toArray(new String[0]));
+
+        for (Endpoint endpoint : slowest_first) {
+
+            List<String> row = new ArrayList<>();
+            row.add(endpoint.name);
+            row.add(String.valueOf(endpoint.latency.getCount()));
+            row.add(LatencyHistogram.millis(endpoint.latency.getValueAtPercentile(50)));
+            row.add(LatencyHistogram.millis(endpoint.latency.getValueAtPercentile(90)));
+            row.add(LatencyHistogram.millis(endpoint.latency.getValueAtPercentile(99)));
+            row.add(LatencyHistogram.millis(endpoint.latency.getMaxMicros()));
+            for (RequestTiming.Phase phase : RequestTiming.Phase.values())
+                row.add(String.format("%.2f ms", endpoint.getMeanNanos(phase) / 1e6));
+            row.add(String.format("%.2f ms", endpoint.getMeanParseNanos() / 1e6));
+            rows.add(row.toArray(new String[0]));
+        }
+
+        return rows.toArray(new String[0][]);
+    }
+
+    /**
+     * Timings of one endpoint.
+     */
+    private static class Endpoint {
+
+        private final String name;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder[] phaseNanos = new LongAdder[RequestTiming.Phase.values().length];
+        private final LongAdder parseNanos = new LongAdder();
+        private final LongAdder parsed = new LongAdder();
+
+        private Endpoint(String name) {
+
+            this.name = name;
+
+            for (int i = 0; i < phaseNanos.length; i++)
+                phaseNanos[i] = new LongAdder();
+        }
+
+        private void record(RequestTiming timing) {
+
+            latency.recordNanos(timing.getTotalNanos());
+
+            for (RequestTiming.Phase phase : RequestTiming.Phase.values())
+                phaseNanos[phase.ordinal()].add(timing.getNanos(phase));
+        }
+
+        private void recordParse(long parse_nanos) {
+            parseNanos.add(parse_nanos);
+            parsed.increment();
+        }
+
+        /**
+         * @return mean of the responses parsed; not of every request, as not every response is.
+         */
+        private double getMeanParseNanos() {
+            long count = parsed.sum();
+            return count == 0 ? 0 : (double) parseNanos.sum() / count;
+        }
+
+        private double getMeanNanos(RequestTiming.Phase phase) {
+            long count = latency.getCount();
+            return count == 0 ? 0 : (double) phaseNanos[phase.ordinal()].sum() / count;
+        }
+    }
+
+}
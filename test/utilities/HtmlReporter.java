@@ -2,44 +2,199 @@ package utilities;
 
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 import com.aventstack.extentreports.reporter.ExtentHtmlReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
 
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
 /**
  * Html Reporting Utility
+ * <p>
+ * Every test class gets its own HtmlReporter, but they all write to one process-wide
+ * {@link ExtentReports} instance; so that a suite run produces a single report,
+ * <code>./test_reports/&lt;report.title&gt;_report.html</code> (default <code>ApiTestSuite</code>).
+ * </p>
+ * <p>
+ * Loggers are held per thread, so test methods or classes running in parallel
+ * each log to their own test case, and never to another's. Every http request is also logged, with its
+ * {@link RequestTiming}; to the test case of the thread that sent it.
+ * </p>
+ * <p>
+ * Log lines are not written on the test thread; they are queued on to the shared
+ * {@link AsyncReportWriter}, which writes them in batches and flushes the report to disk as the run goes.
+ * Test cases are created and removed holding the shared report's lock, as the writer logs and flushes.
+ * </p>
+ * <p>
+ * Run-wide figures, e.g. http connection reuse; are registered once with {@link #registerSummary(String, Supplier)},
+ * and rendered as a table, in a "Summary" test case of their own; on every {@link #publishTestReport()}.
+ * </p>
+ * <p>
+ * Every test case, log line, request and summary is also appended to a compact {@link ResultLog},
+ * <code>..._results.log</code>; which {@link ReportMerger} renders into an Html Report, once, after the run.
+ * On a sharded run (see {@link Shard}), each shard's files are named for it, e.g. <code>ApiTestSuite_shard-1-of-4_results.log</code>;
+ * and the merger merges every shard's log into one report.
+ * </p>
+ * <p>
+ * A long run, e.g. the {@link SyntheticMonitor}'s; keeps only the latest run of each test case, with <code>report.keep=latest</code>
+ * (default all); and no result log, with <code>report.results=false</code>.
+ * </p>
+ * <p>
+ * Every publish also writes the run's {@link MetricsRegistry}, to <code>..._metrics.prom</code>; its assertion
+ * counters being the pass and fail logs, of each test class.
+ * </p>
  *
  * @author Sizwe I. Mkhonza
  * @since 13 November 2020
  */
 public class HtmlReporter {
 
-    private ExtentTest logger;
+    //region  helper variables
+
+    public static final String REPORT_TITLE_PROPERTY = "report.title";
+    public static final String KEEP_PROPERTY = "report.keep";
+    public static final String RESULTS_PROPERTY = "report.results";
+    private static final String DEFAULT_REPORT_TITLE = "ApiTestSuite";
+    static final String DEFAULT_REPORT_FOLDER_PATH = "./test_reports/";
+
+    private static final Map<String, Supplier<String[][]>> summaries = new LinkedHashMap<>();
+    private static final Map<String, ExtentTest> summaryReports = new HashMap<>();
+    private static final Map<String, ExtentTest> latestTestCases = new HashMap<>();
+
+    private static final ThreadLocal<ReportLogger> currentLogger = new ThreadLocal<>();
+
+    private final ThreadLocal<ReportLogger> logger = new ThreadLocal<>();
+
+    private final String category;
+    private final MetricsRegistry.Assertions assertions;
 
-    private final ExtentReports extent = new ExtentReports();
+    //endregion
 
     //region getter and setter
 
     /**
-     * Get an instance for logging to the Html Report.
+     * Get an instance for logging to the Html Report, of the test case running on this thread.
      *
-     * @return ExtentTest logger, instance for logging to the Html Report.
+     * @return ReportLogger logger, instance for logging to the Html Report.
      * @throws NullPointerException when {@link #getLogger()};
-     *                              is invoked, before {@link #createTestCaseReport(String, String)}
+     *                              is invoked, before {@link #createTestCaseReport(String, String)} on this thread
      */
-    public ExtentTest getLogger() throws NullPointerException {
-        if (logger == null)
+    public ReportLogger getLogger() throws NullPointerException {
+        ReportLogger current_logger = logger.get();
+        if (current_logger == null)
             throw new NullPointerException(" getLogger method was not invoked before createTestCaseReport method! ");
         else
-            return logger;
+            return current_logger;
+    }
+
+    private void setLogger(ReportLogger logger) {
+        this.logger.set(logger);
+        currentLogger.set(logger);
     }
 
-    private void setLogger(ExtentTest logger) {
-        this.logger = logger;
+    /**
+     * @return logger of the test case last created on this thread, by any test class; or null, when there is none.
+     */
+    static ReportLogger currentLogger() {
+        return currentLogger.get();
+    }
+
+    /**
+     * Runs the task with the given logger as this thread's current one; e.g. so that requests fanned-out on to
+     * worker threads, still log to the test case that sent them.
+     */
+    static <R> R withCurrentLogger(ReportLogger logger, Supplier<R> task) {
+
+        ReportLogger previous = currentLogger.get();
+
+        currentLogger.set(logger);
+
+        try {
+            return task.get();
+        } finally {
+            currentLogger.set(previous);
+        }
+    }
+
+    /**
+     * @return the report writer, shared by every test class; for its queue, drop and backpressure counters.
+     */
+    public static AsyncReportWriter getReportWriter() {
+        return SharedReport.WRITER;
+    }
+
+    /**
+     * @param suffix, e.g. <code>_report.html</code>.
+     * @return path of a file, next to the Html Report; e.g. <code>./test_reports/ApiTestSuite_load.json</code>.
+     */
+    public static String getReportFilePath(String suffix) {
+
+        Shard shard = Shard.current();
+
+        String shard_name = shard.getCount() == 1 ? "" : "_shard-" + (shard.getIndex() + 1) + "-of-" + shard.getCount();
+
+        return DEFAULT_REPORT_FOLDER_PATH + getReportTitle() + shard_name + suffix;
+    }
+
+    /**
+     * @return <code>report.title</code>, default <code>ApiTestSuite</code>.
+     */
+    public static String getReportTitle() {
+        return System.getProperty(REPORT_TITLE_PROPERTY, DEFAULT_REPORT_TITLE);
     }
 
     //endregion
 
+    /**
+     * Registers a run-wide summary table; re-rendered with its latest rows, on every publish.
+     *
+     * @param title, summary name; registering the same title again, replaces the earlier table.
+     * @param rows,  supplies the table rows; each row being its cells.
+     */
+    public static void registerSummary(String title, Supplier<String[][]> rows) {
+        synchronized (summaries) {
+            summaries.put(title, rows);
+        }
+    }
+
+    /**
+     * @param report_doc_title, name of the test class; its test cases are grouped under this category.
+     */
     public HtmlReporter(String report_doc_title) {
+        this.category = report_doc_title;
+        this.assertions = MetricsRegistry.shared().assertionsOf(report_doc_title);
+    }
+
+    //region shared report
+
+    /**
+     * Lazily created, once per JVM; on first use by any test class, or ahead of it, by the {@link SuiteBootstrap}.
+     */
+    private static final class SharedReport {
+
+        private static final ExtentReports EXTENT = newExtentReports(getReportFilePath("_report.html"), getReportTitle());
+
+        private static final ResultLog RESULTS = Boolean.parseBoolean(System.getProperty(RESULTS_PROPERTY, "true"))
+                ? ResultLog.create(Paths.get(getReportFilePath("_results.log")))
+                : ResultLog.none();
+
+        private static final boolean KEEP_LATEST_ONLY = "latest".equalsIgnoreCase(System.getProperty(KEEP_PROPERTY, "all"));
+
+        private static final AsyncReportWriter WRITER = new AsyncReportWriter(EXTENT, RESULTS);
+    }
+
+    /**
+     * @return a new, empty report; written to the given html file on each flush.
+     */
+    static ExtentReports newExtentReports(String report_file_path, String report_title) {
+
+        ExtentReports extent = new ExtentReports();
 
         // region environment Setup
         extent.setSystemInfo("operating system", System.getProperty("os.name"));
@@ -49,39 +204,121 @@ public class HtmlReporter {
 
         //region initialize report
 
-        String DEFAULT_REPORT_FOLDER_PATH = "./test_reports/";
-        String report_file_path = DEFAULT_REPORT_FOLDER_PATH + report_doc_title + "_report.html";
-
         ExtentHtmlReporter reporter = new ExtentHtmlReporter(report_file_path);
-        reporter.config().setDocumentTitle("Class: " + report_doc_title);
-        reporter.config().setReportName(report_doc_title);
+        reporter.config().setDocumentTitle("Suite: " + report_title);
+        reporter.config().setReportName(report_title);
         reporter.config().setTheme(Theme.DARK);
 
         extent.attachReporter(reporter);
 
         //endregion
+
+        return extent;
     }
 
+    //endregion
+
     //region helper sub-class report method
 
     /**
-     * Must be, invoked once per test case, before an invoke of getLogger method
+     * Must be, invoked once per test case, before an invoke of getLogger method; on the same thread
      *
      * @param test_name,        descriptive test case; name.
      * @param test_description, descriptive test case; description.
      */
     public void createTestCaseReport(String test_name, String test_description) {
-        setLogger(extent.createTest("TestCase: " + test_name, "Description: " + test_description));
+
+        String name = "TestCase: " + test_name;
+        String description = "Description: " + test_description;
+
+        ExtentTest test_case;
+
+        synchronized (SharedReport.EXTENT) {
+            test_case = SharedReport.EXTENT
+                    .createTest(name, description)
+                    .assignCategory(category);
+        }
+
+        if (SharedReport.KEEP_LATEST_ONLY)
+            replaceEarlierRun(test_case);
+
+        int result_id = SharedReport.RESULTS.testCase(test_case.getModel().getStartTime().getTime(), category, name, description);
+
+        setLogger(new ReportLogger(test_case, result_id, SharedReport.WRITER, assertions));
     }
 
 
     /**
-     * will dump all the logger's logs, on to extent reports
+     * will wait for all the logger's queued logs, of every test class so far; and dump them on to extent reports
      */
     public void publishTestReport() {
-        extent.flush();
+
+        renderSummaries();
+
+        SharedReport.WRITER.drain();
+
+        if (SharedReport.WRITER.getDroppedCount() > 0)
+            System.err.printf("html report: %d log line(s) dropped, the report queue was full.%n", SharedReport.WRITER.getDroppedCount());
+
+        try {
+            MetricsRegistry.shared().writeTo(Paths.get(getReportFilePath("_metrics.prom")));
+        } catch (UncheckedIOException e) {
+            System.err.println("html report: " + e.getMessage() + "; " + e.getCause());
+        }
+    }
+
+    /**
+     * Removes the earlier run of the test case, of the same class and name; if any.
+     */
+    private void replaceEarlierRun(ExtentTest test_case) {
+
+        ExtentTest earlier_run;
+
+        synchronized (latestTestCases) {
+            earlier_run = latestTestCases.put(category + "#" + test_case.getModel().getName(), test_case);
+        }
+
+        if (earlier_run != null) {
+            synchronized (SharedReport.EXTENT) {
+                SharedReport.EXTENT.removeTest(earlier_run);
+            }
+        }
+    }
+
+    /**
+     * Replaces each summary test case, with one holding the summary's latest rows.
+     */
+    private static void renderSummaries() {
+
+        synchronized (summaries) {
+
+            for (Map.Entry<String, Supplier<String[][]>> summary : summaries.entrySet()) {
+
+                String[][] rows = summary.getValue().get();
+
+                ExtentTest previous = summaryReports.remove(summary.getKey());
+
+                ExtentTest summary_report;
+
+                synchronized (SharedReport.EXTENT) {
+
+                    if (previous != null)
+                        SharedReport.EXTENT.removeTest(previous);
+
+                    summary_report = SharedReport.EXTENT
+                            .createTest("Summary: " + summary.getKey())
+                            .assignCategory("Summary");
+
+                    summary_report.log(Status.INFO, MarkupHelper.createTable(rows));
+                }
+
+                summaryReports.put(summary.getKey(), summary_report);
+
+                SharedReport.RESULTS.summary(System.currentTimeMillis(), summary.getKey(), rows);
+            }
+        }
     }
 
     //endregion
 
-}
\ No newline at end of file
+}
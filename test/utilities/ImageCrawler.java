@@ -0,0 +1,484 @@
+package utilities;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Image Crawler
+ * <p>
+ * Verifies that image urls (e.g. of <code>breed/{breed}/{sub_breed}/images</code>) resolve to images; each is
+ * downloaded and checked for:
+ * <ul>
+ *     <li>a 200 response, of an <code>image/*</code> content type.</li>
+ *     <li>bytes that are what the content type says; a jpeg, png, gif or webp, by their first bytes.</li>
+ *     <li>a size of at least <code>image.crawl.min.bytes</code> (default 100) and at most <code>image.crawl.max.bytes</code>
+ *     (default 10 MB); and of the content length, when the server declares one.</li>
+ * </ul>
+ * Images are deduplicated by their SHA-256; an image with the same bytes as one crawled earlier in the run (under another url),
+ * is counted as a duplicate.
+ * </p>
+ * <p>
+ * A body is never held whole; it's streamed off the pooled connection (see {@link PooledHttpClient}) through one
+ * 64 KB buffer per thread, into the digest. At most <code>image.crawl.concurrency</code> (default 8) images are downloaded at once.
+ * </p>
+ * <p>
+ * Images crawled, verified, failed and duplicated, with bytes and throughput of the whole run, are reported as an Html Report summary.
+ * Off, unless <code>-Dimage.crawl=true</code>; in stub mode, images are served by the {@link StubServer}.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class ImageCrawler {
+
+    //region  helper variables
+
+    public static final String ENABLED_PROPERTY = "image.crawl";
+    public static final String CONCURRENCY_PROPERTY = "image.crawl.concurrency";
+    public static final String MIN_BYTES_PROPERTY = "image.crawl.min.bytes";
+    public static final String MAX_BYTES_PROPERTY = "image.crawl.max.bytes";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int HEAD_SIZE = 12;
+
+    private static final ThreadLocal<ByteBuffer> buffers = ThreadLocal.withInitial(() -> ByteBuffer.allocate(BUFFER_SIZE));
+    private static final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(ImageCrawler::sha256);
+
+    private static volatile ImageCrawler shared;
+
+    private final ConcurrentFanOut fanOut;
+    private final long minBytes;
+    private final long maxBytes;
+
+    /**
+     * digest of every image crawled, to the url it was first crawled at.
+     */
+    private final ConcurrentMap<String, String> crawled = new ConcurrentHashMap<>();
+
+    private final LongAdder images = new LongAdder();
+    private final LongAdder verified = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final AtomicLong firstStartedAt = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong lastFinishedAt = new AtomicLong(Long.MIN_VALUE);
+
+    //endregion
+
+    public ImageCrawler(int concurrency, long min_bytes, long max_bytes) {
+
+        if (min_bytes < 0 || max_bytes < min_bytes)
+            throw new IllegalArgumentException("image sizes must be 0 <= min <= max, but were " + min_bytes + " and " + max_bytes);
+
+        this.fanOut = new ConcurrentFanOut(concurrency);
+        this.minBytes = min_bytes;
+        this.maxBytes = max_bytes;
+    }
+
+    /**
+     * @return true, when <code>image.crawl</code> is on.
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /**
+     * @return the crawler of this run; so every crawl is deduplicated against, and counted with, every other.
+     */
+    public static ImageCrawler shared() {
+
+        if (shared == null) {
+
+            synchronized (ImageCrawler.class) {
+
+                if (shared == null) {
+
+                    shared = new ImageCrawler(
+                            Integer.getInteger(CONCURRENCY_PROPERTY, 8),
+                            Long.getLong(MIN_BYTES_PROPERTY, 100L),
+                            Long.getLong(MAX_BYTES_PROPERTY, 10L * 1024 * 1024)
+                    );
+
+                    ImageCrawler crawler = shared;
+
+                    HtmlReporter.registerSummary("image crawl", crawler::toReportTable);
+                }
+            }
+        }
+
+        return shared;
+    }
+
+    //region getter
+
+    public int getConcurrencyLimit() {
+        return fanOut.getConcurrencyLimit();
+    }
+
+    //endregion
+
+    /**
+     * Downloads and verifies every image; at most {@link #getConcurrencyLimit()} at once.
+     *
+     * @return every image's outcome, in url order; with the crawl's bytes and throughput.
+     */
+    public Result crawl(List<String> urls) {
+
+        long started_at = System.nanoTime();
+
+        firstStartedAt.accumulateAndGet(started_at, Math::min);
+
+        List<Image> crawled_images = fanOut.map(urls, this::fetch).getResults();
+
+        long finished_at = System.nanoTime();
+
+        lastFinishedAt.accumulateAndGet(finished_at, Math::max);
+
+        return new Result(crawled_images, finished_at - started_at);
+    }
+
+    /**
+     * @return images crawled, verified, failed and duplicated; bytes and throughput, of the whole run.
+     */
+    public String[][] toReportTable() {
+
+        double seconds = Math.max(lastFinishedAt.get() - firstStartedAt.get(), 0) / 1e9;
+
+        return new String[][]{
+                {"images crawled", String.valueOf(images.sum())},
+                {"verified", String.valueOf(verified.sum())},
+                {"failed", String.valueOf(failed.sum())},
+                {"duplicates", String.valueOf(duplicates.sum())},
+                {"downloaded, MB", String.format("%.2f", bytes.sum() / 1e6)},
+                {"crawling, s", String.format("%.2f", seconds)},
+                {"MB/s", seconds == 0 ? "-" : String.format("%.2f", bytes.sum() / 1e6 / seconds)},
+                {"images/s", seconds == 0 ? "-" : String.format("%.1f", images.sum() / seconds)},
+                {"concurrency", String.valueOf(getConcurrencyLimit())}
+        };
+    }
+
+    //region helper methods
+
+    private Image fetch(String url) {
+
+        Image image = download(url);
+
+        images.increment();
+        bytes.add(image.size);
+
+        if (image.failure != null) {
+            failed.increment();
+            return image;
+        }
+
+        verified.increment();
+
+        String first_url = crawled.putIfAbsent(image.digest, url);
+
+        if (first_url != null && !first_url.equals(url)) {
+            duplicates.increment();
+            image.duplicateOf = first_url;
+        }
+
+        return image;
+    }
+
+    private Image download(String url) {
+
+        HttpGet get = new HttpGet(url);
+
+        try {
+
+            HttpResponse response = PooledHttpClient.shared().getHttpClient().execute(get);
+
+            int status_code = response.getStatusLine().getStatusCode();
+            HttpEntity entity = response.getEntity();
+
+            if (status_code != 200)
+                return aborted(get, url, 0, "status " + status_code);
+
+            Header content_type_header = entity == null ? null : entity.getContentType();
+
+            String content_type = content_type_header == null ? "" : content_type_header.getValue().split(";")[0].trim().toLowerCase(Locale.ROOT);
+
+            if (!content_type.startsWith("image/"))
+                return aborted(get, url, 0, "content type " + (content_type.isEmpty() ? "missing" : content_type) + ", not an image");
+
+            long declared = entity.getContentLength();
+
+            if (declared > maxBytes)
+                return aborted(get, url, 0, "declares " + declared + " bytes, above " + maxBytes);
+
+            ByteBuffer buffer = buffers.get();
+            MessageDigest digest = digests.get();
+
+            byte[] head = new byte[HEAD_SIZE];
+            int head_length = 0;
+            long size = 0;
+
+            digest.reset();
+
+            try (ReadableByteChannel body = Channels.newChannel(entity.getContent())) {
+
+                buffer.clear();
+
+                for (int read; (read = body.read(buffer)) != -1; ) {
+
+                    size += read;
+
+                    if (size > maxBytes)
+                        return aborted(get, url, size, "above " + maxBytes + " bytes");
+
+                    buffer.flip();
+
+                    if (head_length < HEAD_SIZE) {
+                        int copied = Math.min(HEAD_SIZE - head_length, buffer.remaining());
+                        System.arraycopy(buffer.array(), buffer.arrayOffset() + buffer.position(), head, head_length, copied);
+                        head_length += copied;
+                    }
+
+                    digest.update(buffer);
+
+                    buffer.clear();
+                }
+            }
+
+            if (declared >= 0 && size != declared)
+                return new Image(url, size, null, "read " + size + " of the " + declared + " bytes declared");
+
+            if (size < minBytes)
+                return new Image(url, size, null, size + " bytes, below " + minBytes);
+
+            String format = formatOf(content_type);
+            String sniffed = sniff(head, head_length);
+
+            if (format != null && !format.equals(sniffed))
+                return new Image(url, size, null, "content type " + content_type + ", but the bytes are " + sniffed);
+
+            return new Image(url, size, toHex(digest.digest()), null);
+
+        } catch (IOException | RuntimeException e) {
+
+            get.abort();
+
+            return new Image(url, 0, null, e.toString());
+
+        } finally {
+
+            get.releaseConnection();
+        }
+    }
+
+    /**
+     * Stops the download, dropping its connection; rather than reading the rest of a body that's already failed.
+     */
+    private static Image aborted(HttpGet get, String url, long size, String failure) {
+
+        get.abort();
+
+        return new Image(url, size, null, failure);
+    }
+
+    /**
+     * @return the image format the first bytes are of; <code>jpeg</code>, <code>png</code>, <code>gif</code>, <code>webp</code>
+     * or <code>unknown</code>.
+     */
+    static String sniff(byte[] head, int length) {
+
+        if (length >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF)
+            return "jpeg";
+
+        if (length >= 4 && (head[0] & 0xFF) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G')
+            return "png";
+
+        if (length >= 4 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8')
+            return "gif";
+
+        if (length >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P')
+            return "webp";
+
+        return "unknown";
+    }
+
+    /**
+     * @return the format of a content type, that {@link #sniff(byte[], int)} tells; or null, for any other (e.g. <code>image/svg+xml</code>).
+     */
+    private static String formatOf(String content_type) {
+
+        switch (content_type) {
+
+            case "image/jpeg":
+            case "image/jpg":
+            case "image/pjpeg":
+                return "jpeg";
+
+            case "image/png":
+                return "png";
+
+            case "image/gif":
+                return "gif";
+
+            case "image/webp":
+                return "webp";
+
+            default:
+                return null;
+        }
+    }
+
+    private static MessageDigest sha256() {
+
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("every jvm has SHA-256!", e);
+        }
+    }
+
+    private static String toHex(byte[] digest) {
+
+        StringBuilder hex = new StringBuilder(digest.length * 2);
+
+        for (byte b : digest)
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+
+        return hex.toString();
+    }
+
+    //endregion
+
+    /**
+     * Outcome of one image.
+     */
+    public static class Image {
+
+        private final String url;
+        private final long size;
+        private final String digest;
+        private final String failure;
+        private String duplicateOf;
+
+        private Image(String url, long size, String digest, String failure) {
+            this.url = url;
+            this.size = size;
+            this.digest = digest;
+            this.failure = failure;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * @return bytes read; of a failed image, as many as were read before it failed.
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * @return hex SHA-256 of the bytes; or null, when the image failed.
+         */
+        public String getDigest() {
+            return digest;
+        }
+
+        /**
+         * @return why the image failed; or null, when it was verified.
+         */
+        public String getFailure() {
+            return failure;
+        }
+
+        /**
+         * @return the url the same bytes were first crawled at; or null, when they were not crawled before.
+         */
+        public String getDuplicateOf() {
+            return duplicateOf;
+        }
+
+        public boolean isVerified() {
+            return failure == null;
+        }
+    }
+
+    /**
+     * Outcomes of one crawl.
+     */
+    public static class Result {
+
+        private final List<Image> images;
+        private final long elapsedNanos;
+
+        private Result(List<Image> images, long elapsed_nanos) {
+            this.images = Collections.unmodifiableList(images);
+            this.elapsedNanos = elapsed_nanos;
+        }
+
+        public List<Image> getImages() {
+            return images;
+        }
+
+        public List<Image> getFailures() {
+
+            List<Image> failures = new ArrayList<>();
+
+            for (Image image : images)
+                if (!image.isVerified())
+                    failures.add(image);
+
+            return failures;
+        }
+
+        public List<Image> getDuplicates() {
+
+            List<Image> duplicates = new ArrayList<>();
+
+            for (Image image : images)
+                if (image.getDuplicateOf() != null)
+                    duplicates.add(image);
+
+            return duplicates;
+        }
+
+        public long getBytes() {
+
+            long total = 0;
+
+            for (Image image : images)
+                total += image.size;
+
+            return total;
+        }
+
+        public double getElapsedSeconds() {
+            return elapsedNanos / 1e9;
+        }
+
+        public double getMegabytesPerSecond() {
+            return elapsedNanos == 0 ? 0 : getBytes() / 1e6 / getElapsedSeconds();
+        }
+
+        public double getImagesPerSecond() {
+            return elapsedNanos == 0 ? 0 : images.size() / getElapsedSeconds();
+        }
+    }
+
+}
@@ -0,0 +1,202 @@
+package utilities;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Streaming JSON Array Search
+ * <p>
+ * Reads a JSON array response, e.g. <code>/pet/findByStatus</code>, token by token;
+ * and for every element only keeps the handful of fields asked for, e.g. <code>name</code> and <code>category.id</code>,
+ * skipping the rest without building them. The search stops reading at the first element that matches,
+ * so neither the whole tree, nor even one whole element is ever built.
+ * </p>
+ * <p>
+ * It reads whatever stream it's given; an {@link ApiClient} response's body is already buffered whole, so for one of
+ * those the saving is the tree (its maps, lists and boxed values), not the body's bytes.
+ * A search of a response's body is timed, as the response's parse (see {@link RequestTiming}).
+ * </p>
+ * <p>
+ * Field values are given to the predicate as: {@link String}, {@link Long} (integral numbers),
+ * {@link Double} (any other number), {@link Boolean} or <code>null</code>.
+ * Fields missing from an element are absent from its map.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class JsonStreamSearch {
+
+    //region  helper variables
+
+    private final Set<String> fieldPaths;
+    private final Set<String> objectPaths = new LinkedHashSet<>();
+
+    //endregion
+
+    private JsonStreamSearch(Set<String> field_paths) {
+
+        this.fieldPaths = field_paths;
+
+        // every parent of a wanted field, e.g. "category" of "category.id"; is descended into.
+        for (String field_path : field_paths)
+            for (int dot = field_path.indexOf('.'); dot > 0; dot = field_path.indexOf('.', dot + 1))
+                objectPaths.add(field_path.substring(0, dot));
+    }
+
+    /**
+     * @param field_paths, dotted paths of the fields the predicate needs; e.g. <code>"name", "category.id"</code>.
+     */
+    public static JsonStreamSearch forFields(String... field_paths) {
+        return new JsonStreamSearch(new LinkedHashSet<>(Arrays.asList(field_paths)));
+    }
+
+    /**
+     * Scans the elements of a top-level JSON array, until one of them matches.
+     *
+     * @param json_array, UTF-8 JSON array; it is read up to the matching element only, and not closed.
+     * @param predicate,  tested against the wanted fields of each element.
+     * @return the match; if any, and how many elements were scanned.
+     */
+    public Result findFirst(InputStream json_array, Predicate<Map<String, Object>> predicate) {
+
+        JsonReader reader = new JsonReader(new InputStreamReader(json_array, StandardCharsets.UTF_8));
+
+        try {
+
+            reader.beginArray();
+
+            int scanned = 0;
+
+            while (reader.hasNext()) {
+
+                scanned++;
+
+                if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                    reader.skipValue();
+                    continue;
+                }
+
+                Map<String, Object> fields = new HashMap<>();
+
+                readObject(reader, "", fields);
+
+                if (predicate.test(fields))
+                    return new Result(fields, scanned);
+            }
+
+            return new Result(null, scanned);
+
+        } catch (IOException e) {
+
+            throw new UncheckedIOException("could not stream the json array!", e);
+        }
+    }
+
+    /**
+     * As {@link #findFirst(InputStream, Predicate)}, over the response's body; timed as its parse.
+     */
+    public Result findFirst(Response response, Predicate<Map<String, Object>> predicate) {
+
+        long started_at = System.nanoTime();
+
+        try {
+            return findFirst(response.asInputStream(), predicate);
+        } finally {
+            RequestTiming.parsed(response, System.nanoTime() - started_at);
+        }
+    }
+
+    //region helper methods
+
+    private void readObject(JsonReader reader, String prefix, Map<String, Object> fields) throws IOException {
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+
+            String path = prefix + reader.nextName();
+
+            if (fieldPaths.contains(path) && reader.peek() != JsonToken.BEGIN_OBJECT && reader.peek() != JsonToken.BEGIN_ARRAY)
+                fields.put(path, readScalar(reader));
+            else if (objectPaths.contains(path) && reader.peek() == JsonToken.BEGIN_OBJECT)
+                readObject(reader, path + ".", fields);
+            else
+                reader.skipValue();
+        }
+
+        reader.endObject();
+    }
+
+    /**
+     * @return the next string, boolean or null; or number, as a Long when integral, otherwise a Double.
+     */
+    static Object readScalar(JsonReader reader) throws IOException {
+
+        switch (reader.peek()) {
+
+            case STRING:
+                return reader.nextString();
+
+            case BOOLEAN:
+                return reader.nextBoolean();
+
+            case NULL:
+                reader.nextNull();
+                return null;
+
+            default:
+                String number = reader.nextString();
+                try {
+                    return Long.parseLong(number);
+                } catch (NumberFormatException e) {
+                    return Double.parseDouble(number);
+                }
+        }
+    }
+
+    //endregion
+
+    /**
+     * Outcome of a search; the wanted fields of the matching element, and how many elements were read.
+     */
+    public static class Result {
+
+        private final Map<String, Object> match;
+        private final int scannedCount;
+
+        private Result(Map<String, Object> match, int scanned_count) {
+            this.match = match == null ? null : Collections.unmodifiableMap(match);
+            this.scannedCount = scanned_count;
+        }
+
+        public boolean isFound() {
+            return match != null;
+        }
+
+        /**
+         * @return wanted fields of the matching element, or <code>null</code> when nothing matched.
+         */
+        public Map<String, Object> getMatch() {
+            return match;
+        }
+
+        public int getScannedCount() {
+            return scannedCount;
+        }
+    }
+
+}
@@ -0,0 +1,168 @@
+package utilities;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency Histogram
+ * <p>
+ * HdrHistogram-style, log-linear buckets of microseconds: every power of two is split into 64 linear
+ * sub-buckets, so any recorded value is kept to within ~1.6% of itself, from 1 µs up to hours;
+ * in a fixed 3.7k counters, no matter how many values are recorded.
+ * </p>
+ * <p>
+ * Recording is lock-free (one atomic increment); so many request threads can record into one histogram
+ * without contending on a lock. Histograms can be merged, e.g. per-shard or per-window ones into a total.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class LatencyHistogram {
+
+    //region  helper variables
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT * 2;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT * (63 - SUB_BUCKET_BITS) + LINEAR_LIMIT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    //endregion
+
+    //region recording
+
+    public void recordNanos(long nanos) {
+        recordMicros(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public void recordMicros(long micros) {
+
+        long value = Math.max(micros, 0);
+
+        counts.incrementAndGet(indexOf(value));
+        totalCount.incrementAndGet();
+        totalMicros.addAndGet(value);
+        maxMicros.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Adds every value recorded in the other histogram, to this one.
+     */
+    public void add(LatencyHistogram other) {
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+
+            long count = other.counts.get(i);
+
+            if (count != 0)
+                counts.addAndGet(i, count);
+        }
+
+        totalCount.addAndGet(other.totalCount.get());
+        totalMicros.addAndGet(other.totalMicros.get());
+        maxMicros.accumulateAndGet(other.maxMicros.get(), Math::max);
+    }
+
+    /**
+     * Forgets every recorded value; values recorded while resetting may or may not be kept.
+     */
+    public void reset() {
+
+        for (int i = 0; i < BUCKET_COUNT; i++)
+            counts.set(i, 0);
+
+        totalCount.set(0);
+        totalMicros.set(0);
+        maxMicros.set(0);
+    }
+
+    //endregion
+
+    //region getters
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    public double getMeanMicros() {
+        long count = totalCount.get();
+        return count == 0 ? 0 : (double) totalMicros.get() / count;
+    }
+
+    /**
+     * @param percentile, 0 to 100; e.g. 99.9 for p999.
+     * @return the value, in µs; that the given percent of recorded values are at, or below. 0 when empty.
+     */
+    public long getValueAtPercentile(double percentile) {
+
+        long count = totalCount.get();
+
+        if (count == 0)
+            return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+
+        long seen = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+
+            seen += counts.get(i);
+
+            if (seen >= rank)
+                return Math.min(highestValueAt(i), maxMicros.get());
+        }
+
+        return maxMicros.get();
+    }
+
+    //endregion
+
+    /**
+     * @return e.g. <code>p50=1.20 ms p99=9.80 ms p999=14.1 ms max=15.0 ms (n=1200)</code>
+     */
+    public String summary() {
+        return String.format("p50=%s p99=%s p999=%s max=%s (n=%d)",
+                millis(getValueAtPercentile(50)), millis(getValueAtPercentile(99)),
+                millis(getValueAtPercentile(99.9)), millis(getMaxMicros()), getCount());
+    }
+
+    public static String millis(long micros) {
+        return String.format("%.2f ms", micros / 1000.0);
+    }
+
+    //region helper methods
+
+    private static int indexOf(long value) {
+
+        if (value < LINEAR_LIMIT)
+            return (int) value;
+
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+
+        return SUB_BUCKET_COUNT * shift + (int) (value >>> shift);
+    }
+
+    private static long highestValueAt(int index) {
+
+        if (index < LINEAR_LIMIT)
+            return index;
+
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long sub_bucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+
+        return ((sub_bucket + 1) << shift) - 1;
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,375 @@
+package utilities;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load Generator
+ * <p>
+ * Drives one scenario (a probe that throws when the scenario fails) for a fixed duration, either:
+ * <ul>
+ *     <li>open model, <code>-Dload.rate=&lt;per second&gt;</code> (default 20); scenarios start on a fixed schedule,
+ *     whether or not earlier ones have finished, as real users would arrive. Latency is measured from when a
+ *     scenario was due to start, not from when a thread got round to it; so a stalled server shows up as
+ *     latency, instead of quietly lowering the arrival rate (coordinated omission).</li>
+ *     <li>closed model, <code>-Dload.concurrency=&lt;workers&gt;</code>; that many workers, each starting its
+ *     next scenario as soon as its last one finished.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Runs last <code>-Dload.duration.seconds</code> (default 10). In the open model, at most
+ * <code>-Dload.max.in.flight</code> (default 256) scenarios run at once; arrivals beyond that are counted as missed.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class LoadGenerator {
+
+    //region  helper variables
+
+    public static final String RATE_PROPERTY = "load.rate";
+    public static final String CONCURRENCY_PROPERTY = "load.concurrency";
+    public static final String DURATION_SECONDS_PROPERTY = "load.duration.seconds";
+    public static final String MAX_IN_FLIGHT_PROPERTY = "load.max.in.flight";
+
+    private static final int DEFAULT_RATE = 20;
+    private static final int DEFAULT_DURATION_SECONDS = 10;
+    private static final int DEFAULT_MAX_IN_FLIGHT = 256;
+
+    private final int ratePerSecond;
+    private final int concurrency;
+    private final long durationNanos;
+    private final int maxInFlight;
+
+    //endregion
+
+    /**
+     * @param rate_per_second, open model arrival rate; ignored when concurrency is above 0.
+     * @param concurrency,     closed model worker count; 0 for the open model.
+     * @param duration_seconds, how long to run each scenario for.
+     * @param max_in_flight,   open model cap on concurrently running scenarios.
+     */
+    public LoadGenerator(int rate_per_second, int concurrency, int duration_seconds, int max_in_flight) {
+
+        if (concurrency < 1 && rate_per_second < 1)
+            throw new IllegalArgumentException("either a rate or a concurrency of at least 1 is needed, but was " + rate_per_second + " / " + concurrency);
+
+        if (duration_seconds < 1 || max_in_flight < 1)
+            throw new IllegalArgumentException("duration and max in flight must be at least 1, but were " + duration_seconds + " / " + max_in_flight);
+
+        this.ratePerSecond = rate_per_second;
+        this.concurrency = Math.max(concurrency, 0);
+        this.durationNanos = TimeUnit.SECONDS.toNanos(duration_seconds);
+        this.maxInFlight = max_in_flight;
+    }
+
+    /**
+     * @return a generator, set up from the <code>load.*</code> system properties.
+     */
+    public static LoadGenerator configured() {
+        return new LoadGenerator(
+                Integer.getInteger(RATE_PROPERTY, DEFAULT_RATE),
+                Integer.getInteger(CONCURRENCY_PROPERTY, 0),
+                Integer.getInteger(DURATION_SECONDS_PROPERTY, DEFAULT_DURATION_SECONDS),
+                Integer.getInteger(MAX_IN_FLIGHT_PROPERTY, DEFAULT_MAX_IN_FLIGHT)
+        );
+    }
+
+    //region getter
+
+    /**
+     * @return e.g. <code>open model, 20/s</code> or <code>closed model, 4 workers</code>.
+     */
+    public String getModel() {
+        return concurrency > 0
+                ? String.format("closed model, %d workers", concurrency)
+                : String.format("open model, %d/s", ratePerSecond);
+    }
+
+    //endregion
+
+    /**
+     * Runs the probe over and over, for the configured duration; blocking until every started run has finished.
+     *
+     * @param scenario, name the result is reported under.
+     * @param probe,    one run of the scenario; a thrown exception (or {@link AssertionError}) counts as a failure.
+     */
+    public Result run(String scenario, Runnable probe) {
+
+        Result result = new Result(scenario, getModel());
+
+        long started_at = System.nanoTime();
+
+        if (concurrency > 0)
+            runClosed(probe, result, started_at);
+        else
+            runOpen(probe, result, started_at);
+
+        result.elapsedNanos = System.nanoTime() - started_at;
+
+        return result;
+    }
+
+    /**
+     * @return one row per result, under a header row; for {@link HtmlReporter#registerSummary}.
+     */
+    public static String[][] toReportTable(List<Result> results) {
+
+        String[][] rows = new String[results.size() + 1][];
+
+        rows[0] = new String[]{"scenario", "model", "succeeded", "failed", "missed", "throughput", "p50", "p99", "p999", "max"};
+
+        for (int i = 0; i < results.size(); i++) {
+
+            Result result = results.get(i);
+            LatencyHistogram latency = result.getLatency();
+
+            rows[i + 1] = new String[]{
+                    result.getScenario(), result.getModel(),
+                    String.valueOf(result.getSucceeded()), String.valueOf(result.getFailed()), String.valueOf(result.getMissed()),
+                    String.format("%.1f/s", result.getThroughput()),
+                    LatencyHistogram.millis(latency.getValueAtPercentile(50)),
+                    LatencyHistogram.millis(latency.getValueAtPercentile(99)),
+                    LatencyHistogram.millis(latency.getValueAtPercentile(99.9)),
+                    LatencyHistogram.millis(latency.getMaxMicros())
+            };
+        }
+
+        return rows;
+    }
+
+    /**
+     * Writes the results as json; latencies in microseconds.
+     */
+    public static void writeReport(List<Result> results, Path file) {
+
+        JsonArray scenarios = new JsonArray();
+
+        for (Result result : results) {
+
+            LatencyHistogram latency = result.getLatency();
+
+            JsonObject latency_micros = new JsonObject();
+            latency_micros.addProperty("p50", latency.getValueAtPercentile(50));
+            latency_micros.addProperty("p90", latency.getValueAtPercentile(90));
+            latency_micros.addProperty("p99", latency.getValueAtPercentile(99));
+            latency_micros.addProperty("p999", latency.getValueAtPercentile(99.9));
+            latency_micros.addProperty("max", latency.getMaxMicros());
+            latency_micros.addProperty("mean", latency.getMeanMicros());
+
+            JsonObject scenario = new JsonObject();
+            scenario.addProperty("scenario", result.getScenario());
+            scenario.addProperty("model", result.getModel());
+            scenario.addProperty("elapsed_seconds", result.getElapsedSeconds());
+            scenario.addProperty("succeeded", result.getSucceeded());
+            scenario.addProperty("failed", result.getFailed());
+            scenario.addProperty("missed", result.getMissed());
+            scenario.addProperty("throughput_per_second", result.getThroughput());
+            scenario.addProperty("first_failure", result.getFirstFailure());
+            scenario.add("latency_micros", latency_micros);
+
+            scenarios.add(scenario);
+        }
+
+        try {
+
+            if (file.getParent() != null)
+                Files.createDirectories(file.getParent());
+
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                new GsonBuilder().setPrettyPrinting().serializeNulls().create().toJson(scenarios, writer);
+            }
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not write load report " + file, e);
+        }
+    }
+
+    //region helper methods
+
+    private void runOpen(Runnable probe, Result result, long started_at) {
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                0, maxInFlight, 30, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "load-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long interval_nanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+
+        try {
+
+            for (long arrival = 0; ; arrival++) {
+
+                long due_at = started_at + arrival * interval_nanos;
+
+                if (due_at - started_at >= durationNanos)
+                    break;
+
+                for (long wait = due_at - System.nanoTime(); wait > 0; wait = due_at - System.nanoTime())
+                    LockSupport.parkNanos(wait);
+
+                try {
+                    executor.execute(() -> probeOnce(probe, result, due_at));
+                } catch (RejectedExecutionException e) {
+                    result.missed.incrementAndGet();
+                }
+            }
+
+        } finally {
+            awaitShutdown(executor);
+        }
+    }
+
+    private void runClosed(Runnable probe, Result result, long started_at) {
+
+        Thread[] workers = new Thread[concurrency];
+
+        for (int i = 0; i < concurrency; i++) {
+
+            workers[i] = new Thread(() -> {
+                while (System.nanoTime() - started_at < durationNanos)
+                    probeOnce(probe, result, System.nanoTime());
+            }, "load-worker-" + i);
+
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while waiting on load workers!", e);
+            }
+        }
+    }
+
+    private static void probeOnce(Runnable probe, Result result, long due_at) {
+
+        try {
+
+            // every probe is sent; a load that shares its requests, is not the load it says it is.
+            RequestCoalescer.uncoalesced(probe);
+
+            result.succeeded.incrementAndGet();
+
+        } catch (RuntimeException | AssertionError e) {
+
+            result.failed.incrementAndGet();
+
+            result.firstFailure.compareAndSet(null, e.toString());
+
+        } finally {
+            result.latency.recordNanos(System.nanoTime() - due_at);
+        }
+    }
+
+    private static void awaitShutdown(ThreadPoolExecutor executor) {
+
+        executor.shutdown();
+
+        try {
+            if (!executor.awaitTermination(2, TimeUnit.MINUTES))
+                throw new IllegalStateException("load scenarios still running, 2 minutes after the run ended!");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting on load scenarios!", e);
+        }
+    }
+
+    //endregion
+
+    /**
+     * Counts, latency and throughput of one scenario's run.
+     */
+    public static class Result {
+
+        private final String scenario;
+        private final String model;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong succeeded = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong missed = new AtomicLong();
+        private final AtomicReference<String> firstFailure = new AtomicReference<>();
+        private volatile long elapsedNanos;
+
+        private Result(String scenario, String model) {
+            this.scenario = scenario;
+            this.model = model;
+        }
+
+        public String getScenario() {
+            return scenario;
+        }
+
+        public String getModel() {
+            return model;
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getSucceeded() {
+            return succeeded.get();
+        }
+
+        public long getFailed() {
+            return failed.get();
+        }
+
+        /**
+         * @return open model arrivals that were never started, as the most allowed in flight were already running.
+         */
+        public long getMissed() {
+            return missed.get();
+        }
+
+        /**
+         * @return the first failure's exception, or null when none failed.
+         */
+        public String getFirstFailure() {
+            return firstFailure.get();
+        }
+
+        public double getElapsedSeconds() {
+            return elapsedNanos / 1e9;
+        }
+
+        /**
+         * @return completed (succeeded and failed) scenarios per second.
+         */
+        public double getThroughput() {
+            double seconds = getElapsedSeconds();
+            return seconds == 0 ? 0 : (getSucceeded() + getFailed()) / seconds;
+        }
+
+        /**
+         * @return failed and missed, out of every scheduled scenario; 0 to 1.
+         */
+        public double getErrorRate() {
+            long total = getSucceeded() + getFailed() + getMissed();
+            return total == 0 ? 0 : (double) (getFailed() + getMissed()) / total;
+        }
+    }
+
+}
@@ -0,0 +1,345 @@
+package utilities;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics Registry
+ * <p>
+ * Run metrics, for time series of latency and error rate; exposed as OpenMetrics text:
+ * <ul>
+ *     <li><code>api_requests_total{method, endpoint, status}</code>; every http request, by endpoint template
+ *     (e.g. <code>breed/{breed}/images</code>) and response status; <code>error</code> when there was no response.</li>
+ *     <li><code>api_request_duration_seconds{method, endpoint}</code>; a histogram of their total latency.</li>
+ *     <li><code>api_assertions_total{suite, outcome}</code>; every logged pass and fail, by test class.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Recording is lock-free; a map lookup of the endpoint's series, then {@link LongAdder} increments, which
+ * parallel request threads don't contend on. Series are only created, once each, for a new endpoint or status.
+ * </p>
+ * <p>
+ * Written, on every {@link HtmlReporter#publishTestReport()}, to <code>./test_reports/&lt;report.title&gt;_metrics.prom</code>;
+ * replaced whole, so e.g. node exporter's textfile collector never reads it half written. With <code>metrics.port</code>
+ * set (0 for any free port), also served for scraping, at <code>http://127.0.0.1:&lt;port&gt;/metrics</code>; for as long as the run lasts.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class MetricsRegistry {
+
+    //region  helper variables
+
+    public static final String PORT_PROPERTY = "metrics.port";
+
+    static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    /**
+     * Upper bounds, of the latency histogram's buckets; in seconds.
+     */
+    private static final double[] BUCKET_SECONDS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+    private static final long[] BUCKET_NANOS = new long[BUCKET_SECONDS.length];
+
+    static {
+        for (int i = 0; i < BUCKET_SECONDS.length; i++)
+            BUCKET_NANOS[i] = Math.round(BUCKET_SECONDS[i] * 1e9);
+    }
+
+    private static volatile MetricsRegistry shared;
+
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Assertions> assertions = new ConcurrentHashMap<>();
+
+    private HttpServer server;
+
+    //endregion
+
+    MetricsRegistry() {
+    }
+
+    /**
+     * @return the registry of this run; its scrape endpoint started on first use, when <code>metrics.port</code> is set.
+     */
+    public static MetricsRegistry shared() {
+
+        if (shared == null) {
+
+            synchronized (MetricsRegistry.class) {
+
+                if (shared == null) {
+
+                    MetricsRegistry registry = new MetricsRegistry();
+
+                    Integer port = Integer.getInteger(PORT_PROPERTY);
+
+                    if (port != null)
+                        registry.serve(port);
+
+                    shared = registry;
+                }
+            }
+        }
+
+        return shared;
+    }
+
+    //region recording
+
+    public void recordRequest(RequestTiming timing) {
+        endpointOf(timing.getEndpoint()).record(timing.getStatusCode(), timing.getTotalNanos());
+    }
+
+    /**
+     * @param suite, the test class; e.g. <code>TestDogApi</code>.
+     * @return the suite's assertion counters; hold on to them, to count without a lookup.
+     */
+    public Assertions assertionsOf(String suite) {
+
+        Assertions suite_assertions = assertions.get(suite);
+
+        // Java 8's computeIfAbsent locks the key's bin, even when the key is there; so only call it when it's not.
+        return suite_assertions != null ? suite_assertions : assertions.computeIfAbsent(suite, Assertions::new);
+    }
+
+    //endregion
+
+    //region exposition
+
+    /**
+     * @return every series, as OpenMetrics text; ending in <code># EOF</code>.
+     */
+    public String toOpenMetrics() {
+
+        StringBuilder text = new StringBuilder(4096);
+
+        Map<String, Endpoint> sorted_endpoints = new TreeMap<>(endpoints);
+
+        text.append("# TYPE api_requests counter\n");
+        text.append("# HELP api_requests Http requests sent, by endpoint template and response status.\n");
+
+        for (Endpoint endpoint : sorted_endpoints.values())
+            for (Map.Entry<String, LongAdder> status : new TreeMap<>(endpoint.statuses).entrySet())
+                text.append("api_requests_total{").append(endpoint.labels).append(",status=\"").append(status.getKey()).append("\"} ")
+                        .append(status.getValue().sum()).append('\n');
+
+        text.append("# TYPE api_request_duration_seconds histogram\n");
+        text.append("# UNIT api_request_duration_seconds seconds\n");
+        text.append("# HELP api_request_duration_seconds Total latency of http requests, by endpoint template.\n");
+
+        for (Endpoint endpoint : sorted_endpoints.values()) {
+
+            long cumulative = 0;
+
+            for (int i = 0; i < BUCKET_SECONDS.length; i++) {
+                cumulative += endpoint.buckets[i].sum();
+                text.append("api_request_duration_seconds_bucket{").append(endpoint.labels).append(",le=\"").append(BUCKET_SECONDS[i]).append("\"} ")
+                        .append(cumulative).append('\n');
+            }
+
+            // count last; so that under concurrent recording, +Inf is never below a finite bucket, nor the count below +Inf.
+            long count = Math.max(cumulative + endpoint.buckets[BUCKET_SECONDS.length].sum(), endpoint.count.sum());
+
+            text.append("api_request_duration_seconds_bucket{").append(endpoint.labels).append(",le=\"+Inf\"} ").append(count).append('\n');
+            text.append("api_request_duration_seconds_sum{").append(endpoint.labels).append("} ").append(endpoint.totalNanos.sum() / 1e9).append('\n');
+            text.append("api_request_duration_seconds_count{").append(endpoint.labels).append("} ").append(count).append('\n');
+        }
+
+        text.append("# TYPE api_assertions counter\n");
+        text.append("# HELP api_assertions Assertions logged to the Html Report, by test class and outcome.\n");
+
+        for (Assertions suite : new TreeMap<>(assertions).values()) {
+            text.append("api_assertions_total{suite=\"").append(escape(suite.suite)).append("\",outcome=\"pass\"} ").append(suite.passed.sum()).append('\n');
+            text.append("api_assertions_total{suite=\"").append(escape(suite.suite)).append("\",outcome=\"fail\"} ").append(suite.failed.sum()).append('\n');
+        }
+
+        text.append("# TYPE api_metrics_written_timestamp_seconds gauge\n");
+        text.append("# HELP api_metrics_written_timestamp_seconds When these metrics were written; for telling a stale run.\n");
+        text.append("api_metrics_written_timestamp_seconds ").append(String.format("%.3f", System.currentTimeMillis() / 1000.0)).append('\n');
+
+        text.append("# EOF\n");
+
+        return text.toString();
+    }
+
+    /**
+     * Replaces the file whole, with the current metrics.
+     */
+    public void writeTo(Path file) {
+
+        Path partial = Paths.get(file + ".partial");
+
+        try {
+
+            if (file.getParent() != null)
+                Files.createDirectories(file.getParent());
+
+            Files.write(partial, toOpenMetrics().getBytes(StandardCharsets.UTF_8));
+
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not write the metrics to " + file, e);
+        }
+    }
+
+    /**
+     * @return e.g. <code>http://127.0.0.1:9464/metrics</code>; or null, when the metrics are not served.
+     */
+    public String getScrapeUrl() {
+        return server == null ? null : "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/metrics";
+    }
+
+    //endregion
+
+    //region helper methods
+
+    private Endpoint endpointOf(String endpoint) {
+
+        Endpoint series = endpoints.get(endpoint);
+
+        return series != null ? series : endpoints.computeIfAbsent(endpoint, Endpoint::new);
+    }
+
+    private void serve(int port) {
+
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 16);
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not serve the metrics on port " + port, e);
+        }
+
+        // the server's default executor is its dispatcher thread; a scrape is cheap enough to answer on it.
+        server.createContext("/metrics", this::scrape);
+
+        // the dispatcher thread is a daemon, as the thread starting it is; so it never keeps a finished run's JVM alive.
+        Thread starter = new Thread(server::start, "metrics-server-start");
+        starter.setDaemon(true);
+        starter.start();
+
+        try {
+            starter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted, while starting the metrics server!", e);
+        }
+
+        System.out.println("metrics: scrape " + getScrapeUrl());
+    }
+
+    private void scrape(HttpExchange exchange) throws IOException {
+
+        try {
+
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = toOpenMetrics().getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Escapes a label value; backslash, double quote and line feed.
+     */
+    static String escape(String label_value) {
+        return label_value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    //endregion
+
+    /**
+     * Series of one endpoint; e.g. <code>GET pet/{petId}</code>.
+     */
+    private static class Endpoint {
+
+        private final String labels;
+        private final ConcurrentMap<String, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder[] buckets = new LongAdder[BUCKET_SECONDS.length + 1];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        private Endpoint(String endpoint) {
+
+            int space = endpoint.indexOf(' ');
+
+            String method = space < 0 ? "" : endpoint.substring(0, space);
+            String path = endpoint.substring(space + 1);
+
+            this.labels = "method=\"" + escape(method) + "\",endpoint=\"" + escape(path) + "\"";
+
+            for (int i = 0; i < buckets.length; i++)
+                buckets[i] = new LongAdder();
+        }
+
+        private void record(int status_code, long total_nanos) {
+
+            String status = status_code == 0 ? "error" : String.valueOf(status_code);
+
+            LongAdder requests = statuses.get(status);
+
+            if (requests == null)
+                requests = statuses.computeIfAbsent(status, added -> new LongAdder());
+
+            requests.increment();
+
+            int bucket = 0;
+
+            while (bucket < BUCKET_NANOS.length && total_nanos > BUCKET_NANOS[bucket])
+                bucket++;
+
+            buckets[bucket].increment();
+            totalNanos.add(total_nanos);
+            count.increment();
+        }
+    }
+
+    /**
+     * Assertion counters, of one test class.
+     */
+    public static class Assertions {
+
+        private final String suite;
+        private final LongAdder passed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        private Assertions(String suite) {
+            this.suite = suite;
+        }
+
+        public void passed() {
+            passed.increment();
+        }
+
+        public void failed() {
+            failed.increment();
+        }
+    }
+
+}
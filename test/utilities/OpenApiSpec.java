@@ -0,0 +1,405 @@
+package utilities;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * OpenApi Spec
+ * <p>
+ * A Swagger 2.0 spec, read from a local copy (e.g. <code>./test_data/petstore_swagger.json</code>, of
+ * <code>https://petstore.swagger.io/v2/swagger.json</code>); its operations, each with its parameters and documented
+ * responses. Loaded once per run, per file.
+ * </p>
+ * <p>
+ * A response's schema is compiled into a {@link SchemaValidator} the first time it's validated against, and cached for
+ * the rest of the run; keyed by the schema itself, so operations sharing a schema share its validator. A <code>$ref</code>
+ * is compiled once per definition; so e.g. every operation returning a Pet, or an array of them, checks it with the one Pet validator.
+ * Validators are thread safe; operations may be checked in parallel.
+ * </p>
+ * <p>
+ * {@link #sampleOf(JsonObject)} builds a value of a schema, for request parameters and bodies; so every operation can be
+ * called without hand written fixtures.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class OpenApiSpec {
+
+    //region  helper variables
+
+    private static final String DEFINITIONS_PREFIX = "#/definitions/";
+
+    private static final ConcurrentMap<Path, OpenApiSpec> loaded = new ConcurrentHashMap<>();
+
+    private final Path path;
+    private final String title;
+    private final JsonObject definitions;
+    private final List<Operation> operations;
+
+    private final ConcurrentMap<String, SchemaValidator> validators = new ConcurrentHashMap<>();
+
+    private final LongAdder compiled = new LongAdder();
+    private final LongAdder compileNanos = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder validated = new LongAdder();
+    private final LongAdder validateNanos = new LongAdder();
+    private final LongAdder violations = new LongAdder();
+
+    //endregion
+
+    private OpenApiSpec(Path path, JsonObject spec) {
+
+        this.path = path;
+        this.title = spec.has("info") ? spec.getAsJsonObject("info").get("title").getAsString() : path.getFileName().toString();
+        this.definitions = spec.has("definitions") ? spec.getAsJsonObject("definitions") : new JsonObject();
+
+        List<Operation> spec_operations = new ArrayList<>();
+
+        for (Map.Entry<String, JsonElement> spec_path : spec.getAsJsonObject("paths").entrySet())
+            for (Map.Entry<String, JsonElement> method : spec_path.getValue().getAsJsonObject().entrySet())
+                if (!"parameters".equals(method.getKey()))
+                    spec_operations.add(new Operation(method.getKey().toUpperCase(Locale.ROOT), spec_path.getKey(), method.getValue().getAsJsonObject()));
+
+        this.operations = Collections.unmodifiableList(spec_operations);
+    }
+
+    /**
+     * @param path, of a Swagger 2.0 spec, in json.
+     * @return the spec; read on the first call for the file, and the same one on every call after.
+     * @throws UncheckedIOException when the file can't be read.
+     */
+    public static OpenApiSpec load(String path) {
+
+        Path spec_path = Paths.get(path).toAbsolutePath().normalize();
+
+        OpenApiSpec spec = loaded.get(spec_path);
+
+        return spec != null ? spec : loaded.computeIfAbsent(spec_path, OpenApiSpec::read);
+    }
+
+    //region getters
+
+    public Path getPath() {
+        return path;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * @return every operation, in spec order.
+     */
+    public List<Operation> getOperations() {
+        return operations;
+    }
+
+    /**
+     * @throws IllegalArgumentException when the spec has no such operation.
+     */
+    public Operation getOperation(String operation_id) {
+
+        for (Operation operation : operations)
+            if (operation.getOperationId().equals(operation_id))
+                return operation;
+
+        throw new IllegalArgumentException("no operation " + operation_id + " in " + path);
+    }
+
+    //endregion
+
+    /**
+     * @return the schema's validator; compiled on first use, and cached for the rest of the run.
+     */
+    public SchemaValidator validatorOf(JsonObject schema) {
+
+        String key = schema.toString();
+
+        SchemaValidator validator = validators.get(key);
+
+        if (validator != null) {
+            cacheHits.increment();
+            return validator;
+        }
+
+        return validators.computeIfAbsent(key, added -> compile(schema));
+    }
+
+    /**
+     * @param schema, a schema; or a non-body parameter, which is described the same way.
+     * @return a valid value of the schema; its enum's first value, unique strings, zero for numbers (so the server
+     * assigns ids), one item per array and every property of an object. Null for a file.
+     */
+    public JsonElement sampleOf(JsonObject schema) {
+
+        if (schema.has("$ref"))
+            return sampleOf(definitionOf(schema.get("$ref").getAsString()));
+
+        if (schema.has("enum"))
+            return schema.getAsJsonArray("enum").get(0);
+
+        String type = schema.has("type") ? schema.get("type").getAsString() : "object";
+
+        switch (type) {
+
+            case "object":
+
+                JsonObject object = new JsonObject();
+
+                if (schema.has("properties"))
+                    for (Map.Entry<String, JsonElement> property : schema.getAsJsonObject("properties").entrySet())
+                        object.add(property.getKey(), sampleOf(property.getValue().getAsJsonObject()));
+
+                return object;
+
+            case "array":
+
+                JsonArray array = new JsonArray();
+                array.add(sampleOf(schema.getAsJsonObject("items")));
+
+                return array;
+
+            case "string":
+
+                if (schema.has("format") && "date-time".equals(schema.get("format").getAsString()))
+                    return new JsonPrimitive(Instant.now().truncatedTo(ChronoUnit.MILLIS).toString());
+
+                return new JsonPrimitive(UniqueNames.shared().next("contract"));
+
+            case "integer":
+            case "number":
+                return new JsonPrimitive(0);
+
+            case "boolean":
+                return new JsonPrimitive(false);
+
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return e.g. validators compiled, and how long that took; bodies validated, violations found.
+     */
+    public String[][] toReportTable() {
+        return new String[][]{
+                {"spec", path.getFileName() + " (" + title + ")"},
+                {"operations", String.valueOf(operations.size())},
+                {"validators compiled", String.valueOf(compiled.sum())},
+                {"compiling, ms", String.format("%.1f", compileNanos.sum() / 1e6)},
+                {"validator cache hits", String.valueOf(cacheHits.sum())},
+                {"bodies validated", String.valueOf(validated.sum())},
+                {"validating, ms", String.format("%.1f", validateNanos.sum() / 1e6)},
+                {"violations", String.valueOf(violations.sum())}
+        };
+    }
+
+    //region helper methods
+
+    private static OpenApiSpec read(Path path) {
+
+        try (Reader spec = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+
+            OpenApiSpec read = new OpenApiSpec(path, new JsonParser().parse(spec).getAsJsonObject());
+
+            HtmlReporter.registerSummary("contract: " + path.getFileName(), read::toReportTable);
+
+            return read;
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not read the spec " + path, e);
+        }
+    }
+
+    private SchemaValidator compile(JsonObject schema) {
+
+        long compiling_since = System.nanoTime();
+
+        SchemaValidator validator = SchemaValidator.compile(schema, ref -> validatorOf(definitionOf(ref)));
+
+        compileNanos.add(System.nanoTime() - compiling_since);
+        compiled.increment();
+
+        return validator;
+    }
+
+    /**
+     * @throws IllegalArgumentException when the reference is not to one of the spec's definitions.
+     */
+    private JsonObject definitionOf(String ref) {
+
+        JsonElement definition = ref.startsWith(DEFINITIONS_PREFIX) ? definitions.get(ref.substring(DEFINITIONS_PREFIX.length())) : null;
+
+        if (definition == null)
+            throw new IllegalArgumentException("no definition " + ref + " in " + path);
+
+        return definition.getAsJsonObject();
+    }
+
+    //endregion
+
+    /**
+     * One operation; a method, on a path.
+     */
+    public class Operation {
+
+        private final String method;
+        private final String path;
+        private final JsonObject operation;
+        private final List<JsonObject> parameters = new ArrayList<>();
+        private final Map<String, JsonObject> responses = new LinkedHashMap<>();
+
+        private Operation(String method, String path, JsonObject operation) {
+
+            this.method = method;
+            this.path = path;
+            this.operation = operation;
+
+            if (operation.has("parameters"))
+                for (JsonElement parameter : operation.getAsJsonArray("parameters"))
+                    parameters.add(parameter.getAsJsonObject());
+
+            for (Map.Entry<String, JsonElement> response : operation.getAsJsonObject("responses").entrySet())
+                responses.put(response.getKey(), response.getValue().getAsJsonObject());
+        }
+
+        //region getters
+
+        /**
+         * @return e.g. <code>GET</code>
+         */
+        public String getMethod() {
+            return method;
+        }
+
+        /**
+         * @return the path template, relative to the base path; e.g. <code>/pet/{petId}</code>
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * @return e.g. <code>getPetById</code>; or the method and path, when the spec gives it no id.
+         */
+        public String getOperationId() {
+            return operation.has("operationId") ? operation.get("operationId").getAsString() : toString();
+        }
+
+        public String getSummary() {
+            return operation.has("summary") ? operation.get("summary").getAsString() : "";
+        }
+
+        /**
+         * @return the parameters, as the spec has them; each with its <code>name</code> and <code>in</code>.
+         */
+        public List<JsonObject> getParameters() {
+            return Collections.unmodifiableList(parameters);
+        }
+
+        /**
+         * @return the <code>in: body</code> parameter's schema; or null, when the operation takes no body.
+         */
+        public JsonObject getBodySchema() {
+
+            for (JsonObject parameter : parameters)
+                if ("body".equals(parameter.get("in").getAsString()))
+                    return parameter.getAsJsonObject("schema");
+
+            return null;
+        }
+
+        /**
+         * @return true, when the operation consumes <code>multipart/form-data</code>.
+         */
+        public boolean isMultipart() {
+
+            if (operation.has("consumes"))
+                for (JsonElement media_type : operation.getAsJsonArray("consumes"))
+                    if ("multipart/form-data".equals(media_type.getAsString()))
+                        return true;
+
+            return false;
+        }
+
+        //endregion
+
+        /**
+         * @return true, when the status is one of the documented responses; or the spec documents a <code>default</code> response.
+         */
+        public boolean documents(int status_code) {
+            return responseOf(status_code) != null;
+        }
+
+        /**
+         * @return true, when the status's documented response has a schema, to validate its body against.
+         */
+        public boolean hasSchema(int status_code) {
+
+            JsonObject response = responseOf(status_code);
+
+            return response != null && response.has("schema");
+        }
+
+        /**
+         * Validates the body against the status's documented schema; with the schema's cached validator.
+         *
+         * @return the body's violations; none when it's valid, or has no schema to be valid against.
+         */
+        public List<String> validate(int status_code, byte[] body) {
+
+            if (!hasSchema(status_code))
+                return Collections.emptyList();
+
+            SchemaValidator validator = validatorOf(responseOf(status_code).getAsJsonObject("schema"));
+
+            long validating_since = System.nanoTime();
+
+            List<String> body_violations = validator.validate(body);
+
+            validateNanos.add(System.nanoTime() - validating_since);
+            validated.increment();
+            violations.add(body_violations.size());
+
+            return body_violations;
+        }
+
+        /**
+         * @return e.g. <code>GET /pet/{petId}</code>
+         */
+        @Override
+        public String toString() {
+            return method + " " + path;
+        }
+
+        private JsonObject responseOf(int status_code) {
+
+            JsonObject response = responses.get(String.valueOf(status_code));
+
+            return response != null ? response : responses.get("default");
+        }
+    }
+
+}
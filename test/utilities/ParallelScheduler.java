@@ -0,0 +1,52 @@
+package utilities;
+
+import org.junit.runners.model.RunnerScheduler;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs each child of a JUnit runner (a test class, a case, or a test method) on a fixed pool; and waits for
+ * them all, before the runner's after-class methods run. A scheduler is used for one run only.
+ *
+ * @since 17 October 2026
+ */
+class ParallelScheduler implements RunnerScheduler {
+
+    private final ExecutorService children;
+
+    /**
+     * @param thread_name_prefix, e.g. <code>TestDogApi-case</code>.
+     */
+    ParallelScheduler(String thread_name_prefix, int concurrency) {
+
+        AtomicInteger thread_count = new AtomicInteger();
+
+        this.children = Executors.newFixedThreadPool(concurrency, task -> {
+            Thread thread = new Thread(task, thread_name_prefix + "-" + thread_count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void schedule(Runnable child) {
+        children.execute(child);
+    }
+
+    @Override
+    public void finished() {
+
+        children.shutdown();
+
+        try {
+            children.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted, while waiting for parallel tests!", e);
+        }
+    }
+
+}
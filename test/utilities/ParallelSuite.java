@@ -0,0 +1,145 @@
+package utilities;
+
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runners.ParentRunner;
+import org.junit.runners.Suite;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parallel Suite
+ * <p>
+ * A JUnit {@link Suite} runner (<code>@RunWith(ParallelSuite.class) @Suite.SuiteClasses({...})</code>), that runs:
+ * <ul>
+ *     <li>its test classes, and or their test methods, in parallel; <code>suite.parallel=classes|methods|both|none</code>
+ *     (default classes), on <code>suite.concurrency</code> threads (default 4) per pool.</li>
+ *     <li>only this JVM's {@link Shard} of the test methods; so that CI nodes, each given
+ *     <code>-Dshard.index=&lt;i&gt; -Dshard.count=&lt;n&gt;</code>, each run a slice of the suite.
+ *     A {@link ScenarioRunner} class already runs only its shard's cases; so it is left whole.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Test methods run in parallel must not depend on one another, nor on their order; scenario classes'
+ * cases are scheduled by the {@link ScenarioRunner} itself.
+ * </p>
+ * <p>
+ * A sharded run's Html Report is one shard's; merge them with {@link ReportMerger}.
+ * </p>
+ * <p>
+ * The run's one-off initialization (e.g. the Html Report, RestAssured) starts as soon as the runner is loaded, while the
+ * test classes are; and the first test waits for it. See {@link SuiteBootstrap}.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class ParallelSuite extends Suite {
+
+    //region  helper variables
+
+    public static final String PARALLEL_PROPERTY = "suite.parallel";
+    public static final String CONCURRENCY_PROPERTY = "suite.concurrency";
+    private static final int DEFAULT_CONCURRENCY = 4;
+
+    private final List<Runner> shardClasses;
+
+    //endregion
+
+    static {
+        SuiteBootstrap.start(); // before the test classes are loaded, by the constructor; so as to overlap them.
+    }
+
+    public ParallelSuite(Class<?> suite_class, RunnerBuilder builder) throws InitializationError {
+
+        super(suite_class, builder);
+
+        Shard shard = Shard.current();
+
+        List<Runner> shard_classes = new ArrayList<>();
+
+        for (Runner test_class : super.getChildren()) {
+
+            if (shard.getCount() > 1 && !(test_class instanceof ScenarioRunner) && test_class instanceof Filterable) {
+
+                try {
+                    ((Filterable) test_class).filter(new ShardFilter(shard));
+                } catch (NoTestsRemainException e) {
+                    continue; // none of the class's test methods are this shard's.
+                }
+            }
+
+            shard_classes.add(test_class);
+        }
+
+        this.shardClasses = Collections.unmodifiableList(shard_classes);
+
+        String parallel = System.getProperty(PARALLEL_PROPERTY, "classes").toLowerCase();
+        int concurrency = Integer.getInteger(CONCURRENCY_PROPERTY, DEFAULT_CONCURRENCY);
+
+        if (!parallel.matches("classes|methods|both|none") || concurrency < 1)
+            throw new IllegalArgumentException(String.format(
+                    "suite.parallel must be classes, methods, both or none; and suite.concurrency at least 1; were %s and %d", parallel, concurrency));
+
+        if (parallel.equals("classes") || parallel.equals("both"))
+            setScheduler(new ParallelScheduler(suite_class.getSimpleName() + "-class", concurrency));
+
+        if (parallel.equals("methods") || parallel.equals("both"))
+            for (Runner test_class : shardClasses)
+                if (test_class instanceof ParentRunner && !(test_class instanceof Suite))
+                    ((ParentRunner<?>) test_class).setScheduler(new ParallelScheduler(test_class.getDescription().getDisplayName() + "-method", concurrency));
+
+        SuiteBootstrap.testClassesLoaded();
+    }
+
+    @Override
+    public void run(RunNotifier notifier) {
+
+        SuiteBootstrap.awaitReady();
+
+        super.run(notifier);
+    }
+
+    @Override
+    protected List<Runner> getChildren() {
+        return shardClasses;
+    }
+
+    /**
+     * Keeps the test methods, whose <code>Class#method</code> id hashes to the shard.
+     */
+    private static class ShardFilter extends Filter {
+
+        private final Shard shard;
+
+        private ShardFilter(Shard shard) {
+            this.shard = shard;
+        }
+
+        @Override
+        public boolean shouldRun(Description description) {
+
+            if (description.isTest())
+                return shard.owns(description.getClassName() + "#" + description.getMethodName());
+
+            for (Description child : description.getChildren())
+                if (shouldRun(child))
+                    return true;
+
+            return false;
+        }
+
+        @Override
+        public String describe() {
+            return shard.toString();
+        }
+    }
+
+}
@@ -0,0 +1,121 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Pet
+ * <p>
+ * A pet store pet, as sent to <code>POST|PUT pet</code>; written as json by {@link PetJson}.
+ * Immutable; so one pet (e.g. a template's prototype) can be shared between threads.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class Pet {
+
+    //region  helper variables
+
+    private final long id;
+    private final Category category;
+    private final String name;
+    private final List<String> photoUrls;
+    private final List<Tag> tags;
+    private final String status;
+
+    //endregion
+
+    /**
+     * @param id,       0 for the store to assign one.
+     * @param category, or null when the pet has none.
+     */
+    public Pet(long id, Category category, String name, List<String> photo_urls, List<Tag> tags, String status) {
+        this.id = id;
+        this.category = category;
+        this.name = name;
+        this.photoUrls = Collections.unmodifiableList(new ArrayList<>(photo_urls));
+        this.tags = Collections.unmodifiableList(new ArrayList<>(tags));
+        this.status = status;
+    }
+
+    //region getters
+
+    public long getId() {
+        return id;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getPhotoUrls() {
+        return photoUrls;
+    }
+
+    public List<Tag> getTags() {
+        return tags;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    //endregion
+
+    /**
+     * @return a copy of this pet, with another id and name.
+     */
+    public Pet withIdAndName(long id, String name) {
+        return new Pet(id, category, name, photoUrls, tags, status);
+    }
+
+    /**
+     * A pet's category; e.g. <code>{"id": 12, "name": "dogs"}</code>.
+     */
+    public static class Category {
+
+        private final long id;
+        private final String name;
+
+        public Category(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * A pet's tag; e.g. <code>{"id": 19890616, "name": "k9"}</code>.
+     */
+    public static class Tag {
+
+        private final long id;
+        private final String name;
+
+        public Tag(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+}
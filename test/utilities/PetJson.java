@@ -0,0 +1,360 @@
+package utilities;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pet Json
+ * <p>
+ * Writes a {@link Pet} as json bytes, ready to be sent as a request body; straight into a per thread, reusable
+ * buffer, with no json tree or intermediate String. Only the returned, exactly sized, byte array is allocated.
+ * </p>
+ * <p>
+ * For many pets alike but for their id and name (e.g. bulk writes), a {@link Template} pre-encodes everything else
+ * once; and each body is then the template's bytes, with the id and name patched in.
+ * </p>
+ * <p>
+ * Fields are written in the order the pet store itself sends them; <code>id, category, name, photoUrls, tags, status</code>.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public final class PetJson {
+
+    //region  helper variables
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    private static final ThreadLocal<ByteSink> sink = ThreadLocal.withInitial(() -> new ByteSink(512));
+
+    //endregion
+
+    private PetJson() {
+    }
+
+    /**
+     * @return the pet, as json.
+     */
+    public static byte[] toJson(Pet pet) {
+
+        ByteSink out = sink.get();
+
+        out.reset();
+
+        writeHead(out);
+        out.writeLong(pet.getId());
+        writeBeforeName(out, pet);
+        out.writeString(pet.getName());
+        writeAfterName(out, pet);
+
+        return out.toByteArray();
+    }
+
+    /**
+     * @param prototype, every field but its id and name; is pre-encoded.
+     */
+    public static Template template(Pet prototype) {
+
+        ByteSink out = new ByteSink(512);
+
+        writeHead(out);
+        byte[] head = out.toByteArray();
+
+        out.reset();
+        writeBeforeName(out, prototype);
+        out.write('"');
+        byte[] before_name = out.toByteArray();
+
+        out.reset();
+        out.write('"');
+        writeAfterName(out, prototype);
+        byte[] after_name = out.toByteArray();
+
+        return new Template(head, before_name, after_name);
+    }
+
+    //region helper methods
+
+    private static void writeHead(ByteSink out) {
+        out.writeAscii("{\"id\":");
+    }
+
+    /**
+     * Everything after the id, up to and including the name's key; <code>,"category":{...},"name":</code>.
+     */
+    private static void writeBeforeName(ByteSink out, Pet pet) {
+
+        if (pet.getCategory() != null) {
+            out.writeAscii(",\"category\":{\"id\":");
+            out.writeLong(pet.getCategory().getId());
+            out.writeAscii(",\"name\":");
+            out.writeString(pet.getCategory().getName());
+            out.write('}');
+        }
+
+        out.writeAscii(",\"name\":");
+    }
+
+    /**
+     * Everything after the name's value; <code>,"photoUrls":[...],"tags":[...],"status":"..."}</code>.
+     */
+    private static void writeAfterName(ByteSink out, Pet pet) {
+
+        out.writeAscii(",\"photoUrls\":[");
+
+        List<String> photo_urls = pet.getPhotoUrls();
+
+        for (int i = 0; i < photo_urls.size(); i++) {
+            if (i > 0)
+                out.write(',');
+            out.writeString(photo_urls.get(i));
+        }
+
+        out.writeAscii("],\"tags\":[");
+
+        List<Pet.Tag> tags = pet.getTags();
+
+        for (int i = 0; i < tags.size(); i++) {
+            if (i > 0)
+                out.write(',');
+            out.writeAscii("{\"id\":");
+            out.writeLong(tags.get(i).getId());
+            out.writeAscii(",\"name\":");
+            out.writeString(tags.get(i).getName());
+            out.write('}');
+        }
+
+        out.writeAscii("],\"status\":");
+        out.writeString(pet.getStatus());
+        out.write('}');
+    }
+
+    /**
+     * @return bytes of the string's json escaped, utf-8 content; without the quotes.
+     */
+    private static int escapedLength(String value) {
+
+        int length = 0;
+
+        for (int i = 0; i < value.length(); i++) {
+
+            char c = value.charAt(i);
+
+            if (c == '"' || c == '\\')
+                length += 2;
+            else if (c < 0x20)
+                length += 6;
+            else if (c < 0x80)
+                length += 1;
+            else if (c < 0x800)
+                length += 2;
+            else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c))
+                length += 1;
+            else
+                length += 3;
+        }
+
+        return length;
+    }
+
+    /**
+     * Writes the string's json escaped, utf-8 content; without the quotes. Lone surrogates are written as '?'.
+     *
+     * @return the position after the last byte written.
+     */
+    private static int writeEscaped(String value, byte[] out, int position) {
+
+        for (int i = 0; i < value.length(); i++) {
+
+            char c = value.charAt(i);
+
+            if (c == '"' || c == '\\') {
+                out[position++] = '\\';
+                out[position++] = (byte) c;
+            } else if (c < 0x20) {
+                out[position++] = '\\';
+                out[position++] = 'u';
+                out[position++] = '0';
+                out[position++] = '0';
+                out[position++] = HEX[c >> 4];
+                out[position++] = HEX[c & 0xF];
+            } else if (c < 0x80) {
+                out[position++] = (byte) c;
+            } else if (c < 0x800) {
+                out[position++] = (byte) (0xC0 | (c >> 6));
+                out[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int code_point = Character.toCodePoint(c, value.charAt(++i));
+                out[position++] = (byte) (0xF0 | (code_point >> 18));
+                out[position++] = (byte) (0x80 | ((code_point >> 12) & 0x3F));
+                out[position++] = (byte) (0x80 | ((code_point >> 6) & 0x3F));
+                out[position++] = (byte) (0x80 | (code_point & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                out[position++] = '?';
+            } else {
+                out[position++] = (byte) (0xE0 | (c >> 12));
+                out[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+
+        return position;
+    }
+
+    private static int digits(long value) {
+
+        if (value == Long.MIN_VALUE)
+            return 20;
+
+        int digits = value < 0 ? 2 : 1;
+
+        for (long rest = Math.abs(value); rest >= 10; rest /= 10)
+            digits++;
+
+        return digits;
+    }
+
+    /**
+     * @return the position after the last digit written.
+     */
+    private static int writeLong(long value, byte[] out, int position) {
+
+        if (value == Long.MIN_VALUE) {
+            byte[] min = Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(min, 0, out, position, min.length);
+            return position + min.length;
+        }
+
+        int end = position + digits(value);
+
+        if (value < 0) {
+            out[position] = '-';
+            value = -value;
+        }
+
+        int at = end;
+
+        do {
+            out[--at] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+
+        return end;
+    }
+
+    //endregion
+
+    /**
+     * A pre-encoded pet body, with only its id and name left to patch in.
+     */
+    public static final class Template {
+
+        private final byte[] head;
+        private final byte[] beforeName;
+        private final byte[] afterName;
+
+        private Template(byte[] head, byte[] before_name, byte[] after_name) {
+            this.head = head;
+            this.beforeName = before_name;
+            this.afterName = after_name;
+        }
+
+        /**
+         * @param name, or null; written as json <code>null</code>, as {@link PetJson#toJson(Pet)} writes it.
+         * @return the prototype's body, with this id and name; in one exactly sized array.
+         */
+        public byte[] render(long id, String name) {
+
+            // the name's quotes end beforeName, and start afterName; left out, around a null.
+            int quote = name == null ? 1 : 0;
+
+            byte[] body = new byte[head.length + digits(id) + beforeName.length + (name == null ? NULL.length : escapedLength(name)) + afterName.length - 2 * quote];
+
+            System.arraycopy(head, 0, body, 0, head.length);
+
+            int position = writeLong(id, body, head.length);
+
+            System.arraycopy(beforeName, 0, body, position, beforeName.length - quote);
+
+            position += beforeName.length - quote;
+
+            if (name == null) {
+                System.arraycopy(NULL, 0, body, position, NULL.length);
+                position += NULL.length;
+            } else {
+                position = writeEscaped(name, body, position);
+            }
+
+            System.arraycopy(afterName, quote, body, position, afterName.length - quote);
+
+            return body;
+        }
+    }
+
+    /**
+     * A growable byte buffer; reused, so that it only grows to the largest body written with it.
+     */
+    private static final class ByteSink {
+
+        private byte[] buffer;
+        private int size;
+
+        private ByteSink(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private void reset() {
+            size = 0;
+        }
+
+        private void ensure(int more) {
+            if (size + more > buffer.length)
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + more));
+        }
+
+        private void write(char ascii) {
+            ensure(1);
+            buffer[size++] = (byte) ascii;
+        }
+
+        private void writeAscii(String ascii) {
+
+            ensure(ascii.length());
+
+            for (int i = 0; i < ascii.length(); i++)
+                buffer[size++] = (byte) ascii.charAt(i);
+        }
+
+        private void writeLong(long value) {
+            ensure(20);
+            size = PetJson.writeLong(value, buffer, size);
+        }
+
+        /**
+         * Writes the string quoted and escaped; or <code>null</code>.
+         */
+        private void writeString(String value) {
+
+            if (value == null) {
+                writeAscii("null");
+                return;
+            }
+
+            ensure(escapedLength(value) + 2);
+
+            buffer[size++] = '"';
+            size = writeEscaped(value, buffer, size);
+            buffer[size++] = '"';
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+}
@@ -0,0 +1,349 @@
+package utilities;
+
+import org.apache.http.HttpConnection;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.HttpInetSocketAddress;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeLayeredSocketFactory;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.scheme.SchemeSocketFactory;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.ExecutionContext;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pooled Http Client
+ * <p>
+ * One explicitly configured Apache HttpClient, shared by every {@link ApiClient}; so that connections are
+ * kept alive and reused between requests (and tests), instead of each request paying a new TCP and TLS handshake.
+ * </p>
+ * <ul>
+ *     <li><code>http.pool.max.per.host</code>; connections per host (default 16).</li>
+ *     <li><code>http.pool.max.total</code>; connections across all hosts (default 64).</li>
+ *     <li><code>http.keep.alive.ms</code>; how long an idle connection is kept, when the server doesn't say (default 30000).</li>
+ *     <li><code>http.connect.timeout.ms</code>; for the tcp connect (default 10000).</li>
+ *     <li><code>http.read.timeout.ms</code>; longest wait for the next bytes of a response (default 30000).</li>
+ *     <li><code>http.pool.timeout.ms</code>; longest wait for a pooled connection (default 10000).</li>
+ * </ul>
+ * <p>
+ * All https connections are made from the one {@link SSLContext}, whose client session cache lets new
+ * connections to the same host resume their TLS session. Certificates are checked against the host strictly; a wildcard
+ * matches one subdomain level only.
+ * </p>
+ * <p>
+ * Dns, connect, tls, pool wait and time to first byte; are added to the {@link RequestTiming} of the request
+ * in flight on the calling thread.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+@SuppressWarnings("deprecation")
+public class PooledHttpClient {
+
+    //region  helper variables
+
+    public static final String MAX_PER_HOST_PROPERTY = "http.pool.max.per.host";
+    public static final String MAX_TOTAL_PROPERTY = "http.pool.max.total";
+    public static final String KEEP_ALIVE_PROPERTY = "http.keep.alive.ms";
+    public static final String CONNECT_TIMEOUT_PROPERTY = "http.connect.timeout.ms";
+    public static final String READ_TIMEOUT_PROPERTY = "http.read.timeout.ms";
+    public static final String POOL_TIMEOUT_PROPERTY = "http.pool.timeout.ms";
+
+    private static final PooledHttpClient SHARED = new PooledHttpClient();
+
+    private final SSLContext sslContext;
+    private final TimedConnectionManager connectionManager;
+    private final DefaultHttpClient httpClient;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong newConnections = new AtomicLong();
+    private final AtomicLong reusedConnections = new AtomicLong();
+    private final AtomicLong poolWaitNanos = new AtomicLong();
+    private final AtomicLong maxPoolWaitNanos = new AtomicLong();
+
+    //endregion
+
+    private PooledHttpClient() {
+
+        try {
+            sslContext = SSLContext.getDefault();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("no default TLS context!", e);
+        }
+
+        SchemeRegistry schemes = new SchemeRegistry();
+        schemes.register(new Scheme("http", 80, new TimedSocketFactory()));
+        schemes.register(new Scheme("https", 443, new TimedTlsSocketFactory(new SSLSocketFactory(sslContext, SSLSocketFactory.STRICT_HOSTNAME_VERIFIER))));
+
+        connectionManager = new TimedConnectionManager(schemes, timedDnsResolver());
+        connectionManager.setDefaultMaxPerRoute(Integer.getInteger(MAX_PER_HOST_PROPERTY, 16));
+        connectionManager.setMaxTotal(Integer.getInteger(MAX_TOTAL_PROPERTY, 64));
+
+        long default_keep_alive_millis = Long.getLong(KEEP_ALIVE_PROPERTY, 30_000L);
+
+        httpClient = new DefaultHttpClient(connectionManager);
+        HttpConnectionParams.setConnectionTimeout(httpClient.getParams(), Integer.getInteger(CONNECT_TIMEOUT_PROPERTY, 10_000));
+        HttpConnectionParams.setSoTimeout(httpClient.getParams(), Integer.getInteger(READ_TIMEOUT_PROPERTY, 30_000));
+        httpClient.getParams().setLongParameter(ClientPNames.CONN_MANAGER_TIMEOUT, Long.getLong(POOL_TIMEOUT_PROPERTY, 10_000L));
+        httpClient.setHttpRequestRetryHandler(new DefaultHttpRequestRetryHandler(0, false)); // retries are the ResiliencePolicy's.
+        httpClient.setKeepAliveStrategy((response, context) -> {
+            long server_keep_alive_millis = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return server_keep_alive_millis > 0 ? server_keep_alive_millis : default_keep_alive_millis;
+        });
+        httpClient.addRequestInterceptor(countConnectionReuse());
+        httpClient.addResponseInterceptor((response, context) -> {
+            RequestTiming timing = RequestTiming.current();
+            if (timing != null)
+                timing.responseHeadersReceived();
+        });
+    }
+
+    /**
+     * @return the client shared by the whole test run.
+     */
+    public static PooledHttpClient shared() {
+        return SHARED;
+    }
+
+    //region getters
+
+    public DefaultHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getNewConnectionCount() {
+        return newConnections.get();
+    }
+
+    public long getReusedConnectionCount() {
+        return reusedConnections.get();
+    }
+
+    public long getPoolWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(poolWaitNanos.get());
+    }
+
+    public long getMaxPoolWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxPoolWaitNanos.get());
+    }
+
+    public int getCachedTlsSessionCount() {
+        return Collections.list(sslContext.getClientSessionContext().getIds()).size();
+    }
+
+    //endregion
+
+    /**
+     * @return connection reuse and pool wait counters, as rows of a report table.
+     */
+    public String[][] toReportTable() {
+
+        long request_count = getRequestCount();
+
+        return new String[][]{
+                {"requests", String.valueOf(request_count)},
+                {"new connections (handshakes)", String.valueOf(getNewConnectionCount())},
+                {"reused connections", String.valueOf(getReusedConnectionCount())},
+                {"connection reuse", request_count == 0 ? "-" : String.format("%.1f%%", 100.0 * getReusedConnectionCount() / request_count)},
+                {"cached tls sessions", String.valueOf(getCachedTlsSessionCount())},
+                {"pool wait, total", getPoolWaitMillis() + " ms"},
+                {"pool wait, longest", getMaxPoolWaitMillis() + " ms"},
+                {"pool, max per host / total", connectionManager.getDefaultMaxPerRoute() + " / " + connectionManager.getMaxTotal()}
+        };
+    }
+
+    //region helper methods
+
+    /**
+     * A connection, that has already carried a request; is a reused one.
+     */
+    private HttpRequestInterceptor countConnectionReuse() {
+
+        return (request, context) -> {
+
+            requests.incrementAndGet();
+
+            HttpConnection connection = (HttpConnection) context.getAttribute(ExecutionContext.HTTP_CONNECTION);
+
+            boolean reused = connection != null && connection.getMetrics().getRequestCount() > 0;
+
+            if (reused)
+                reusedConnections.incrementAndGet();
+            else
+                newConnections.incrementAndGet();
+
+            RequestTiming timing = RequestTiming.current();
+
+            if (timing != null)
+                timing.requestSent(reused);
+        };
+    }
+
+    private void recordPoolWait(long waited_nanos) {
+
+        poolWaitNanos.addAndGet(waited_nanos);
+
+        maxPoolWaitNanos.accumulateAndGet(waited_nanos, Math::max);
+
+        addToCurrentTiming(RequestTiming.Phase.POOL_WAIT, waited_nanos);
+    }
+
+    private static void addToCurrentTiming(RequestTiming.Phase phase, long nanos) {
+
+        RequestTiming timing = RequestTiming.current();
+
+        if (timing != null)
+            timing.add(phase, nanos);
+    }
+
+    private static DnsResolver timedDnsResolver() {
+
+        return host -> {
+
+            long resolving_since = System.nanoTime();
+
+            try {
+                return SystemDefaultDnsResolver.INSTANCE.resolve(host);
+            } finally {
+                addToCurrentTiming(RequestTiming.Phase.DNS, System.nanoTime() - resolving_since);
+            }
+        };
+    }
+
+    /**
+     * Times the tcp connect.
+     */
+    private static class TimedSocketFactory implements SchemeSocketFactory {
+
+        private final PlainSocketFactory tcp = PlainSocketFactory.getSocketFactory();
+
+        @Override
+        public Socket createSocket(HttpParams params) {
+            return tcp.createSocket(params);
+        }
+
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remote_address, InetSocketAddress local_address, HttpParams params) throws IOException, ConnectTimeoutException {
+
+            long connecting_since = System.nanoTime();
+
+            try {
+                return tcp.connectSocket(socket, remote_address, local_address, params);
+            } finally {
+                addToCurrentTiming(RequestTiming.Phase.CONNECT, System.nanoTime() - connecting_since);
+            }
+        }
+
+        @Override
+        public boolean isSecure(Socket socket) {
+            return false;
+        }
+    }
+
+    /**
+     * Times the tcp connect, and the tls handshake layered on top of it; separately.
+     */
+    private static class TimedTlsSocketFactory extends TimedSocketFactory implements SchemeLayeredSocketFactory {
+
+        private final SSLSocketFactory tls;
+
+        private TimedTlsSocketFactory(SSLSocketFactory tls) {
+            this.tls = tls;
+        }
+
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remote_address, InetSocketAddress local_address, HttpParams params) throws IOException, ConnectTimeoutException {
+
+            Socket connected = super.connectSocket(socket, remote_address, local_address, params);
+
+            String host = remote_address instanceof HttpInetSocketAddress
+                    ? ((HttpInetSocketAddress) remote_address).getHttpHost().getHostName()
+                    : remote_address.getHostName();
+
+            return createLayeredSocket(connected, host, remote_address.getPort(), params);
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpParams params) throws IOException {
+
+            long handshaking_since = System.nanoTime();
+
+            try {
+                return tls.createLayeredSocket(socket, target, port, params);
+            } finally {
+                addToCurrentTiming(RequestTiming.Phase.TLS, System.nanoTime() - handshaking_since);
+            }
+        }
+
+        @Override
+        public boolean isSecure(Socket socket) {
+            return tls.isSecure(socket);
+        }
+    }
+
+    /**
+     * Times how long each request waits, for a connection to be leased from the pool.
+     */
+    private class TimedConnectionManager extends PoolingClientConnectionManager {
+
+        private TimedConnectionManager(SchemeRegistry schemes, DnsResolver dns_resolver) {
+            super(schemes, dns_resolver);
+        }
+
+        @Override
+        public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+
+            ClientConnectionRequest request = super.requestConnection(route, state);
+
+            return new ClientConnectionRequest() {
+
+                @Override
+                public ManagedClientConnection getConnection(long timeout, TimeUnit unit) throws InterruptedException, ConnectionPoolTimeoutException {
+
+                    long waiting_since = System.nanoTime();
+
+                    try {
+                        return request.getConnection(timeout, unit);
+                    } finally {
+                        recordPoolWait(System.nanoTime() - waiting_since);
+                    }
+                }
+
+                @Override
+                public void abortRequest() {
+                    request.abortRequest();
+                }
+            };
+        }
+    }
+
+    //endregion
+
+}
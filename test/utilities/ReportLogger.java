@@ -0,0 +1,64 @@
+package utilities;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+
+/**
+ * Report Logger, of a single test case
+ * <p>
+ * Every log call is only queued on to the {@link AsyncReportWriter};
+ * pass a format pattern with its arguments, e.g. <code>pass("key found %s in response.", key)</code>,
+ * and the formatting is also left to the writer thread.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class ReportLogger {
+
+    private final ExtentTest test;
+    private final int resultId;
+    private final AsyncReportWriter writer;
+    private final MetricsRegistry.Assertions assertions;
+
+    /**
+     * @param result_id,  the test case's id in the {@link ResultLog}; or {@link ResultLog#NO_TEST_CASE}.
+     * @param assertions, the test class's counters; every pass and fail is counted.
+     */
+    ReportLogger(ExtentTest test, int result_id, AsyncReportWriter writer, MetricsRegistry.Assertions assertions) {
+        this.test = test;
+        this.resultId = result_id;
+        this.writer = writer;
+        this.assertions = assertions;
+    }
+
+    public ReportLogger pass(String message, Object... args) {
+        assertions.passed();
+        writer.enqueue(test, resultId, Status.PASS, message, args);
+        return this;
+    }
+
+    public ReportLogger fail(String message, Object... args) {
+        assertions.failed();
+        writer.enqueue(test, resultId, Status.FAIL, message, args);
+        return this;
+    }
+
+    public ReportLogger info(String message, Object... args) {
+        writer.enqueue(test, resultId, Status.INFO, message, args);
+        return this;
+    }
+
+    public ReportLogger warning(String message, Object... args) {
+        writer.enqueue(test, resultId, Status.WARNING, message, args);
+        return this;
+    }
+
+    /**
+     * Logs a finished request's timing; formatted on the report writer's thread.
+     */
+    ReportLogger request(RequestTiming timing) {
+        writer.enqueue(test, resultId, timing);
+        return this;
+    }
+
+}
@@ -0,0 +1,330 @@
+package utilities;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.aventstack.extentreports.model.Log;
+import com.aventstack.extentreports.model.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Report Merger
+ * <p>
+ * Renders the {@link ResultLog}s of a run into one Html Report, <code>&lt;report.title&gt;_report.html</code>; once,
+ * after the run. The logs of every shard (<code>&lt;report.title&gt;_shard-&lt;i&gt;-of-&lt;n&gt;_results.log</code>), e.g.
+ * collected from each CI node into one <code>./test_reports/</code> folder, are merged; or the unsharded
+ * <code>&lt;report.title&gt;_results.log</code> is rendered. Each shard's summaries are kept, named for their shard;
+ * and a "merge" summary counts what was merged.
+ * </p>
+ * <p>
+ * The logs are grouped into runs, by their shard count; and only the newest run's (of the last written to log) are merged.
+ * An older run's (e.g. the unsharded log, or shards of another <code>shard.count</code>, left in the folder) are left out;
+ * and a run missing a shard's log is merged without it; each with a warning.
+ * </p>
+ * <p>
+ * The logs are streamed, a record at a time, on to the report's test cases; and the report is written once, at the end.
+ * A log or request record of a test case its log holds no record of (e.g. a log cut short, and appended to after), is
+ * skipped; and counted, with a warning.
+ * </p>
+ * <p>
+ * <code>mvn -Pmerge-reports test-compile exec:java [-Dreport.title=...]</code>; or run its main, given the folder.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public final class ReportMerger {
+
+    //region  helper variables
+
+    private static final String RESULT_LOG_SUFFIX = "_results.log";
+
+    private final ExtentReports merged;
+    private final Map<Status, Long> logs = new EnumMap<>(Status.class);
+    private long testCases;
+    private long requests;
+    private long failedRequests;
+    private int truncatedLogs;
+    private long orphanRecords;
+
+    //endregion
+
+    private ReportMerger(ExtentReports merged) {
+        this.merged = merged;
+    }
+
+    /**
+     * @param args, optionally; the folder of the result logs (default <code>./test_reports/</code>).
+     */
+    public static void main(String[] args) {
+
+        Path folder = Paths.get(args.length > 0 ? args[0] : HtmlReporter.DEFAULT_REPORT_FOLDER_PATH);
+
+        long merging_since = System.nanoTime();
+
+        long test_cases = merge(folder, HtmlReporter.getReportTitle());
+
+        System.out.printf("merged %d test case(s) into %s, in %d ms.%n",
+                test_cases, folder.resolve(HtmlReporter.getReportTitle() + "_report.html"), (System.nanoTime() - merging_since) / 1_000_000);
+    }
+
+    /**
+     * @return count of the test cases merged; summaries not included.
+     */
+    public static long merge(Path folder, String report_title) {
+
+        List<Path> result_logs = resultLogsOf(folder, report_title);
+
+        ReportMerger merger = new ReportMerger(HtmlReporter.newExtentReports(folder.resolve(report_title + "_report.html").toString(), report_title));
+
+        for (Path result_log : result_logs)
+            merger.mergeLog(result_log, result_logs.size() == 1 ? null : shardOf(result_log, report_title));
+
+        merger.renderMergeSummary(result_logs.size());
+
+        merger.merged.flush();
+
+        return merger.testCases;
+    }
+
+    //region helper methods
+
+    /**
+     * @return the newest run's result logs; every shard's, in shard order, or the unsharded one.
+     */
+    private static List<Path> resultLogsOf(Path folder, String report_title) {
+
+        Pattern shard_log_name = Pattern.compile(Pattern.quote(report_title) + "_shard-(\\d+)-of-(\\d+)" + Pattern.quote(RESULT_LOG_SUFFIX));
+
+        // shard count, to the logs of the shards of a run with as many; by shard index.
+        Map<Integer, Map<Integer, Path>> sharded_runs = new TreeMap<>();
+
+        try (DirectoryStream<Path> shard_logs = Files.newDirectoryStream(folder, report_title + "_shard-*" + RESULT_LOG_SUFFIX)) {
+
+            for (Path shard_log : shard_logs) {
+
+                Matcher shard = shard_log_name.matcher(shard_log.getFileName().toString());
+
+                if (shard.matches())
+                    sharded_runs.computeIfAbsent(Integer.parseInt(shard.group(2)), count -> new TreeMap<>())
+                            .put(Integer.parseInt(shard.group(1)), shard_log);
+            }
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not list the result logs in " + folder, e);
+        }
+
+        List<List<Path>> runs = new ArrayList<>();
+
+        for (Map.Entry<Integer, Map<Integer, Path>> sharded_run : sharded_runs.entrySet()) {
+
+            int count = sharded_run.getKey();
+
+            List<Integer> missing = new ArrayList<>();
+
+            for (int index = 1; index <= count; index++)
+                if (!sharded_run.getValue().containsKey(index))
+                    missing.add(index);
+
+            if (!missing.isEmpty())
+                System.err.printf("report merger: the run of %d shards is missing the result log(s) of shard(s) %s; merging it without them.%n", count, missing);
+
+            runs.add(new ArrayList<>(sharded_run.getValue().values()));
+        }
+
+        Path unsharded_log = folder.resolve(report_title + RESULT_LOG_SUFFIX);
+
+        if (Files.isRegularFile(unsharded_log))
+            runs.add(Collections.singletonList(unsharded_log));
+
+        if (runs.isEmpty())
+            throw new IllegalArgumentException("no result logs, " + report_title + "[_shard-*]" + RESULT_LOG_SUFFIX + "; in " + folder);
+
+        // logs of different runs never mix; the newest run is merged, any other is left out, with a warning.
+        runs.sort(Comparator.comparing(ReportMerger::lastModified).reversed());
+
+        for (List<Path> older_run : runs.subList(1, runs.size()))
+            System.err.printf("report merger: left out %s; older than %s.%n", older_run, runs.get(0));
+
+        return runs.get(0);
+    }
+
+    /**
+     * @return when the last of the logs was written to.
+     */
+    private static FileTime lastModified(List<Path> result_logs) {
+
+        FileTime last_modified = FileTime.fromMillis(0);
+
+        for (Path result_log : result_logs) {
+            try {
+                FileTime modified = Files.getLastModifiedTime(result_log);
+                if (modified.compareTo(last_modified) > 0)
+                    last_modified = modified;
+            } catch (IOException e) {
+                throw new UncheckedIOException("could not stat " + result_log, e);
+            }
+        }
+
+        return last_modified;
+    }
+
+    /**
+     * @return e.g. <code>shard-1-of-4</code>, of <code>ApiTestSuite_shard-1-of-4_results.log</code>.
+     */
+    private static String shardOf(Path result_log, String report_title) {
+
+        String file_name = result_log.getFileName().toString();
+
+        return file_name.substring(report_title.length() + 1, file_name.length() - RESULT_LOG_SUFFIX.length());
+    }
+
+    /**
+     * Re-creates the log's test cases, with their logs at their original times; and then its latest summaries.
+     *
+     * @param shard, named in its summaries' titles; or null, when there's only the one log.
+     */
+    private void mergeLog(Path result_log, String shard) {
+
+        Map<Integer, ExtentTest> log_test_cases = new HashMap<>();
+        long[] orphans = {0};
+        Map<String, String[][]> summaries = new LinkedHashMap<>();
+
+        long read = ResultLog.read(result_log, new ResultLog.Visitor() {
+
+            @Override
+            public void testCase(int test_case, long started_at, String category, String name, String description) {
+
+                ExtentTest merged_test_case = description == null ? merged.createTest(name) : merged.createTest(name, description);
+
+                if (category != null)
+                    merged_test_case.assignCategory(category);
+
+                Test model = merged_test_case.getModel();
+                model.setStartTime(new Date(started_at));
+                model.setEndTime(new Date(started_at));
+
+                log_test_cases.put(test_case, merged_test_case);
+
+                testCases++;
+            }
+
+            @Override
+            public void log(int test_case, long logged_at, Status status, String details) {
+
+                ExtentTest merged_test_case = log_test_cases.get(test_case);
+
+                if (merged_test_case == null) {
+                    orphans[0]++;
+                    return;
+                }
+
+                logOn(merged_test_case, logged_at, status, details);
+
+                logs.merge(status, 1L, Long::sum);
+            }
+
+            @Override
+            public void request(int test_case, long logged_at, String endpoint, int status_code, long total_nanos, String details) {
+
+                ExtentTest merged_test_case = log_test_cases.get(test_case);
+
+                if (merged_test_case == null) {
+                    orphans[0]++;
+                    return;
+                }
+
+                logOn(merged_test_case, logged_at, Status.INFO, details);
+
+                requests++;
+
+                if (status_code >= 400)
+                    failedRequests++;
+            }
+
+            @Override
+            public void summary(long logged_at, String title, String[][] rows) {
+                summaries.put(title, rows);
+            }
+        });
+
+        if (read < 0) {
+            truncatedLogs++;
+            System.err.printf("report merger: %s ends in a record cut short; merged the %d before it.%n", result_log, -1 - read);
+        }
+
+        if (orphans[0] > 0) {
+            orphanRecords += orphans[0];
+            System.err.printf("report merger: %s has %d log or request record(s) of no test case in it; skipped them.%n", result_log, orphans[0]);
+        }
+
+        for (Map.Entry<String, String[][]> summary : summaries.entrySet())
+            renderSummary(shard == null ? summary.getKey() : summary.getKey() + " (" + shard + ")", summary.getValue());
+    }
+
+    /**
+     * Adds the log to the test case's model; not by {@link ExtentTest#log(Status, String)}, which re-collects the
+     * whole report's run info on every log; the report's one flush, ends each test case from its logs, instead.
+     */
+    private static void logOn(ExtentTest test_case, long logged_at, Status status, String details) {
+
+        Test model = test_case.getModel();
+
+        Log log = new Log(test_case);
+        log.setStatus(status);
+        log.setDetails(details == null ? "" : details);
+        log.setTimestamp(new Date(logged_at));
+        log.setSequence(model.getLogContext().size() + 1);
+
+        model.getLogContext().add(log);
+
+        // a test case ends with its last log, or request; the result log holds no end time of its own.
+        if (logged_at > model.getEndTime().getTime())
+            model.setEndTime(new Date(logged_at));
+    }
+
+    private void renderMergeSummary(int result_logs) {
+
+        List<String[]> rows = new ArrayList<>();
+
+        rows.add(new String[]{"result logs", String.valueOf(result_logs)});
+        rows.add(new String[]{"result logs cut short", String.valueOf(truncatedLogs)});
+        rows.add(new String[]{"test cases", String.valueOf(testCases)});
+        rows.add(new String[]{"records of no test case, skipped", String.valueOf(orphanRecords)});
+        rows.add(new String[]{"requests", String.valueOf(requests)});
+        rows.add(new String[]{"requests, 4xx or 5xx", String.valueOf(failedRequests)});
+
+        for (Map.Entry<Status, Long> status : logs.entrySet())
+            rows.add(new String[]{"log lines, " + status.getKey().toString().toLowerCase(), String.valueOf(status.getValue())});
+
+        renderSummary("merge", rows.toArray(new String[0][]));
+    }
+
+    private void renderSummary(String title, String[][] rows) {
+        merged.createTest("Summary: " + title)
+                .assignCategory("Summary")
+                .log(Status.INFO, MarkupHelper.createTable(rows));
+    }
+
+    //endregion
+
+}
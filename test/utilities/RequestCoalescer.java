@@ -0,0 +1,396 @@
+package utilities;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request Coalescer, for idempotent GETs
+ * <p>
+ * A RestAssured {@link Filter}, the first of every {@link ApiClient}; on unless <code>-Dapi.coalesce=off</code>:
+ * <ul>
+ *     <li><b>in flight</b>; a GET identical (method, url and accept header) to one already in flight, is not sent;
+ *     it waits for that one's response, and gets a copy of it. Parallel test cases asking for the same
+ *     data (e.g. <code>breeds/list/all</code>, for every breed) cost one network call, and one body read.</li>
+ *     <li><b>memo</b>; of the endpoints in <code>api.coalesce.memo.endpoints</code> only (default <code>GET breeds/list/all</code>,
+ *     a list that rarely changes; empty for none), e.g. <code>-Dapi.coalesce.memo.endpoints="GET breeds/list/all,GET breed/{breed}/list"</code>.
+ *     A successful (2xx) response is kept for <code>api.coalesce.memo.seconds</code> (default 30, 0 for none),
+ *     and answers the same GET of a later test; at most <code>api.coalesce.memo.max.entries</code> (default 256), least
+ *     recently used evicted first. An endpoint whose point is a fresh answer (e.g. <code>breed/{breed}/images/random</code>,
+ *     <code>pet/findByStatus</code>) must never be listed; it's only ever shared while in flight.
+ *     Any other method sent to a host (e.g. a POST) forgets every memo of that host, and a response in flight
+ *     meanwhile is not kept; so a test never reads its own writes stale.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Only network calls are timed (see {@link RequestTiming}); a GET answered without one is logged to the test case's
+ * Html Report, as such. Network calls, and those saved, are counted per endpoint and reported as an Html Report summary.
+ * </p>
+ * <p>
+ * Probes of a load test must each reach the network, so {@link LoadGenerator} runs them {@link #uncoalesced(Runnable)}.
+ * </p>
+ * <p>
+ * Requests sent by {@link ApiClient#getAsync} and {@link ApiClient#postAsync} skip the filter chain, so are never coalesced;
+ * but an async write still forgets its host's memos.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class RequestCoalescer implements Filter {
+
+    //region  helper variables
+
+    public static final String MODE_PROPERTY = "api.coalesce";
+    public static final String MEMO_ENDPOINTS_PROPERTY = "api.coalesce.memo.endpoints";
+    public static final String MEMO_SECONDS_PROPERTY = "api.coalesce.memo.seconds";
+    public static final String MEMO_MAX_ENTRIES_PROPERTY = "api.coalesce.memo.max.entries";
+
+    private static final int NETWORK = 0;
+    private static final int IN_FLIGHT = 1;
+    private static final int MEMO = 2;
+
+    private static final ThreadLocal<Boolean> bypassed = new ThreadLocal<>();
+
+    private static volatile RequestCoalescer shared;
+
+    private final Set<String> memoEndpoints;
+    private final long memoMillis;
+    private final int memoMaxEntries;
+
+    private final ConcurrentMap<String, CompletableFuture<Response>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * request key to its memo; in least recently used first order.
+     */
+    private final LinkedHashMap<String, Memo> memos = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * host to its count of writes; a response is only kept, when no write was sent to its host while it was in flight.
+     */
+    private final ConcurrentMap<String, AtomicLong> hostWrites = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, LongAdder[]> counts = new ConcurrentHashMap<>();
+
+    //endregion
+
+    /**
+     * @param memo_endpoints, e.g. <code>GET breeds/list/all</code>; the only ones memoized.
+     */
+    RequestCoalescer(Set<String> memo_endpoints, long memo_millis, int memo_max_entries) {
+        this.memoEndpoints = memo_endpoints;
+        this.memoMillis = memo_millis;
+        this.memoMaxEntries = memo_max_entries;
+    }
+
+    /**
+     * @return the coalescer of this run, or <code>null</code> when <code>api.coalesce</code> is <code>off</code>.
+     */
+    public static RequestCoalescer configured() {
+
+        if ("off".equalsIgnoreCase(System.getProperty(MODE_PROPERTY, "on")))
+            return null;
+
+        if (shared == null) {
+
+            synchronized (RequestCoalescer.class) {
+
+                if (shared == null) {
+
+                    long memo_seconds = Long.getLong(MEMO_SECONDS_PROPERTY, 30L);
+                    int memo_max_entries = Integer.getInteger(MEMO_MAX_ENTRIES_PROPERTY, 256);
+
+                    if (memo_seconds < 0 || memo_max_entries < 0)
+                        throw new IllegalArgumentException(String.format("%s and %s must be at least 0; were %d and %d",
+                                MEMO_SECONDS_PROPERTY, MEMO_MAX_ENTRIES_PROPERTY, memo_seconds, memo_max_entries));
+
+                    Set<String> memo_endpoints = new HashSet<>();
+
+                    for (String endpoint : System.getProperty(MEMO_ENDPOINTS_PROPERTY, "GET breeds/list/all").split(","))
+                        if (!endpoint.trim().isEmpty())
+                            memo_endpoints.add(endpoint.trim());
+
+                    shared = new RequestCoalescer(Collections.unmodifiableSet(memo_endpoints), TimeUnit.SECONDS.toMillis(memo_seconds), memo_max_entries);
+
+                    RequestCoalescer coalescer = shared;
+
+                    HtmlReporter.registerSummary("request coalescing", coalescer::toReportTable);
+                }
+            }
+        }
+
+        return shared;
+    }
+
+    /**
+     * Runs the task with every request it sends on this thread going to the network; e.g. a load test probe.
+     */
+    public static void uncoalesced(Runnable task) {
+
+        Boolean outer = bypassed.get();
+
+        bypassed.set(Boolean.TRUE);
+
+        try {
+            task.run();
+        } finally {
+            bypassed.set(outer);
+        }
+    }
+
+    //region filter
+
+    @Override
+    public Response filter(FilterableRequestSpecification request, FilterableResponseSpecification response, FilterContext context) {
+
+        String host = ApiClient.hostOf(request);
+
+        if (!"GET".equalsIgnoreCase(request.getMethod())) {
+
+            // forgotten as it's sent, and again once answered; a GET in flight meanwhile may read either side of the write.
+            forget(host);
+
+            try {
+                return context.next(request, response);
+            } finally {
+                forget(host);
+            }
+        }
+
+        if (bypassed.get() != null)
+            return context.next(request, response);
+
+        String key = request.getMethod() + " " + request.getURI() + " " + request.getHeaders().getValue("Accept");
+        String endpoint = ApiClient.endpointOf(request);
+
+        boolean memoized = memoEndpoints.contains(endpoint);
+
+        Response memo = memoized ? recall(key) : null;
+
+        if (memo != null) {
+            count(endpoint, MEMO);
+            return saved(endpoint, "answered from the memo", memo);
+        }
+
+        CompletableFuture<Response> call = new CompletableFuture<>();
+        CompletableFuture<Response> in_flight = inFlight.putIfAbsent(key, call);
+
+        if (in_flight != null) {
+            count(endpoint, IN_FLIGHT);
+            return saved(endpoint, "shared an identical request in flight", await(in_flight));
+        }
+
+        count(endpoint, NETWORK);
+
+        long writes = writesTo(host).get();
+
+        try {
+
+            Response received = context.next(request, response);
+
+            if (memoized && received.statusCode() / 100 == 2 && writesTo(host).get() == writes)
+                remember(key, host, received);
+
+            call.complete(received);
+
+            return received;
+
+        } catch (RuntimeException | Error e) {
+
+            call.completeExceptionally(e);
+
+            throw e;
+
+        } finally {
+
+            inFlight.remove(key, call);
+        }
+    }
+
+    //endregion
+
+    /**
+     * @return network calls, and those saved; per endpoint, as rows of a report table.
+     */
+    public String[][] toReportTable() {
+
+        List<String[]> rows = new ArrayList<>();
+
+        rows.add(new String[]{"endpoint", "network calls", "shared in flight", "memo hits", "calls saved"});
+
+        long[] totals = new long[3];
+
+        for (Map.Entry<String, LongAdder[]> endpoint : new TreeMap<>(counts).entrySet()) {
+
+            long[] endpoint_counts = new long[3];
+
+            for (int i = 0; i < endpoint_counts.length; i++) {
+                endpoint_counts[i] = endpoint.getValue()[i].sum();
+                totals[i] += endpoint_counts[i];
+            }
+
+            rows.add(row(endpoint.getKey(), endpoint_counts));
+        }
+
+        rows.add(row("all", totals));
+
+        synchronized (memos) {
+            rows.add(new String[]{"memos kept", String.valueOf(memos.size()), "", "", ""});
+        }
+
+        return rows.toArray(new String[0][]);
+    }
+
+    //region helper methods
+
+    private static Response await(CompletableFuture<Response> in_flight) {
+
+        try {
+
+            return in_flight.join();
+
+        } catch (CompletionException e) {
+
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+
+            if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+
+            throw e;
+        }
+    }
+
+    /**
+     * @return a copy of the response, for a caller whose request was not sent; logged to its test case, if any.
+     */
+    private static Response saved(String endpoint, String how, Response received) {
+
+        ReportLogger logger = HtmlReporter.currentLogger();
+
+        if (logger != null)
+            logger.info("%s %d ; not sent, %s.", endpoint, received.statusCode(), how);
+
+        Response copy = new ResponseBuilder().clone(received).build();
+
+        RequestTiming.answeredAlike(copy, received);
+
+        return copy;
+    }
+
+    private Response recall(String key) {
+
+        if (memoMillis == 0)
+            return null;
+
+        synchronized (memos) {
+
+            Memo memo = memos.get(key);
+
+            if (memo == null)
+                return null;
+
+            if (System.currentTimeMillis() - memo.keptAt > memoMillis) {
+                memos.remove(key);
+                return null;
+            }
+
+            return memo.response;
+        }
+    }
+
+    private void remember(String key, String host, Response received) {
+
+        if (memoMillis == 0 || memoMaxEntries == 0)
+            return;
+
+        synchronized (memos) {
+
+            memos.put(key, new Memo(host, received, System.currentTimeMillis()));
+
+            Iterator<Memo> least_recently_used = memos.values().iterator();
+
+            while (memos.size() > memoMaxEntries && least_recently_used.hasNext()) {
+                least_recently_used.next();
+                least_recently_used.remove();
+            }
+        }
+    }
+
+    /**
+     * Forgets every memo of the host; and counts the write, so that a response in flight to it is not kept.
+     */
+    void forget(String host) {
+
+        writesTo(host).incrementAndGet();
+
+        if (memoMillis == 0)
+            return;
+
+        synchronized (memos) {
+            memos.values().removeIf(memo -> memo.host.equals(host));
+        }
+    }
+
+    private AtomicLong writesTo(String host) {
+
+        AtomicLong writes = hostWrites.get(host);
+
+        return writes != null ? writes : hostWrites.computeIfAbsent(host, added -> new AtomicLong());
+    }
+
+    private void count(String endpoint, int how) {
+
+        LongAdder[] endpoint_counts = counts.get(endpoint);
+
+        if (endpoint_counts == null)
+            endpoint_counts = counts.computeIfAbsent(endpoint, added -> new LongAdder[]{new LongAdder(), new LongAdder(), new LongAdder()});
+
+        endpoint_counts[how].increment();
+    }
+
+    private static String[] row(String endpoint, long[] endpoint_counts) {
+        return new String[]{
+                endpoint,
+                String.valueOf(endpoint_counts[NETWORK]),
+                String.valueOf(endpoint_counts[IN_FLIGHT]),
+                String.valueOf(endpoint_counts[MEMO]),
+                String.valueOf(endpoint_counts[IN_FLIGHT] + endpoint_counts[MEMO])
+        };
+    }
+
+    //endregion
+
+    private static final class Memo {
+
+        private final String host;
+        private final Response response;
+        private final long keptAt;
+
+        private Memo(String host, Response response, long kept_at) {
+            this.host = host;
+            this.response = response;
+            this.keptAt = kept_at;
+        }
+    }
+
+}
@@ -0,0 +1,310 @@
+package utilities;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+
+/**
+ * Request Timing
+ * <p>
+ * Where the time of one http request went; each phase is timed where it happens, on the request's own thread:
+ * <ul>
+ *     <li>pool wait, dns, connect and tls; by {@link PooledHttpClient}'s connection manager, resolver and socket factories.</li>
+ *     <li>ttfb; from the request being sent, to its response headers arriving (http client interceptors).</li>
+ *     <li>download; reading the body, see {@link ApiClient}.</li>
+ * </ul>
+ * Parsing the body is the test's own work, done once, when and if it reads the body; so it is not a phase, nor
+ * part of the total. It is timed where it happens, by {@link ValidationSpec} and {@link JsonStreamSearch}, and
+ * {@link #parsed} onto the timing of the request that answered; logged to the test case parsing it, and added to the
+ * endpoint's {@link EndpointTimings}. A response that was never sent (cached) has no timing, so its parse is not timed.
+ * Phases of a reused connection (dns, connect, tls) are 0; as are all phases of a request sent by the {@link AsyncHttpEngine}.
+ * </p>
+ * <p>
+ * Each finished timing is logged to the Html Report test case running on the thread, if any; and added to
+ * the per endpoint {@link EndpointTimings}, and the run's {@link MetricsRegistry}; but for those sent
+ * {@link #untimed(Runnable)}, e.g. the {@link SuiteBootstrap}'s warm-up.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class RequestTiming {
+
+    public enum Phase {POOL_WAIT, DNS, CONNECT, TLS, TTFB, DOWNLOAD}
+
+    //region  helper variables
+
+    private static final ThreadLocal<RequestTiming> current = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> untimed = new ThreadLocal<>();
+
+    // every timed response still referenced; by identity, rest assured responses don't override equals.
+    private static final Map<Response, RequestTiming> answered = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final String endpoint;
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private long requestSentAt;
+    private long totalNanos;
+    private int statusCode;
+    private int bodyBytes;
+    private boolean reusedConnection;
+    private boolean sentAsync;
+    private long startedAt;
+
+    //endregion
+
+    private RequestTiming(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * @return timing of the request in flight on this thread, or null when there is none.
+     */
+    static RequestTiming current() {
+        return current.get();
+    }
+
+    /**
+     * Runs the call with this timing as the thread's current one; so a request sent on another thread
+     * (e.g. a {@link ResiliencePolicy} attempt) still has its phases timed.
+     */
+    static <R> R callWith(RequestTiming timing, Callable<R> call) throws Exception {
+
+        RequestTiming outer = current.get();
+
+        current.set(timing);
+
+        try {
+            return call.call();
+        } finally {
+            current.set(outer);
+        }
+    }
+
+    /**
+     * Runs the task with every request it sends on this thread left out of the timings, metrics and report; e.g. a warm-up.
+     */
+    static void untimed(Runnable task) {
+
+        Boolean outer = untimed.get();
+
+        untimed.set(Boolean.TRUE);
+
+        try {
+            task.run();
+        } finally {
+            untimed.set(outer);
+        }
+    }
+
+    /**
+     * @return a new timing of one attempt at this request, e.g. a {@link ResiliencePolicy} retry or hedge; never recorded
+     * itself, but {@link #adopt}ed by the request, if it's the attempt that answered.
+     */
+    RequestTiming newAttempt() {
+        return new RequestTiming(endpoint);
+    }
+
+    /**
+     * Adds the phases of an attempt that has ended; on the request's own thread, which has waited for it.
+     */
+    void adopt(RequestTiming attempt) {
+
+        for (int i = 0; i < phaseNanos.length; i++)
+            phaseNanos[i] += attempt.phaseNanos[i];
+
+        reusedConnection = attempt.reusedConnection;
+    }
+
+    //region recording
+
+    void add(Phase phase, long nanos) {
+        phaseNanos[phase.ordinal()] += nanos;
+    }
+
+    void requestSent(boolean reused_connection) {
+        this.requestSentAt = System.nanoTime();
+        this.reusedConnection = reused_connection;
+    }
+
+    void responseHeadersReceived() {
+        if (requestSentAt != 0)
+            add(Phase.TTFB, System.nanoTime() - requestSentAt);
+    }
+
+    //endregion
+
+    //region getters
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    //endregion
+
+    /**
+     * Rest Assured filter; the first of every {@link ApiClient} but the {@link RequestCoalescer}, so that it times the whole
+     * of every request that is sent.
+     */
+    static Response time(FilterableRequestSpecification request, FilterableResponseSpecification response, FilterContext context) {
+
+        RequestTiming timing = new RequestTiming(ApiClient.endpointOf(request));
+
+        RequestTiming outer = current.get();
+
+        current.set(timing);
+
+        long started_at = System.nanoTime();
+
+        try {
+
+            Response received = context.next(request, response);
+
+            timing.statusCode = received.statusCode();
+            timing.bodyBytes = received.asByteArray().length;
+
+            timing.answered(received);
+
+            return received;
+
+        } finally {
+
+            timing.totalNanos = System.nanoTime() - started_at;
+
+            current.set(outer);
+
+            timing.record(HtmlReporter.currentLogger());
+        }
+    }
+
+    /**
+     * Times a request sent by the {@link AsyncHttpEngine}; outside of any filter chain, or thread, so only its total
+     * is timed, from now until {@link #finishedAsync}.
+     */
+    static RequestTiming startedAsync(String endpoint) {
+
+        RequestTiming timing = new RequestTiming(endpoint);
+
+        timing.sentAsync = true;
+        timing.startedAt = System.nanoTime();
+
+        return timing;
+    }
+
+    /**
+     * Stops the clock of an async request; it's recorded by {@link #recordAsync}, once its future is completed.
+     *
+     * @param status_code, 0 when there was no response.
+     */
+    void finishedAsync(int status_code, int body_bytes) {
+
+        statusCode = status_code;
+        bodyBytes = body_bytes;
+
+        totalNanos = System.nanoTime() - startedAt;
+    }
+
+    /**
+     * @param logger, of the test case that sent the request; or null.
+     */
+    void recordAsync(ReportLogger logger) {
+        record(logger);
+    }
+
+    /**
+     * Links the response to this timing; so that its parse, if any, is {@link #parsed} onto it.
+     */
+    void answered(Response response) {
+        if (untimed.get() == null)
+            answered.put(response, this);
+    }
+
+    /**
+     * Links a copy of a timed response (e.g. a {@link RequestCoalescer} follower's) to the same timing.
+     */
+    static void answeredAlike(Response copy, Response timed) {
+
+        RequestTiming timing = answered.get(timed);
+
+        if (timing != null)
+            answered.put(copy, timing);
+    }
+
+    /**
+     * Adds the time the test took to parse the response's body, to its endpoint's timings; and logs it to the test
+     * case parsing it, if any. Nothing, for a response no timing answered (e.g. a cached one).
+     */
+    static void parsed(Response response, long parse_nanos) {
+
+        RequestTiming timing = answered.get(response);
+
+        if (timing == null)
+            return;
+
+        EndpointTimings.shared().recordParse(timing.endpoint, parse_nanos);
+
+        ReportLogger logger = HtmlReporter.currentLogger();
+
+        if (logger != null)
+            logger.info("%s %d ; parsed in %.2f ms, %d bytes.", timing.endpoint, timing.statusCode, parse_nanos / 1e6, timing.bodyBytes);
+    }
+
+    /**
+     * @return e.g. <code>GET breeds/list/all 200 in 12.40 ms; pool wait 0.01, dns 0.00, ... ms; 4096 bytes, reused connection</code>
+     */
+    @Override
+    public String toString() {
+
+        StringBuilder phases = new StringBuilder();
+
+        for (Phase phase : Phase.values()) {
+
+            if (phases.length() > 0)
+                phases.append(", ");
+
+            phases.append(phase.name().toLowerCase().replace('_', ' '))
+                    .append(' ')
+                    .append(String.format("%.2f", getNanos(phase) / 1e6));
+        }
+
+        return String.format("%s %d in %.2f ms; %s ms; %d bytes, %s",
+                endpoint, statusCode, totalNanos / 1e6, phases, bodyBytes, sentAsync ? "async" : reusedConnection ? "reused connection" : "new connection");
+    }
+
+    //region helper methods
+
+    /**
+     * Adds the finished timing to the endpoint's timings and the run's metrics; and logs it to the test case, if any.
+     */
+    private void record(ReportLogger logger) {
+
+        if (untimed.get() != null)
+            return;
+
+        EndpointTimings.shared().record(this);
+
+        MetricsRegistry.shared().recordRequest(this);
+
+        if (logger != null)
+            logger.request(this);
+    }
+
+    //endregion
+
+}
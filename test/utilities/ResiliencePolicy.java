@@ -0,0 +1,713 @@
+package utilities;
+
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Resilience Policy
+ * <p>
+ * A RestAssured {@link Filter}, that every {@link ApiClient} request goes through; so that a flaky upstream costs
+ * a retry rather than a failed run, and one that is down fails fast rather than every test waiting out its timeouts:
+ * <ul>
+ *     <li><b>deadlines</b>; a request, retries and all, fails once its endpoint's deadline has passed.</li>
+ *     <li><b>retries</b>; of idempotent GETs only, after an i/o error, a 429 or a 5xx; each after a full jitter,
+ *     exponential backoff (a random wait, up to a doubling cap).</li>
+ *     <li><b>hedging</b>; a GET still unanswered after its endpoint's p95 latency, is sent once more;
+ *     the first answer wins. At most <code>resilience.hedge.budget.percent</code> of a host's requests are hedged.</li>
+ *     <li><b>circuit breaker</b>; per host. Once <code>resilience.breaker.failures</code> requests in a row have failed,
+ *     it opens, and requests fail fast; after <code>resilience.breaker.open.ms</code>, one trial request is let through,
+ *     whose outcome closes or re-opens it. A request is one call, retries and hedges and all; it fails once, when its
+ *     last attempt does.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Each retry, hedge and trip is logged to the Html Report test case running on the thread; and counted, per host,
+ * in the "resilience" summary.
+ * </p>
+ * <ul>
+ *     <li><code>resilience.enabled</code>; (default true).</li>
+ *     <li><code>resilience.deadline.ms</code>; of every endpoint (default 30000); or of some, with
+ *     <code>resilience.deadlines=GET pet/{petId}=5000,GET breeds/list/all=10000</code>.</li>
+ *     <li><code>resilience.retries</code>; at most, per GET (default 2).</li>
+ *     <li><code>resilience.backoff.ms</code> and <code>resilience.backoff.max.ms</code>; cap of the first backoff, and of any (default 100, 2000).</li>
+ *     <li><code>resilience.hedge</code>; (default true).</li>
+ *     <li><code>resilience.hedge.delay.ms</code>; until an endpoint has 20 timings to take its p95 from (default 1000).</li>
+ *     <li><code>resilience.hedge.min.delay.ms</code>; shortest hedge delay (default 50).</li>
+ *     <li><code>resilience.hedge.budget.percent</code>; (default 10).</li>
+ *     <li><code>resilience.breaker.failures</code> and <code>resilience.breaker.open.ms</code>; (default 5, 30000).</li>
+ * </ul>
+ * <p>
+ * Attempts are sent on threads of their own, for the caller to stop waiting at the deadline, or for a hedge to win;
+ * an abandoned attempt ends within the {@link PooledHttpClient} read timeout. Each attempt is timed on its own; only
+ * the phases of the one that answered are added to the request's {@link RequestTiming}, so an abandoned one never
+ * writes to it.
+ * </p>
+ * <p>
+ * A request that exceeds its deadline, fails fast, or fails on an i/o error on every attempt, throws an {@link AssertionError};
+ * as the suite's own checks do, so it's reported as a failed test, not an error of the test itself.
+ * </p>
+ * <p>
+ * A request sent by the {@link AsyncHttpEngine} skips the filter chain; it's {@link #guard}ed instead, by its host's
+ * circuit and its endpoint's deadline, and its future fails with the same {@link AssertionError}. It is neither retried
+ * nor hedged; a future has no thread to back off, or race, on.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class ResiliencePolicy implements Filter {
+
+    //region  helper variables
+
+    public static final String ENABLED_PROPERTY = "resilience.enabled";
+    public static final String DEADLINE_PROPERTY = "resilience.deadline.ms";
+    public static final String ENDPOINT_DEADLINES_PROPERTY = "resilience.deadlines";
+    public static final String RETRIES_PROPERTY = "resilience.retries";
+    public static final String BACKOFF_PROPERTY = "resilience.backoff.ms";
+    public static final String MAX_BACKOFF_PROPERTY = "resilience.backoff.max.ms";
+    public static final String HEDGE_PROPERTY = "resilience.hedge";
+    public static final String HEDGE_DELAY_PROPERTY = "resilience.hedge.delay.ms";
+    public static final String MIN_HEDGE_DELAY_PROPERTY = "resilience.hedge.min.delay.ms";
+    public static final String HEDGE_BUDGET_PROPERTY = "resilience.hedge.budget.percent";
+    public static final String BREAKER_FAILURES_PROPERTY = "resilience.breaker.failures";
+    public static final String BREAKER_OPEN_PROPERTY = "resilience.breaker.open.ms";
+
+    private static final int HEDGE_PERCENTILE_MIN_SAMPLES = 20;
+
+    private static volatile ResiliencePolicy shared;
+
+    private final long deadlineMillis;
+    private final Map<String, Long> endpointDeadlineMillis;
+    private final int retries;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+    private final boolean hedging;
+    private final long hedgeDelayMillis;
+    private final long minHedgeDelayMillis;
+    private final int hedgeBudgetPercent;
+    private final int breakerFailures;
+    private final long breakerOpenNanos;
+
+    private final Map<String, Host> hosts = new ConcurrentHashMap<>();
+    private final ExecutorService attempts;
+    private final ScheduledExecutorService asyncDeadlines;
+
+    //endregion
+
+    private ResiliencePolicy() {
+
+        this.deadlineMillis = Long.getLong(DEADLINE_PROPERTY, 30_000L);
+        this.endpointDeadlineMillis = parseEndpointDeadlines(System.getProperty(ENDPOINT_DEADLINES_PROPERTY, ""));
+        this.retries = Integer.getInteger(RETRIES_PROPERTY, 2);
+        this.backoffMillis = Long.getLong(BACKOFF_PROPERTY, 100L);
+        this.maxBackoffMillis = Long.getLong(MAX_BACKOFF_PROPERTY, 2_000L);
+        this.hedging = Boolean.parseBoolean(System.getProperty(HEDGE_PROPERTY, "true"));
+        this.hedgeDelayMillis = Long.getLong(HEDGE_DELAY_PROPERTY, 1_000L);
+        this.minHedgeDelayMillis = Long.getLong(MIN_HEDGE_DELAY_PROPERTY, 50L);
+        this.hedgeBudgetPercent = Integer.getInteger(HEDGE_BUDGET_PROPERTY, 10);
+        this.breakerFailures = Integer.getInteger(BREAKER_FAILURES_PROPERTY, 5);
+        this.breakerOpenNanos = TimeUnit.MILLISECONDS.toNanos(Long.getLong(BREAKER_OPEN_PROPERTY, 30_000L));
+
+        if (retries < 0 || backoffMillis < 0 || maxBackoffMillis < backoffMillis || breakerFailures < 1)
+            throw new IllegalArgumentException("resilience.retries and resilience.backoff.ms must not be negative, "
+                    + "resilience.backoff.max.ms must not be below resilience.backoff.ms, and resilience.breaker.failures must be at least 1");
+
+        AtomicInteger thread_count = new AtomicInteger();
+
+        this.attempts = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "api-attempt-" + thread_count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.asyncDeadlines = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "api-async-deadlines");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return the policy of this run, or <code>null</code> when <code>resilience.enabled</code> is <code>false</code>.
+     */
+    public static ResiliencePolicy configured() {
+
+        if (!Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true")))
+            return null;
+
+        if (shared == null) {
+
+            synchronized (ResiliencePolicy.class) {
+
+                if (shared == null) {
+
+                    shared = new ResiliencePolicy();
+
+                    ResiliencePolicy policy = shared;
+
+                    HtmlReporter.registerSummary("resilience", policy::toReportTable);
+                }
+            }
+        }
+
+        return shared;
+    }
+
+    //region filter
+
+    @Override
+    public Response filter(FilterableRequestSpecification request, FilterableResponseSpecification response, FilterContext context) {
+
+        String endpoint = ApiClient.endpointOf(request);
+        Host host = host(ApiClient.hostOf(request));
+        ReportLogger logger = HtmlReporter.currentLogger();
+
+        boolean idempotent = isIdempotent(request.getMethod());
+        int max_attempts = idempotent ? retries + 1 : 1;
+        long deadline_millis = endpointDeadlineMillis.getOrDefault(endpoint, deadlineMillis);
+        long deadline_at = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadline_millis);
+
+        host.requests.increment();
+
+        // once per request, not per attempt; so that a half open circuit's trial is the whole request, retries and all.
+        if (!host.tryAcquire()) {
+
+            host.fastFails.increment();
+
+            if (logger != null)
+                logger.warning("circuit for %s is open; %s fails fast", host.name, endpoint);
+
+            throw new AssertionError(String.format("circuit for %s is open, after %d failed requests in a row; %s fails fast",
+                    host.name, breakerFailures, endpoint));
+        }
+
+        // settled once the request's outcome is recorded; anything else ending it (e.g. an interrupted backoff) is a failure,
+        // or a half open circuit would wait on its trial for ever.
+        boolean settled = false;
+
+        try {
+
+            for (int attempt = 1; ; attempt++) {
+
+                Response received = null;
+                Exception failure = null;
+
+                try {
+
+                    // the filter chain can be run once only; so a retry is sent as a request of its own.
+                    Callable<Response> send = attempt == 1
+                            ? () -> ApiClient.readBody(context.next(request, response))
+                            : () -> ApiClient.readBody(resend(request));
+
+                    received = race(send, request, endpoint, host, idempotent, deadline_at, logger);
+
+                } catch (DeadlineExceeded e) {
+
+                    host.deadlinesExceeded.increment();
+                    settled = true;
+                    recordFailure(host, logger);
+
+                    if (logger != null)
+                        logger.fail("%s exceeded its %d ms deadline, on attempt %d", endpoint, deadline_millis, attempt);
+
+                    throw new AssertionError(String.format("%s exceeded its %d ms deadline, on attempt %d", endpoint, deadline_millis, attempt));
+
+                } catch (Exception e) {
+                    failure = e;
+                }
+
+                if (failure == null && !isTransient(received.statusCode())) {
+                    settled = true;
+                    host.recordSuccess();
+                    return received;
+                }
+
+                long backoff_millis = ThreadLocalRandom.current().nextLong(backoffCapMillis(attempt) + 1);
+
+                if (attempt >= max_attempts || System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff_millis) >= deadline_at) {
+
+                    settled = true;
+                    recordFailure(host, logger);
+
+                    if (failure == null)
+                        return received;
+
+                    if (failure instanceof RuntimeException)
+                        throw (RuntimeException) failure;
+
+                    throw new AssertionError(endpoint + " failed, after " + attempt + " attempt(s); " + failure, failure);
+                }
+
+                host.retries.increment();
+
+                if (logger != null)
+                    logger.warning("retry %d of %d, %s after %s; backing off %d ms",
+                            attempt, retries, endpoint, failure != null ? failure : "status " + received.statusCode(), backoff_millis);
+
+                sleep(backoff_millis);
+            }
+
+        } finally {
+
+            if (!settled)
+                recordFailure(host, logger);
+        }
+    }
+
+    //endregion
+
+    /**
+     * Guards a request sent by the {@link AsyncHttpEngine}, outside of the filter chain; by its host's circuit, as one
+     * request, and its endpoint's deadline.
+     *
+     * @param send, sends the request; not called when the circuit is open.
+     * @return the response; or, completed exceptionally with an {@link AssertionError}, when the circuit is open or the
+     * deadline passes first (on the deadline timer's thread; the request itself runs on, until its read timeout).
+     */
+    CompletableFuture<Response> guard(String host_name, String endpoint, Supplier<CompletableFuture<Response>> send) {
+
+        Host host = host(host_name);
+        ReportLogger logger = HtmlReporter.currentLogger();
+        long deadline_millis = endpointDeadlineMillis.getOrDefault(endpoint, deadlineMillis);
+
+        CompletableFuture<Response> guarded = new CompletableFuture<>();
+
+        host.requests.increment();
+
+        if (!host.tryAcquire()) {
+
+            host.fastFails.increment();
+
+            if (logger != null)
+                logger.warning("circuit for %s is open; %s fails fast", host.name, endpoint);
+
+            guarded.completeExceptionally(new AssertionError(String.format("circuit for %s is open, after %d failed requests in a row; %s fails fast",
+                    host.name, breakerFailures, endpoint)));
+
+            return guarded;
+        }
+
+        // whichever completes the future first, the response or the deadline; records the request's outcome, once.
+        ScheduledFuture<?> deadline = asyncDeadlines.schedule(() -> {
+
+            if (!guarded.completeExceptionally(new AssertionError(String.format("%s exceeded its %d ms deadline", endpoint, deadline_millis))))
+                return;
+
+            host.deadlinesExceeded.increment();
+            recordFailure(host, logger);
+
+            if (logger != null)
+                logger.fail("%s exceeded its %d ms deadline", endpoint, deadline_millis);
+
+        }, deadline_millis, TimeUnit.MILLISECONDS);
+
+        CompletableFuture<Response> sent;
+
+        try {
+            sent = send.get();
+        } catch (RuntimeException e) {
+            deadline.cancel(false);
+            recordFailure(host, logger);
+            throw e;
+        }
+
+        sent.whenComplete((received, failure) -> {
+
+            deadline.cancel(false);
+
+            if (!(failure == null ? guarded.complete(received) : guarded.completeExceptionally(failure)))
+                return;
+
+            if (failure == null && !isTransient(received.statusCode()))
+                host.recordSuccess();
+            else
+                recordFailure(host, logger);
+        });
+
+        return guarded;
+    }
+
+    /**
+     * @return per host; state of its circuit, and counts of its retries, hedges and trips; under a header row.
+     */
+    public String[][] toReportTable() {
+
+        List<Host> by_name = new ArrayList<>(hosts.values());
+        by_name.sort((a, b) -> a.name.compareTo(b.name));
+
+        List<String[]> rows = new ArrayList<>();
+
+        rows.add(new String[]{"host", "circuit", "requests", "failures", "retries", "hedges", "hedges won", "trips", "fast fails", "deadlines exceeded"});
+
+        for (Host host : by_name)
+            rows.add(new String[]{
+                    host.name,
+                    host.getState().name().toLowerCase().replace('_', ' '),
+                    String.valueOf(host.requests.sum()),
+                    String.valueOf(host.failures.sum()),
+                    String.valueOf(host.retries.sum()),
+                    String.valueOf(host.hedges.sum()),
+                    String.valueOf(host.hedgesWon.sum()),
+                    String.valueOf(host.trips.sum()),
+                    String.valueOf(host.fastFails.sum()),
+                    String.valueOf(host.deadlinesExceeded.sum())
+            });
+
+        return rows.toArray(new String[0][]);
+    }
+
+    //region helper methods
+
+    private Host host(String name) {
+        return hosts.computeIfAbsent(name, host_name -> new Host(host_name, breakerFailures, breakerOpenNanos));
+    }
+
+    /**
+     * Sends the attempt, on its own thread; and, for a GET still unanswered after its hedge delay, a hedge. Each is
+     * timed on its own; the phases of the one returned are added to the request's timing, on this thread.
+     *
+     * @return the first answer that is not a transient failure; else the last one.
+     * @throws DeadlineExceeded when no answer arrives before the deadline.
+     */
+    private Response race(Callable<Response> send, FilterableRequestSpecification request,
+                          String endpoint, Host host, boolean idempotent, long deadline_at, ReportLogger logger) throws Exception {
+
+        RequestTiming timing = RequestTiming.current();
+        Map<Future<Response>, RequestTiming> attempt_timings = new HashMap<>();
+
+        long started_at = System.nanoTime();
+
+        CompletionService<Response> race = new ExecutorCompletionService<>(attempts);
+
+        submit(race, send, timing, attempt_timings);
+
+        int in_flight = 1;
+        Future<Response> hedge = null;
+        boolean may_hedge = idempotent && hedging;
+        long hedge_at = may_hedge ? started_at + TimeUnit.MILLISECONDS.toNanos(hedgeDelayMillis(endpoint)) : Long.MAX_VALUE;
+
+        Response last_received = null;
+        Future<Response> last_received_by = null;
+        Exception last_failure = null;
+
+        while (in_flight > 0) {
+
+            long wait_until = may_hedge ? Math.min(hedge_at, deadline_at) : deadline_at;
+
+            Future<Response> done;
+
+            try {
+                done = race.poll(wait_until - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted, while waiting for " + endpoint, e);
+            }
+
+            if (done == null) {
+
+                if (System.nanoTime() >= deadline_at)
+                    throw new DeadlineExceeded();
+
+                may_hedge = false;
+
+                if (host.tryHedge(hedgeBudgetPercent)) {
+
+                    hedge = submit(race, () -> resend(request), timing, attempt_timings);
+                    in_flight++;
+
+                    if (logger != null)
+                        logger.info("hedged %s, unanswered after %d ms", endpoint, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started_at));
+                }
+
+                continue;
+            }
+
+            in_flight--;
+
+            try {
+
+                last_received = done.get();
+                last_received_by = done;
+
+                if (!isTransient(last_received.statusCode()) || in_flight == 0) {
+
+                    adopt(timing, attempt_timings.get(done));
+
+                    if (done == hedge) {
+
+                        host.hedgesWon.increment();
+
+                        if (logger != null)
+                            logger.info("hedge of %s answered first", endpoint);
+                    }
+
+                    return last_received;
+                }
+
+            } catch (ExecutionException e) {
+                last_failure = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+
+            may_hedge = false;
+        }
+
+        if (last_received != null) {
+            adopt(timing, attempt_timings.get(last_received_by));
+            return last_received;
+        }
+
+        throw last_failure;
+    }
+
+    /**
+     * Submits an attempt, with a timing of its own; so that, if it's left running (a lost race, or past the deadline),
+     * it never writes to the request's timing.
+     */
+    private static Future<Response> submit(CompletionService<Response> race, Callable<Response> send,
+                                           RequestTiming timing, Map<Future<Response>, RequestTiming> attempt_timings) {
+
+        RequestTiming attempt_timing = timing == null ? null : timing.newAttempt();
+
+        Future<Response> attempt = race.submit(() -> RequestTiming.callWith(attempt_timing, send));
+
+        attempt_timings.put(attempt, attempt_timing);
+
+        return attempt;
+    }
+
+    /**
+     * Adds the phases of the attempt that answered, once it has ended, to the request's timing.
+     */
+    private static void adopt(RequestTiming timing, RequestTiming attempt_timing) {
+
+        if (timing != null && attempt_timing != null)
+            timing.adopt(attempt_timing);
+    }
+
+    /**
+     * Sends the (body-less) request again, as a request of its own; sharing nothing with the original but its headers
+     * and config (so, the pooled http client). Its body is read before it returns.
+     */
+    private static Response resend(FilterableRequestSpecification request) {
+
+        Response received = RestAssured.given()
+                .config(request.getConfig())
+                .urlEncodingEnabled(false)
+                .headers(request.getHeaders())
+                .request(request.getMethod(), request.getURI());
+
+        received.asByteArray();
+
+        return received;
+    }
+
+    /**
+     * @return the endpoint's p95 latency, once it has enough timings; else the configured delay.
+     */
+    private long hedgeDelayMillis(String endpoint) {
+
+        LatencyHistogram latency = EndpointTimings.shared().getLatency(endpoint);
+
+        if (latency == null || latency.getCount() < HEDGE_PERCENTILE_MIN_SAMPLES)
+            return hedgeDelayMillis;
+
+        return Math.max(minHedgeDelayMillis, TimeUnit.MICROSECONDS.toMillis(latency.getValueAtPercentile(95)));
+    }
+
+    /**
+     * @return cap of the backoff after the attempt; doubling from <code>resilience.backoff.ms</code>, up to <code>resilience.backoff.max.ms</code>.
+     */
+    private long backoffCapMillis(int attempt) {
+        return attempt > 30 ? maxBackoffMillis : Math.min(maxBackoffMillis, backoffMillis << (attempt - 1));
+    }
+
+    private void recordFailure(Host host, ReportLogger logger) {
+
+        host.failures.increment();
+
+        if (host.recordFailure() && logger != null)
+            logger.warning("circuit for %s opened; failing fast for %d ms", host.name, TimeUnit.NANOSECONDS.toMillis(breakerOpenNanos));
+    }
+
+    private static boolean isIdempotent(String method) {
+        return "GET".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method) || "OPTIONS".equalsIgnoreCase(method);
+    }
+
+    /**
+     * @return true for a status worth retrying; too many requests, or a server error other than not implemented.
+     */
+    private static boolean isTransient(int status_code) {
+        return status_code == 429 || (status_code >= 500 && status_code != 501);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted, while backing off!", e);
+        }
+    }
+
+    /**
+     * @param deadlines, e.g. <code>GET pet/{petId}=5000,GET breeds/list/all=10000</code>.
+     */
+    private static Map<String, Long> parseEndpointDeadlines(String deadlines) {
+
+        Map<String, Long> parsed = new HashMap<>();
+
+        for (String deadline : deadlines.split(",")) {
+
+            if (deadline.trim().isEmpty())
+                continue;
+
+            int equals = deadline.lastIndexOf('=');
+
+            try {
+                parsed.put(deadline.substring(0, equals).trim(), Long.parseLong(deadline.substring(equals + 1).trim()));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("resilience.deadlines entries must be '<METHOD> <path>=<ms>', not: " + deadline, e);
+            }
+        }
+
+        return Collections.unmodifiableMap(parsed);
+    }
+
+    //endregion
+
+    public enum State {CLOSED, OPEN, HALF_OPEN}
+
+    /**
+     * Counters and circuit of one host; its transitions public, to drive on a clock of the caller's (e.g. a unit test's).
+     */
+    public static final class Host {
+
+        private final String name;
+        private final int breakerFailures;
+        private final long breakerOpenNanos;
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder hedges = new LongAdder();
+        private final LongAdder hedgesWon = new LongAdder();
+        private final LongAdder trips = new LongAdder();
+        private final LongAdder fastFails = new LongAdder();
+        private final LongAdder deadlinesExceeded = new LongAdder();
+
+        private State state = State.CLOSED;
+        private int failuresInARow;
+        private long openedAt;
+
+        /**
+         * @param breaker_failures,   in a row; that open the circuit.
+         * @param breaker_open_nanos, the circuit stays open for; before a trial request is let through.
+         */
+        public Host(String name, int breaker_failures, long breaker_open_nanos) {
+            this.name = name;
+            this.breakerFailures = breaker_failures;
+            this.breakerOpenNanos = breaker_open_nanos;
+        }
+
+        public synchronized State getState() {
+            return state;
+        }
+
+        /**
+         * @return false, when the circuit is open; or half open, with its trial request already in flight.
+         */
+        private boolean tryAcquire() {
+            return tryAcquire(System.nanoTime());
+        }
+
+        public synchronized boolean tryAcquire(long now_nanos) {
+
+            if (state == State.CLOSED)
+                return true;
+
+            if (state == State.OPEN && now_nanos - openedAt >= breakerOpenNanos) {
+                state = State.HALF_OPEN; // the caller's request is the trial.
+                return true;
+            }
+
+            return false;
+        }
+
+        public synchronized void recordSuccess() {
+            failuresInARow = 0;
+            state = State.CLOSED;
+        }
+
+        /**
+         * @return true, when this failure opened the circuit.
+         */
+        private boolean recordFailure() {
+            return recordFailure(System.nanoTime());
+        }
+
+        public synchronized boolean recordFailure(long now_nanos) {
+
+            failuresInARow++;
+
+            if (state == State.HALF_OPEN || (state == State.CLOSED && failuresInARow >= breakerFailures)) {
+                state = State.OPEN;
+                openedAt = now_nanos;
+                trips.increment();
+                return true;
+            }
+
+            return false;
+        }
+
+        /**
+         * @return true, when a hedge is within the host's budget; and counts it.
+         */
+        private boolean tryHedge(int budget_percent) {
+
+            if (hedges.sum() * 100 >= requests.sum() * budget_percent)
+                return false;
+
+            hedges.increment();
+
+            return true;
+        }
+    }
+
+    /**
+     * No attempt answered before the request's deadline.
+     */
+    private static class DeadlineExceeded extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        private DeadlineExceeded() {
+            super(null, null, false, false);
+        }
+    }
+
+}
@@ -0,0 +1,541 @@
+package utilities;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Record And Replay Response Cache, for idempotent GETs
+ * <p>
+ * A RestAssured {@link Filter}, selected with <code>-Dapi.cache=record|replay</code> (default <code>off</code>):
+ * <ul>
+ *     <li><b>record</b>; a GET with a fresh recording is answered from it, any other GET goes to the network,
+ *     and its response (status line, headers, body) is appended to the store; a 2xx only, an error is never replayed.</li>
+ *     <li><b>replay</b>; every GET is answered from the store, with no network I/O at all.
+ *     A GET that has no fresh recording fails, rather than quietly going to the network.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * The store is one append-only segment file, <code>&lt;api.cache.dir&gt;/responses.seg</code> (default <code>./test_cache/</code>),
+ * of length-prefixed records; a newer record of a request supersedes the older. Only an index of
+ * request to file offset is held in memory, recordings are read back with positional reads.
+ * The index is an LRU bounded by <code>api.cache.max.entries</code> (default 1024) and
+ * <code>api.cache.max.bytes</code> (default 64 MB); and recordings older than
+ * <code>api.cache.ttl.seconds</code> (default 86400) are treated as absent.
+ * The segment is compacted on open, once more than half of it is superseded, evicted or expired; its indexed records
+ * copied to a new segment, a record at a time. So, as of each open, the file is at most twice <code>api.cache.max.bytes</code>.
+ * </p>
+ * <p>
+ * A record whose length or fields don't fit in the segment (e.g. a torn write, or a corrupt file) ends it; the segment
+ * is cut off there, on open. Read back, such a record is a miss.
+ * </p>
+ * <p>
+ * Hits and misses are counted per endpoint, e.g. <code>GET breed/{breed}/list</code>, and reported as an Html Report summary.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class ResponseCache implements Filter {
+
+    //region  helper variables
+
+    public static final String MODE_PROPERTY = "api.cache";
+    public static final String DIRECTORY_PROPERTY = "api.cache.dir";
+    public static final String TTL_PROPERTY = "api.cache.ttl.seconds";
+    public static final String MAX_ENTRIES_PROPERTY = "api.cache.max.entries";
+    public static final String MAX_BYTES_PROPERTY = "api.cache.max.bytes";
+
+    private static final String SEGMENT_FILE_NAME = "responses.seg";
+
+    private static volatile ResponseCache shared;
+
+    private final boolean replayOnly;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final long maxBytes;
+
+    private final Path segmentPath;
+    private final FileChannel segment;
+
+    /**
+     * request key to its latest record; in least recently used first order.
+     */
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(16, 0.75f, true);
+    private long indexedBytes;
+
+    private final Map<String, AtomicLong[]> hitsAndMisses = new ConcurrentHashMap<>();
+
+    //endregion
+
+    private ResponseCache(boolean replay_only) throws IOException {
+
+        this.replayOnly = replay_only;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(Long.getLong(TTL_PROPERTY, TimeUnit.DAYS.toSeconds(1)));
+        this.maxEntries = Integer.getInteger(MAX_ENTRIES_PROPERTY, 1024);
+        this.maxBytes = Long.getLong(MAX_BYTES_PROPERTY, 64L * 1024 * 1024);
+
+        Path directory = Paths.get(System.getProperty(DIRECTORY_PROPERTY, "./test_cache/"));
+        Files.createDirectories(directory);
+
+        this.segmentPath = directory.resolve(SEGMENT_FILE_NAME);
+
+        FileChannel opened = open(segmentPath);
+
+        loadIndex(opened);
+
+        this.segment = compactIfMostlyDead(opened);
+    }
+
+    /**
+     * @return the cache of this run, or <code>null</code> when <code>api.cache</code> is <code>off</code>.
+     */
+    public static ResponseCache configured() {
+
+        String mode = System.getProperty(MODE_PROPERTY, "off").toLowerCase();
+
+        if (!mode.equals("record") && !mode.equals("replay"))
+            return null;
+
+        if (shared == null) {
+
+            synchronized (ResponseCache.class) {
+
+                if (shared == null) {
+
+                    try {
+                        shared = new ResponseCache(mode.equals("replay"));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("could not open the response cache!", e);
+                    }
+
+                    ResponseCache cache = shared;
+
+                    HtmlReporter.registerSummary("response cache (" + mode + ")", cache::toReportTable);
+                }
+            }
+        }
+
+        return shared;
+    }
+
+    //region filter
+
+    @Override
+    public Response filter(FilterableRequestSpecification request, FilterableResponseSpecification response, FilterContext context) {
+
+        if (!"GET".equalsIgnoreCase(request.getMethod()))
+            return context.next(request, response);
+
+        String key = request.getMethod() + " " + request.getURI();
+        String endpoint = ApiClient.endpointOf(request);
+
+        Response recorded = read(key);
+
+        if (recorded != null) {
+            count(endpoint, 0);
+            return recorded;
+        }
+
+        count(endpoint, 1);
+
+        if (replayOnly)
+            throw new IllegalStateException("api.cache=replay, but there is no fresh recording of: " + key);
+
+        Response received = context.next(request, response);
+
+        if (received.statusCode() / 100 == 2)
+            append(key, received);
+
+        return received;
+    }
+
+    //endregion
+
+    /**
+     * @return hit and miss counts, and hit ratio; per endpoint, as rows of a report table.
+     */
+    public String[][] toReportTable() {
+
+        List<String[]> rows = new ArrayList<>();
+
+        rows.add(new String[]{"endpoint", "hits", "misses", "hit ratio"});
+
+        long total_hits = 0;
+        long total_misses = 0;
+
+        for (Map.Entry<String, AtomicLong[]> endpoint : new TreeMap<>(hitsAndMisses).entrySet()) {
+
+            long hits = endpoint.getValue()[0].get();
+            long misses = endpoint.getValue()[1].get();
+
+            total_hits += hits;
+            total_misses += misses;
+
+            rows.add(new String[]{endpoint.getKey(), String.valueOf(hits), String.valueOf(misses), ratio(hits, misses)});
+        }
+
+        rows.add(new String[]{"all", String.valueOf(total_hits), String.valueOf(total_misses), ratio(total_hits, total_misses)});
+
+        synchronized (index) {
+            rows.add(new String[]{"recordings indexed", String.valueOf(index.size()), indexedBytes / 1024 + " KB", ""});
+        }
+
+        return rows.toArray(new String[0][]);
+    }
+
+    //region store
+
+    private Response read(String key) {
+
+        Entry entry;
+
+        synchronized (index) {
+
+            entry = index.get(key);
+
+            if (entry != null && System.currentTimeMillis() - entry.recordedAt > ttlMillis) {
+                forget(key);
+                entry = null;
+            }
+        }
+
+        if (entry == null)
+            return null;
+
+        try {
+
+            ByteBuffer record = ByteBuffer.allocate(entry.length);
+
+            while (record.hasRemaining())
+                if (segment.read(record, entry.offset + record.position()) < 0)
+                    throw new EOFException("recording of " + key + " is cut short!");
+
+            return decode(new DataInputStream(new ByteArrayInputStream(record.array())));
+
+        } catch (IOException e) {
+
+            System.err.println("response cache, could not read " + key + ": " + e);
+
+            synchronized (index) {
+                forget(key);
+            }
+
+            return null;
+        }
+    }
+
+    private void append(String key, Response received) {
+
+        try {
+
+            byte[] record = encode(key, System.currentTimeMillis(), received);
+
+            synchronized (index) {
+
+                long offset = segment.size();
+
+                ByteBuffer framed = ByteBuffer.allocate(4 + record.length).putInt(record.length).put(record);
+                framed.flip();
+
+                while (framed.hasRemaining())
+                    segment.write(framed, offset + framed.position());
+
+                remember(key, new Entry(offset + 4, record.length, System.currentTimeMillis()));
+            }
+
+        } catch (IOException e) {
+
+            System.err.println("response cache, could not record " + key + ": " + e);
+        }
+    }
+
+    /**
+     * Record: recorded at, key, status code, status line, headers, body.
+     */
+    private static byte[] encode(String key, long recorded_at, Response received) throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        DataOutputStream record = new DataOutputStream(bytes);
+
+        record.writeLong(recorded_at);
+        record.writeUTF(key);
+        record.writeInt(received.statusCode());
+        record.writeUTF(received.statusLine());
+
+        List<Header> headers = received.headers().asList();
+
+        record.writeInt(headers.size());
+
+        for (Header header : headers) {
+            record.writeUTF(header.getName());
+            record.writeUTF(header.getValue());
+        }
+
+        byte[] body = received.asByteArray();
+
+        record.writeInt(body.length);
+        record.write(body);
+
+        return bytes.toByteArray();
+    }
+
+    private static Response decode(DataInputStream record) throws IOException {
+
+        record.readLong();
+        record.readUTF();
+
+        ResponseBuilder response = new ResponseBuilder()
+                .setStatusCode(record.readInt())
+                .setStatusLine(record.readUTF());
+
+        int header_count = record.readInt();
+
+        if (header_count < 0 || header_count > record.available() / 4)
+            throw new IOException("corrupt recording; " + header_count + " header(s), in " + record.available() + " bytes");
+
+        List<Header> headers = new ArrayList<>(header_count);
+
+        String content_type = null;
+
+        for (int i = 0; i < header_count; i++) {
+
+            Header header = new Header(record.readUTF(), record.readUTF());
+
+            if (header.getName().equalsIgnoreCase("Content-Type"))
+                content_type = header.getValue();
+
+            headers.add(header);
+        }
+
+        int body_length = record.readInt();
+
+        if (body_length < 0 || body_length > record.available())
+            throw new IOException("corrupt recording; a body of " + body_length + " bytes, in " + record.available());
+
+        byte[] body = new byte[body_length];
+        record.readFully(body);
+
+        response.setHeaders(new Headers(headers)).setBody(body);
+
+        if (content_type != null)
+            response.setContentType(content_type);
+
+        return response.build();
+    }
+
+    /**
+     * Scans the segment; each record's latest offset wins, unless expired. A record that doesn't fit (e.g. torn, at the
+     * tail of a crashed run; or corrupt) ends the segment, and is cut off with whatever follows it.
+     */
+    private void loadIndex(FileChannel segment) throws IOException {
+
+        long position = 0;
+        long size = segment.size();
+        long now = System.currentTimeMillis();
+
+        ByteBuffer length = ByteBuffer.allocate(4);
+        ByteBuffer head = ByteBuffer.allocate(8 + 2 + 65535);
+
+        while (position + 4 <= size) {
+
+            length.clear();
+            readFully(segment, length, position);
+            length.flip();
+
+            int record_length = length.getInt();
+
+            if (record_length <= 0 || record_length > size - position - 4)
+                break;
+
+            head.clear().limit(Math.min(head.capacity(), record_length));
+            readFully(segment, head, position + 4);
+
+            long recorded_at;
+            String key;
+
+            try {
+                DataInputStream record_head = new DataInputStream(new ByteArrayInputStream(head.array(), 0, head.position()));
+                recorded_at = record_head.readLong();
+                key = record_head.readUTF();
+            } catch (IOException e) {
+                break;
+            }
+
+            synchronized (index) {
+                if (now - recorded_at > ttlMillis)
+                    forget(key); // an older record of it, superseded by an expired one, is as stale.
+                else
+                    remember(key, new Entry(position + 4, record_length, recorded_at));
+            }
+
+            position += 4 + record_length;
+        }
+
+        if (position < size) {
+            System.err.printf("response cache: %s is cut off at %d of %d bytes, a record there doesn't fit.%n", segmentPath, position, size);
+            segment.truncate(position);
+        }
+    }
+
+    /**
+     * Copies the indexed records to a new segment, a record at a time, once more than half of the segment is not indexed
+     * (superseded, evicted or expired); and re-points the index at the copies.
+     *
+     * @return the segment, as compacted; or as it was.
+     */
+    private FileChannel compactIfMostlyDead(FileChannel segment) throws IOException {
+
+        synchronized (index) {
+
+            long live_size = 4L * index.size() + indexedBytes;
+
+            if (live_size * 2 >= segment.size())
+                return segment;
+
+            Path compacted_path = segmentPath.resolveSibling(SEGMENT_FILE_NAME + ".compacting");
+
+            Map<String, Entry> compacted_index = new LinkedHashMap<>();
+
+            try (FileChannel compacted = FileChannel.open(compacted_path,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+                ByteBuffer length = ByteBuffer.allocate(4);
+                long position = 0;
+
+                // least recently used first; so the index's order is kept.
+                for (Map.Entry<String, Entry> indexed : index.entrySet()) {
+
+                    Entry entry = indexed.getValue();
+
+                    length.clear();
+                    length.putInt(entry.length).flip();
+
+                    while (length.hasRemaining())
+                        compacted.write(length);
+
+                    for (long copied = 0; copied < entry.length; )
+                        copied += segment.transferTo(entry.offset + copied, entry.length - copied, compacted);
+
+                    compacted_index.put(indexed.getKey(), new Entry(position + 4, entry.length, entry.recordedAt));
+
+                    position += 4 + entry.length;
+                }
+
+                compacted.force(true);
+            }
+
+            segment.close();
+
+            Files.move(compacted_path, segmentPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            index.clear();
+            index.putAll(compacted_index);
+
+            return open(segmentPath);
+        }
+    }
+
+    private static FileChannel open(Path segment_path) throws IOException {
+        return FileChannel.open(segment_path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static void readFully(FileChannel segment, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining())
+            if (segment.read(buffer, position + buffer.position()) < 0)
+                throw new EOFException("segment ends at " + (position + buffer.position()));
+    }
+
+    //endregion
+
+    //region helper methods
+
+    /**
+     * Must hold the index lock.
+     */
+    private void remember(String key, Entry entry) {
+
+        forget(key);
+
+        index.put(key, entry);
+        indexedBytes += entry.length;
+
+        Iterator<Map.Entry<String, Entry>> least_recently_used = index.entrySet().iterator();
+
+        while ((index.size() > maxEntries || indexedBytes > maxBytes) && least_recently_used.hasNext()) {
+
+            Map.Entry<String, Entry> evicted = least_recently_used.next();
+
+            if (evicted.getKey().equals(key))
+                continue;
+
+            indexedBytes -= evicted.getValue().length;
+
+            least_recently_used.remove();
+        }
+    }
+
+    /**
+     * Must hold the index lock.
+     */
+    private void forget(String key) {
+
+        Entry forgotten = index.remove(key);
+
+        if (forgotten != null)
+            indexedBytes -= forgotten.length;
+    }
+
+    private void count(String endpoint, int hit_or_miss) {
+        hitsAndMisses.computeIfAbsent(endpoint, key -> new AtomicLong[]{new AtomicLong(), new AtomicLong()})[hit_or_miss].incrementAndGet();
+    }
+
+    private static String ratio(long hits, long misses) {
+        return hits + misses == 0 ? "-" : String.format("%.1f%%", 100.0 * hits / (hits + misses));
+    }
+
+    //endregion
+
+    private static final class Entry {
+
+        private final long offset;
+        private final int length;
+        private final long recordedAt;
+
+        private Entry(long offset, int length, long recorded_at) {
+            this.offset = offset;
+            this.length = length;
+            this.recordedAt = recorded_at;
+        }
+    }
+
+}
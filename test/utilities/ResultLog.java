@@ -0,0 +1,428 @@
+package utilities;
+
+import com.aventstack.extentreports.Status;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Result Log
+ * <p>
+ * A compact, append-only binary log of a run's results; written as the run goes, next to the Html Report
+ * (<code>./test_reports/&lt;report.title&gt;[_shard-i-of-n]_results.log</code>). {@link ReportMerger} merges any
+ * number of them, e.g. one per shard; and renders the Html Report once, from all of them.
+ * </p>
+ * <p>
+ * A header (magic <code>RLOG</code>, then a version short) is followed by records; each record is an int length,
+ * then its type byte and payload:
+ * <ul>
+ *     <li><b>test case</b>; id, start time, category, name, description.</li>
+ *     <li><b>log</b>; test case id, time, status, details; e.g. an assertion's pass or fail.</li>
+ *     <li><b>request</b>; test case id, time, endpoint, http status, total nanos, details (its {@link RequestTiming}).</li>
+ *     <li><b>summary</b>; time, title, table rows.</li>
+ * </ul>
+ * Strings are an int byte length (-1 for null), then their utf-8 bytes; times are epoch millis. Test case ids count up from 0,
+ * per log. A record cut short, e.g. by a JVM that died mid-write, ends the log; every record before it is still read.
+ * </p>
+ * <p>
+ * Appends are synchronized; a log that can't be written to, is reported once, and then ignored; it never fails a test.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class ResultLog implements Closeable {
+
+    //region  helper variables
+
+    public static final int NO_TEST_CASE = -1;
+
+    private static final int MAGIC = 0x524C4F47; // "RLOG"
+    private static final short VERSION = 1;
+
+    private static final byte TEST_CASE = 1;
+    private static final byte LOG = 2;
+    private static final byte REQUEST = 3;
+    private static final byte SUMMARY = 4;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Status[] STATUSES = Status.values();
+
+    private final Path path;
+    private final Record record = new Record();
+    private DataOutputStream out;
+
+    private int testCases;
+    private long records;
+
+    //endregion
+
+    private ResultLog(Path path, DataOutputStream out) {
+        this.path = path;
+        this.out = out;
+    }
+
+    /**
+     * Creates the log, replacing an earlier one at the path.
+     *
+     * @return the log; one that ignores every append, when the file could not be created.
+     */
+    public static ResultLog create(Path path) {
+
+        try {
+
+            if (path.getParent() != null)
+                Files.createDirectories(path.getParent());
+
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
+
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+
+            return new ResultLog(path, out);
+
+        } catch (IOException e) {
+
+            System.err.println("result log: could not create " + path + "; " + e);
+
+            return new ResultLog(path, null);
+        }
+    }
+
+    /**
+     * @return a log that ignores every append; e.g. for a run too long to keep every result of.
+     */
+    public static ResultLog none() {
+        return new ResultLog(null, null);
+    }
+
+    //region getters
+
+    public Path getPath() {
+        return path;
+    }
+
+    public synchronized long getRecordCount() {
+        return records;
+    }
+
+    //endregion
+
+    //region writing
+
+    /**
+     * @return the test case's id, for its log and request records; or {@link #NO_TEST_CASE}, when the log is not written to.
+     */
+    public synchronized int testCase(long started_at, String category, String name, String description) {
+
+        if (out == null)
+            return NO_TEST_CASE;
+
+        int test_case = testCases++;
+
+        record.begin(TEST_CASE);
+        record.writeInt(test_case);
+        record.writeLong(started_at);
+        record.writeString(category);
+        record.writeString(name);
+        record.writeString(description);
+
+        append();
+
+        return test_case;
+    }
+
+    public synchronized void log(int test_case, long logged_at, Status status, String details) {
+
+        if (out == null || test_case == NO_TEST_CASE)
+            return;
+
+        record.begin(LOG);
+        record.writeInt(test_case);
+        record.writeLong(logged_at);
+        record.writeByte(status.ordinal());
+        record.writeString(details);
+
+        append();
+    }
+
+    public synchronized void request(int test_case, long logged_at, String endpoint, int status_code, long total_nanos, String details) {
+
+        if (out == null || test_case == NO_TEST_CASE)
+            return;
+
+        record.begin(REQUEST);
+        record.writeInt(test_case);
+        record.writeLong(logged_at);
+        record.writeString(endpoint);
+        record.writeInt(status_code);
+        record.writeLong(total_nanos);
+        record.writeString(details);
+
+        append();
+    }
+
+    /**
+     * @param rows, the summary's table; a later summary of the same title, replaces it.
+     */
+    public synchronized void summary(long logged_at, String title, String[][] rows) {
+
+        if (out == null)
+            return;
+
+        record.begin(SUMMARY);
+        record.writeLong(logged_at);
+        record.writeString(title);
+        record.writeInt(rows.length);
+
+        for (String[] row : rows) {
+            record.writeInt(row.length);
+            for (String cell : row)
+                record.writeString(cell);
+        }
+
+        append();
+    }
+
+    public synchronized void flush() {
+
+        if (out == null)
+            return;
+
+        try {
+            out.flush();
+        } catch (IOException e) {
+            failed(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+
+        if (out == null)
+            return;
+
+        try {
+            out.close();
+        } catch (IOException e) {
+            System.err.println("result log: could not close " + path + "; " + e);
+        } finally {
+            out = null;
+        }
+    }
+
+    //endregion
+
+    //region reading
+
+    /**
+     * Receives a log's records, in the order they were written; override the ones of interest.
+     */
+    public interface Visitor {
+
+        default void testCase(int test_case, long started_at, String category, String name, String description) {
+        }
+
+        default void log(int test_case, long logged_at, Status status, String details) {
+        }
+
+        default void request(int test_case, long logged_at, String endpoint, int status_code, long total_nanos, String details) {
+        }
+
+        default void summary(long logged_at, String title, String[][] rows) {
+        }
+    }
+
+    /**
+     * Reads every whole record of the log; unknown record types are skipped.
+     *
+     * @return count of the records read; negative (minus one, less the count) when the log ended in a cut short record.
+     * @throws UncheckedIOException when the file can't be read, or is not a result log.
+     */
+    public static long read(Path path, Visitor visitor) {
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE))) {
+
+            if (in.readInt() != MAGIC)
+                throw new IOException("not a result log");
+
+            short version = in.readShort();
+
+            if (version != VERSION)
+                throw new IOException("result log version " + version + "; only version " + VERSION + " is read");
+
+            byte[] payload = new byte[256];
+
+            long read = 0;
+
+            while (true) {
+
+                int length;
+
+                try {
+                    length = in.readInt();
+                } catch (EOFException end_of_log) {
+                    return read;
+                }
+
+                if (length < 1)
+                    return -1 - read;
+
+                if (payload.length < length)
+                    payload = new byte[Math.max(length, payload.length * 2)];
+
+                try {
+                    in.readFully(payload, 0, length);
+                } catch (EOFException cut_short) {
+                    return -1 - read;
+                }
+
+                dispatch(ByteBuffer.wrap(payload, 0, length), visitor);
+
+                read++;
+            }
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not read result log " + path, e);
+        }
+    }
+
+    //endregion
+
+    //region helper methods
+
+    private void append() {
+
+        try {
+
+            out.writeInt(record.size());
+            record.writeTo(out);
+
+            records++;
+
+        } catch (IOException e) {
+            failed(e);
+        }
+    }
+
+    private void failed(IOException e) {
+
+        System.err.println("result log: could not write " + path + ", no more results are logged to it; " + e);
+
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // already failing.
+        }
+
+        out = null;
+    }
+
+    private static void dispatch(ByteBuffer record, Visitor visitor) {
+
+        switch (record.get()) {
+
+            case TEST_CASE:
+                visitor.testCase(record.getInt(), record.getLong(), readString(record), readString(record), readString(record));
+                break;
+
+            case LOG:
+                visitor.log(record.getInt(), record.getLong(), STATUSES[record.get()], readString(record));
+                break;
+
+            case REQUEST:
+                visitor.request(record.getInt(), record.getLong(), readString(record), record.getInt(), record.getLong(), readString(record));
+                break;
+
+            case SUMMARY:
+
+                long logged_at = record.getLong();
+                String title = readString(record);
+                String[][] rows = new String[record.getInt()][];
+
+                for (int i = 0; i < rows.length; i++) {
+                    rows[i] = new String[record.getInt()];
+                    for (int j = 0; j < rows[i].length; j++)
+                        rows[i][j] = readString(record);
+                }
+
+                visitor.summary(logged_at, title, rows);
+                break;
+
+            default:
+                // written by a later version; its length lets it be skipped.
+        }
+    }
+
+    private static String readString(ByteBuffer record) {
+
+        int length = record.getInt();
+
+        if (length < 0)
+            return null;
+
+        String value = new String(record.array(), record.arrayOffset() + record.position(), length, StandardCharsets.UTF_8);
+
+        record.position(record.position() + length);
+
+        return value;
+    }
+
+    //endregion
+
+    /**
+     * The record being written; reused for every record, so an append allocates nothing but its strings' bytes.
+     */
+    private static final class Record extends ByteArrayOutputStream {
+
+        private Record() {
+            super(256);
+        }
+
+        private void begin(byte type) {
+            reset();
+            write(type);
+        }
+
+        private void writeByte(int value) {
+            write(value);
+        }
+
+        private void writeInt(int value) {
+            write(value >>> 24);
+            write(value >>> 16);
+            write(value >>> 8);
+            write(value);
+        }
+
+        private void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        private void writeString(String value) {
+
+            if (value == null) {
+                writeInt(-1);
+                return;
+            }
+
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+            writeInt(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+    }
+
+}
@@ -0,0 +1,188 @@
+package utilities;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rolling Window
+ * <p>
+ * Successes, failures and latencies of the last span of time (e.g. the last 5 minutes); in a fixed ring of slots,
+ * each covering an equal slice of the span. A slot is reused, once its slice is a whole span old; so memory stays
+ * the same, however long the window is kept rolling.
+ * </p>
+ * <p>
+ * Recording is lock-free, but for the first record of a slice, which resets its slot; a record racing that reset,
+ * may be counted in the new slice. A {@link #snapshot()} covers the current slice, and the slots before it;
+ * so between a span, less one slice, and a whole span.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class RollingWindow {
+
+    //region  helper variables
+
+    private final String name;
+    private final long sliceMillis;
+    private final Slot[] slots;
+
+    //endregion
+
+    /**
+     * @param name,   e.g. <code>5m</code>.
+     * @param span,   of the window.
+     * @param slices, the span is split into; more, for a smoother roll, but a bigger window.
+     */
+    public RollingWindow(String name, long span, TimeUnit unit, int slices) {
+
+        if (slices < 1 || unit.toMillis(span) < slices)
+            throw new IllegalArgumentException(String.format("a window needs at least one slice, of at least 1 ms; %s was %d ms in %d slices", name, unit.toMillis(span), slices));
+
+        this.name = name;
+        this.sliceMillis = unit.toMillis(span) / slices;
+        this.slots = new Slot[slices];
+
+        for (int i = 0; i < slices; i++)
+            slots[i] = new Slot();
+    }
+
+    //region getter
+
+    public String getName() {
+        return name;
+    }
+
+    //endregion
+
+    public void record(boolean success, long nanos) {
+        record(success, nanos, System.currentTimeMillis());
+    }
+
+    /**
+     * As {@link #record(boolean, long)}; at a time of the caller's clock (e.g. a unit test's), in epoch millis.
+     */
+    public void record(boolean success, long nanos, long now_millis) {
+
+        long slice = now_millis / sliceMillis;
+
+        Slot slot = slots[(int) (slice % slots.length)];
+
+        if (slot.slice != slice) {
+
+            synchronized (slot) {
+
+                if (slot.slice > slice)
+                    return; // held up for longer than the whole window; its slice is gone.
+
+                if (slot.slice != slice) {
+                    slot.successes.reset();
+                    slot.failures.reset();
+                    slot.latency.reset();
+                    slot.slice = slice;
+                }
+            }
+        }
+
+        if (success)
+            slot.successes.increment();
+        else
+            slot.failures.increment();
+
+        slot.latency.recordNanos(nanos);
+    }
+
+    /**
+     * @return the window's totals, as of now.
+     */
+    public Snapshot snapshot() {
+        return snapshot(System.currentTimeMillis());
+    }
+
+    /**
+     * @return the window's totals, as of a time of the caller's clock (e.g. a unit test's), in epoch millis.
+     */
+    public Snapshot snapshot(long now_millis) {
+
+        long current_slice = now_millis / sliceMillis;
+
+        Snapshot snapshot = new Snapshot(name);
+
+        for (Slot slot : slots) {
+
+            long slice = slot.slice;
+
+            if (slice > current_slice - slots.length && slice <= current_slice) {
+                snapshot.successes += slot.successes.sum();
+                snapshot.failures += slot.failures.sum();
+                snapshot.latency.add(slot.latency);
+            }
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * @return the slice now is in; changes every span / slices.
+     */
+    long sliceOf(long now_millis) {
+        return now_millis / sliceMillis;
+    }
+
+    private static final class Slot {
+
+        private volatile long slice = -1;
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+    }
+
+    /**
+     * Totals of a window, at one moment.
+     */
+    public static final class Snapshot {
+
+        private final String window;
+        private long successes;
+        private long failures;
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private Snapshot(String window) {
+            this.window = window;
+        }
+
+        public String getWindow() {
+            return window;
+        }
+
+        public long getCount() {
+            return successes + failures;
+        }
+
+        /**
+         * @return 0 to 100; or NaN, when nothing was recorded.
+         */
+        public double getSuccessPercent() {
+            return getCount() == 0 ? Double.NaN : 100.0 * successes / getCount();
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        /**
+         * @return e.g. <code>98.5% of 200; p50=1.20 ms p95=4.10 ms p99=9.80 ms</code>; or <code>-</code>, when nothing was recorded.
+         */
+        @Override
+        public String toString() {
+
+            if (getCount() == 0)
+                return "-";
+
+            return String.format("%.1f%% of %d; p50=%s p95=%s p99=%s", getSuccessPercent(), getCount(),
+                    LatencyHistogram.millis(latency.getValueAtPercentile(50)),
+                    LatencyHistogram.millis(latency.getValueAtPercentile(95)),
+                    LatencyHistogram.millis(latency.getValueAtPercentile(99)));
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+package utilities;
+
+import org.junit.runner.Runner;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Scenario Runner
+ * <p>
+ * A {@link Parameterized} runner, for data-driven test classes; each parameter set (e.g. a {@link ScenarioTable} row)
+ * is a test case of its own, and:
+ * <ul>
+ *     <li>only cases of this JVM's {@link Shard} are run; the case id being the parameter set's name,
+ *     so name them <code>@Parameters(name = "{0}")</code>, with the case id first.</li>
+ *     <li>cases run in parallel, on a pool of <code>scenario.concurrency</code> threads (default 4);
+ *     each case's test methods, one after another, on the one thread.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Test classes run by it must only share thread safe state between cases; e.g. the {@link HtmlReporter},
+ * whose loggers are per thread, so each case still logs to its own test case.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class ScenarioRunner extends Parameterized {
+
+    //region  helper variables
+
+    public static final String CONCURRENCY_PROPERTY = "scenario.concurrency";
+    private static final int DEFAULT_CONCURRENCY = 4;
+
+    private final List<Runner> shardCases;
+
+    //endregion
+
+    public ScenarioRunner(Class<?> test_class) throws Throwable {
+
+        super(test_class);
+
+        Shard shard = Shard.current();
+
+        List<Runner> all_cases = super.getChildren();
+        List<Runner> shard_cases = new ArrayList<>();
+
+        for (Runner test_case : all_cases)
+            if (shard.owns(caseIdOf(test_case)))
+                shard_cases.add(test_case);
+
+        this.shardCases = Collections.unmodifiableList(shard_cases);
+
+        int concurrency = Integer.getInteger(CONCURRENCY_PROPERTY, DEFAULT_CONCURRENCY);
+
+        if (concurrency < 1)
+            throw new IllegalArgumentException("scenario.concurrency must be at least 1; was " + concurrency);
+
+        if (concurrency > 1)
+            setScheduler(new ParallelScheduler(test_class.getSimpleName() + "-case", concurrency));
+
+        HtmlReporter.registerSummary("scenarios: " + test_class.getSimpleName(), () -> new String[][]{
+                {"cases", String.valueOf(all_cases.size())},
+                {"cases in this shard", String.valueOf(shard_cases.size())},
+                {"shard", shard.toString()},
+                {"concurrency", String.valueOf(concurrency)}
+        });
+    }
+
+    @Override
+    protected List<Runner> getChildren() {
+        return shardCases;
+    }
+
+    //region helper methods
+
+    /**
+     * @return the case's name, without the brackets Parameterized puts around it; e.g. <code>hound</code>.
+     */
+    private static String caseIdOf(Runner test_case) {
+
+        String name = test_case.getDescription().getDisplayName();
+
+        return name.startsWith("[") && name.endsWith("]") ? name.substring(1, name.length() - 1) : name;
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,219 @@
+package utilities;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Scenario Table
+ * <p>
+ * Rows of test case inputs, each one expanded by the {@link ScenarioRunner} into a test case of its own;
+ * read from a table in <code>./test_data/</code>, or built from a live response.
+ * </p>
+ * <ul>
+ *     <li><b>.csv</b>; a header row of column names, then one row per case. Fields may be double quoted
+ *     (a quote within, doubled); blank lines, and lines starting with <code>#</code>, are skipped.</li>
+ *     <li><b>.json</b>; an array of objects, one per case; their values read as strings.</li>
+ * </ul>
+ * <p>
+ * Every row needs a unique, non-empty <code>case_id</code>; which names the case, and decides its {@link Shard}.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class ScenarioTable {
+
+    //region  helper variables
+
+    public static final String CASE_ID_COLUMN = "case_id";
+
+    private final List<Map<String, String>> rows;
+
+    //endregion
+
+    /**
+     * @param rows, column name to value; each with a unique <code>case_id</code>.
+     */
+    public ScenarioTable(List<Map<String, String>> rows) {
+
+        Set<String> case_ids = new HashSet<>();
+
+        for (Map<String, String> row : rows) {
+
+            String case_id = row.get(CASE_ID_COLUMN);
+
+            if (case_id == null || case_id.isEmpty())
+                throw new IllegalArgumentException("every row needs a case_id; this one has none: " + row);
+
+            if (!case_ids.add(case_id))
+                throw new IllegalArgumentException("case_id " + case_id + " is in more than one row");
+        }
+
+        this.rows = Collections.unmodifiableList(new ArrayList<>(rows));
+    }
+
+    /**
+     * @param path, of a <code>.csv</code> or <code>.json</code> table.
+     */
+    public static ScenarioTable load(String path) {
+
+        Path table = Paths.get(path);
+
+        try (BufferedReader reader = Files.newBufferedReader(table, StandardCharsets.UTF_8)) {
+
+            if (path.toLowerCase().endsWith(".json"))
+                return new ScenarioTable(readJson(reader));
+
+            if (path.toLowerCase().endsWith(".csv"))
+                return new ScenarioTable(readCsv(reader, path));
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not read scenario table " + path, e);
+        }
+
+        throw new IllegalArgumentException("scenario tables are .csv or .json files; not " + path);
+    }
+
+    //region getter
+
+    public List<Map<String, String>> getRows() {
+        return rows;
+    }
+
+    //endregion
+
+    /**
+     * @param columns, after the case id; a column missing from a row, is passed as an empty string.
+     * @return one parameter set per row; its case id, then the columns' values, in order.
+     */
+    public List<Object[]> toParameters(String... columns) {
+
+        List<Object[]> parameters = new ArrayList<>(rows.size());
+
+        for (Map<String, String> row : rows) {
+
+            Object[] values = new Object[columns.length + 1];
+
+            values[0] = row.get(CASE_ID_COLUMN);
+
+            for (int i = 0; i < columns.length; i++)
+                values[i + 1] = row.getOrDefault(columns[i], "");
+
+            parameters.add(values);
+        }
+
+        return parameters;
+    }
+
+    //region helper methods
+
+    private static List<Map<String, String>> readCsv(BufferedReader reader, String path) throws IOException {
+
+        List<Map<String, String>> rows = new ArrayList<>();
+        List<String> header = null;
+
+        int line_number = 0;
+
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+
+            line_number++;
+
+            if (line.trim().isEmpty() || line.startsWith("#"))
+                continue;
+
+            List<String> fields = splitCsvLine(line);
+
+            if (header == null) {
+                header = fields;
+                continue;
+            }
+
+            if (fields.size() > header.size())
+                throw new IllegalArgumentException(String.format("%s line %d has %d fields, but only %d columns", path, line_number, fields.size(), header.size()));
+
+            Map<String, String> row = new LinkedHashMap<>();
+
+            for (int i = 0; i < fields.size(); i++)
+                row.put(header.get(i), fields.get(i));
+
+            rows.add(row);
+        }
+
+        return rows;
+    }
+
+    private static List<String> splitCsvLine(String line) {
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+
+            char c = line.charAt(i);
+
+            if (quoted) {
+
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        fields.add(field.toString().trim());
+
+        return fields;
+    }
+
+    private static List<Map<String, String>> readJson(Reader reader) {
+
+        List<Map<String, String>> rows = new ArrayList<>();
+
+        for (JsonElement element : new JsonParser().parse(reader).getAsJsonArray()) {
+
+            JsonObject object = element.getAsJsonObject();
+
+            Map<String, String> row = new LinkedHashMap<>();
+
+            for (Map.Entry<String, JsonElement> value : object.entrySet())
+                row.put(value.getKey(), value.getValue().isJsonNull() ? "" : value.getValue().getAsString());
+
+            rows.add(row);
+        }
+
+        return rows;
+    }
+
+    //endregion
+
+}
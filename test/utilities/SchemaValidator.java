@@ -0,0 +1,413 @@
+package utilities;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Schema Validator
+ * <p>
+ * A Swagger 2.0 schema (e.g. <code>#/definitions/Pet</code>), compiled once into a tree of checks; then reused, by
+ * any number of threads, for every response body it's asked to validate. See {@link OpenApiSpec#validatorOf(JsonObject)},
+ * which compiles each schema once per run.
+ * </p>
+ * <p>
+ * {@link #validate(byte[])} reads the body in one streamed pass, checking each value as it's read; no tree of the body
+ * is built. Every violation is collected, up to {@value #MAX_VIOLATIONS}, with the path it was found at;
+ * e.g. <code>$[3].tags[0].id: expected integer, was STRING</code>.
+ * </p>
+ * <p>
+ * Checked; <code>type</code>, <code>format</code> (int32 and int64 ranges), <code>enum</code>, <code>required</code>,
+ * <code>properties</code>, <code>additionalProperties</code> (a schema, or <code>false</code>), <code>items</code> and
+ * <code>$ref</code>. Anything else (e.g. <code>xml</code>, <code>example</code>) is ignored; properties not in the schema
+ * are allowed, as Swagger allows them by default. A <code>null</code> is only valid where the schema has no type.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public abstract class SchemaValidator {
+
+    //region  helper variables
+
+    public static final int MAX_VIOLATIONS = 20;
+
+    private static final SchemaValidator ANY = new SchemaValidator() {
+        @Override
+        void check(JsonReader reader, Location location, List<String> violations) throws IOException {
+            reader.skipValue();
+        }
+    };
+
+    //endregion
+
+    SchemaValidator() {
+    }
+
+    /**
+     * @param schema,      a schema object; e.g. a response's <code>schema</code>.
+     * @param definitions, resolves a <code>$ref</code> (e.g. <code>#/definitions/Pet</code>) to its compiled validator;
+     *                     only called once per reference, on its first use.
+     * @throws IllegalArgumentException on a schema type that is not a Swagger 2.0 one.
+     */
+    public static SchemaValidator compile(JsonObject schema, Function<String, SchemaValidator> definitions) {
+
+        if (schema.has("$ref"))
+            return new Reference(schema.get("$ref").getAsString(), definitions);
+
+        String type = schema.has("type") ? schema.get("type").getAsString() : schema.has("properties") ? "object" : null;
+
+        if (type == null)
+            return ANY;
+
+        switch (type) {
+
+            case "object":
+                return new ObjectSchema(schema, definitions);
+
+            case "array":
+                return new ArraySchema(schema.has("items") ? compile(schema.getAsJsonObject("items"), definitions) : ANY);
+
+            case "string":
+                return new StringSchema(enumOf(schema));
+
+            case "integer":
+                return new IntegerSchema(schema.has("format") ? schema.get("format").getAsString() : "");
+
+            case "number":
+                return new ScalarSchema("number", JsonToken.NUMBER);
+
+            case "boolean":
+                return new ScalarSchema("boolean", JsonToken.BOOLEAN);
+
+            case "file":
+                return ANY;
+
+            default:
+                throw new IllegalArgumentException("not a swagger 2.0 schema type; " + type);
+        }
+    }
+
+    /**
+     * @return every violation of the schema, in the order they were read; none when the body is valid.
+     */
+    public List<String> validate(byte[] body) {
+
+        List<String> violations = new ArrayList<>();
+
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8))) {
+
+            check(reader, new Location(), violations);
+
+            if (reader.peek() != JsonToken.END_DOCUMENT)
+                violate(violations, "$", "more than one json value");
+
+        } catch (IOException | RuntimeException e) {
+            violate(violations, "$", "body is not json; " + e.getMessage());
+        }
+
+        return violations;
+    }
+
+    /**
+     * Reads the value at the reader, whole; adding any violations of it to the list.
+     */
+    abstract void check(JsonReader reader, Location location, List<String> violations) throws IOException;
+
+    //region helper methods
+
+    /**
+     * @return true, when the value is of the expected token; otherwise reports and skips it.
+     */
+    static boolean expect(JsonReader reader, JsonToken expected, String type, Location location, List<String> violations) throws IOException {
+
+        JsonToken token = reader.peek();
+
+        if (token == expected)
+            return true;
+
+        violate(violations, location, "expected " + type + ", was " + token);
+
+        reader.skipValue();
+
+        return false;
+    }
+
+    static void violate(List<String> violations, Object location, String violation) {
+
+        if (violations.size() < MAX_VIOLATIONS)
+            violations.add(location + ": " + violation);
+    }
+
+    private static Set<String> enumOf(JsonObject schema) {
+
+        if (!schema.has("enum"))
+            return null;
+
+        Set<String> values = new LinkedHashSet<>();
+
+        for (JsonElement value : schema.getAsJsonArray("enum"))
+            values.add(value.getAsString());
+
+        return values;
+    }
+
+    //endregion
+
+    /**
+     * Where the reader is, in the body; as a stack of property names and array indexes, only rendered for a violation.
+     */
+    static final class Location {
+
+        private Object[] segments = new Object[16];
+        private int depth;
+
+        void push(Object segment) {
+
+            if (depth == segments.length)
+                segments = Arrays.copyOf(segments, depth * 2);
+
+            segments[depth++] = segment;
+        }
+
+        void set(Object segment) {
+            segments[depth - 1] = segment;
+        }
+
+        void pop() {
+            segments[--depth] = null;
+        }
+
+        /**
+         * @return e.g. <code>$[3].tags[0].id</code>
+         */
+        @Override
+        public String toString() {
+
+            StringBuilder path = new StringBuilder("$");
+
+            for (int i = 0; i < depth; i++) {
+
+                if (segments[i] instanceof Integer)
+                    path.append('[').append(segments[i]).append(']');
+                else
+                    path.append('.').append(segments[i]);
+            }
+
+            return path.toString();
+        }
+    }
+
+    /**
+     * A <code>$ref</code>; resolved on first use, so that a definition may refer to itself.
+     */
+    private static final class Reference extends SchemaValidator {
+
+        private final String ref;
+        private final Function<String, SchemaValidator> definitions;
+        private volatile SchemaValidator resolved;
+
+        private Reference(String ref, Function<String, SchemaValidator> definitions) {
+            this.ref = ref;
+            this.definitions = definitions;
+        }
+
+        @Override
+        void check(JsonReader reader, Location location, List<String> violations) throws IOException {
+
+            SchemaValidator validator = resolved;
+
+            if (validator == null)
+                resolved = validator = definitions.apply(ref);
+
+            validator.check(reader, location, violations);
+        }
+    }
+
+    private static final class ObjectSchema extends SchemaValidator {
+
+        private final Map<String, SchemaValidator> properties = new HashMap<>();
+        private final Map<String, Integer> required = new LinkedHashMap<>();
+        private final SchemaValidator additionalProperties;
+        private final boolean additionalPropertiesAllowed;
+
+        private ObjectSchema(JsonObject schema, Function<String, SchemaValidator> definitions) {
+
+            if (schema.has("properties"))
+                for (Map.Entry<String, JsonElement> property : schema.getAsJsonObject("properties").entrySet())
+                    properties.put(property.getKey(), compile(property.getValue().getAsJsonObject(), definitions));
+
+            if (schema.has("required"))
+                for (JsonElement name : schema.getAsJsonArray("required"))
+                    required.put(name.getAsString(), required.size());
+
+            JsonElement additional = schema.get("additionalProperties");
+
+            this.additionalPropertiesAllowed = additional == null || !additional.isJsonPrimitive() || additional.getAsBoolean();
+            this.additionalProperties = additional != null && additional.isJsonObject() ? compile(additional.getAsJsonObject(), definitions) : ANY;
+        }
+
+        @Override
+        void check(JsonReader reader, Location location, List<String> violations) throws IOException {
+
+            if (!expect(reader, JsonToken.BEGIN_OBJECT, "object", location, violations))
+                return;
+
+            boolean[] present = required.isEmpty() ? null : new boolean[required.size()];
+
+            reader.beginObject();
+            location.push("");
+
+            while (reader.hasNext()) {
+
+                String name = reader.nextName();
+
+                location.set(name);
+
+                SchemaValidator property = properties.get(name);
+
+                if (property == null && !additionalPropertiesAllowed) {
+                    violate(violations, location, "not a property of the schema");
+                    reader.skipValue();
+                    continue;
+                }
+
+                if (present != null) {
+
+                    Integer index = required.get(name);
+
+                    if (index != null)
+                        present[index] = true;
+                }
+
+                (property != null ? property : additionalProperties).check(reader, location, violations);
+            }
+
+            location.pop();
+            reader.endObject();
+
+            if (present == null)
+                return;
+
+            for (Map.Entry<String, Integer> name : required.entrySet())
+                if (!present[name.getValue()])
+                    violate(violations, location, "missing required property " + name.getKey());
+        }
+    }
+
+    private static final class ArraySchema extends SchemaValidator {
+
+        private final SchemaValidator items;
+
+        private ArraySchema(SchemaValidator items) {
+            this.items = items;
+        }
+
+        @Override
+        void check(JsonReader reader, Location location, List<String> violations) throws IOException {
+
+            if (!expect(reader, JsonToken.BEGIN_ARRAY, "array", location, violations))
+                return;
+
+            reader.beginArray();
+            location.push(0);
+
+            for (int index = 0; reader.hasNext(); index++) {
+                location.set(index);
+                items.check(reader, location, violations);
+            }
+
+            location.pop();
+            reader.endArray();
+        }
+    }
+
+    private static final class StringSchema extends SchemaValidator {
+
+        private final Set<String> values;
+
+        /**
+         * @param values, the enum; or null, for any string.
+         */
+        private StringSchema(Set<String> values) {
+            this.values = values == null ? null : Collections.unmodifiableSet(values);
+        }
+
+        @Override
+        void check(JsonReader reader, Location location, List<String> violations) throws IOException {
+
+            if (!expect(reader, JsonToken.STRING, "string", location, violations))
+                return;
+
+            String value = reader.nextString();
+
+            if (values != null && !values.contains(value))
+                violate(violations, location, "\"" + value + "\" is not one of " + values);
+        }
+    }
+
+    private static final class IntegerSchema extends SchemaValidator {
+
+        private final String format;
+
+        private IntegerSchema(String format) {
+            this.format = format;
+        }
+
+        @Override
+        void check(JsonReader reader, Location location, List<String> violations) throws IOException {
+
+            if (!expect(reader, JsonToken.NUMBER, "integer", location, violations))
+                return;
+
+            String value = reader.nextString();
+
+            long integer;
+
+            try {
+                integer = Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                boolean is_fraction = value.indexOf('.') >= 0 || value.indexOf('e') >= 0 || value.indexOf('E') >= 0;
+                violate(violations, location, value + (is_fraction ? " is not an integer" : " is out of int64 range"));
+                return;
+            }
+
+            if ("int32".equals(format) && (integer < Integer.MIN_VALUE || integer > Integer.MAX_VALUE))
+                violate(violations, location, value + " is out of int32 range");
+        }
+    }
+
+    private static final class ScalarSchema extends SchemaValidator {
+
+        private final String type;
+        private final JsonToken token;
+
+        private ScalarSchema(String type, JsonToken token) {
+            this.type = type;
+            this.token = token;
+        }
+
+        @Override
+        void check(JsonReader reader, Location location, List<String> violations) throws IOException {
+
+            if (expect(reader, token, type, location, violations))
+                reader.skipValue();
+        }
+    }
+
+}
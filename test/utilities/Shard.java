@@ -0,0 +1,89 @@
+package utilities;
+
+/**
+ * Shard
+ * <p>
+ * Which test cases this JVM runs, when a run is split across JVMs or CI nodes; selected with
+ * <code>-Dshard.index=&lt;0 based index&gt; -Dshard.count=&lt;nodes&gt;</code> (default, a single shard running every case).
+ * </p>
+ * <p>
+ * A case belongs to the shard its id hashes to; so every node agrees on the split without coordinating,
+ * and a case stays on the same node from run to run, however the table's rows are ordered.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public final class Shard {
+
+    //region  helper variables
+
+    public static final String INDEX_PROPERTY = "shard.index";
+    public static final String COUNT_PROPERTY = "shard.count";
+
+    private final int index;
+    private final int count;
+
+    //endregion
+
+    public Shard(int index, int count) {
+
+        if (count < 1 || index < 0 || index >= count)
+            throw new IllegalArgumentException(String.format("shard.index must be within [0, shard.count); was %d of %d", index, count));
+
+        this.index = index;
+        this.count = count;
+    }
+
+    /**
+     * @return the shard of this JVM.
+     */
+    public static Shard current() {
+        return new Shard(Integer.getInteger(INDEX_PROPERTY, 0), Integer.getInteger(COUNT_PROPERTY, 1));
+    }
+
+    //region getters
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    //endregion
+
+    /**
+     * @param case_id, stable across runs; e.g. a table row's <code>case_id</code>.
+     * @return true, when the case is this shard's to run.
+     */
+    public boolean owns(String case_id) {
+        return count == 1 || Math.floorMod(spread(case_id.hashCode()), count) == index;
+    }
+
+    /**
+     * @return e.g. <code>shard 2 of 4</code>; 1 based.
+     */
+    @Override
+    public String toString() {
+        return "shard " + (index + 1) + " of " + count;
+    }
+
+    //region helper methods
+
+    /**
+     * Mixes every bit of the hash into the low ones (murmur3's finalizer); so ids alike but for a suffix,
+     * e.g. <code>case-1, case-2, ...</code>, still spread evenly over the shards.
+     */
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,493 @@
+package utilities;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process Stub Server
+ * <p>
+ * Serves recorded Dog API and PetStore responses from <code>./test_data/stubs/</code>, on a loop-back port
+ * (<code>stub.server.port</code>, default any free port);
+ * so the suite runs offline, and without paying WAN round trips. Selected with <code>-Dapi.mode=stub</code>,
+ * see {@link ApiClient}.
+ * </p>
+ * <ul>
+ *     <li><code>/dog/api/</code>; <code>breed/{b}/images/random</code>, <code>breeds/list/all</code>,
+ *     <code>breed/{b}/list</code> and <code>breed/{b}/{sub}/images</code>.</li>
+ *     <li><code>/petstore/v2/</code>; <code>POST|PUT pet</code>, <code>pet/findByStatus</code> and <code>pet/{id}</code>,
+ *     backed by an in-memory store seeded with the recorded pets.</li>
+ *     <li><code>/images/breeds/</code>; the images the dog api lists, as made up jpegs of 16 to 64 KB; the same bytes
+ *     on every call, so an image crawl (see {@link ImageCrawler}) runs offline too.</li>
+ * </ul>
+ * <p>
+ * The JDK http server multiplexes every connection on a single NIO selector thread, and hands each exchange
+ * to a worker pool (<code>stub.server.threads</code>, default 2 per core); recordings are loaded and pets are
+ * stored already encoded, so a request costs little more than a map lookup and a socket write.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class StubServer {
+
+    //region  helper variables
+
+    public static final String THREADS_PROPERTY = "stub.server.threads";
+    public static final String PORT_PROPERTY = "stub.server.port";
+
+    public static final String DOG_API_PATH = "/dog/api/";
+    public static final String PET_STORE_API_PATH = "/petstore/v2/";
+    public static final String IMAGES_PATH = "/images/";
+
+    private static final String STUBS_FOLDER_PATH = "./test_data/stubs/";
+
+    /**
+     * PetStore operations served, by method and spec path template; any other is answered 404 or 405.
+     */
+    private static final Set<String> PET_STORE_OPERATIONS = new HashSet<>(Arrays.asList(
+            "POST /pet", "PUT /pet", "GET /pet/findByStatus", "GET /pet/{petId}"
+    ));
+
+    private static volatile StubServer shared;
+
+    private final HttpServer server;
+    private final ExecutorService workers;
+
+    private final byte[] allBreeds;
+    private final Map<String, List<String>> subBreeds = new HashMap<>();
+
+    private final ConcurrentMap<Long, byte[]> pets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, String> petStatuses = new ConcurrentHashMap<>();
+    private final AtomicLong nextPetId = new AtomicLong(9_222_968_140_497_200_000L);
+
+    //endregion
+
+    private StubServer() throws IOException {
+
+        //region recorded responses
+
+        allBreeds = Files.readAllBytes(Paths.get(STUBS_FOLDER_PATH, "dog_breeds_list_all.json"));
+
+        JsonObject breeds = new JsonParser().parse(new String(allBreeds, StandardCharsets.UTF_8)).getAsJsonObject().getAsJsonObject("message");
+
+        for (Map.Entry<String, JsonElement> breed : breeds.entrySet()) {
+
+            List<String> sub_breeds = new ArrayList<>();
+
+            for (JsonElement sub_breed : breed.getValue().getAsJsonArray())
+                sub_breeds.add(sub_breed.getAsString());
+
+            subBreeds.put(breed.getKey(), sub_breeds);
+        }
+
+        try (InputStreamReader recorded_pets = new InputStreamReader(Files.newInputStream(Paths.get(STUBS_FOLDER_PATH, "petstore_pets.json")), StandardCharsets.UTF_8)) {
+
+            for (JsonElement pet : new JsonParser().parse(recorded_pets).getAsJsonArray())
+                storePet(pet.getAsJsonObject());
+        }
+
+        //endregion
+
+        // headers and body go out as separate writes; without TCP_NODELAY, Nagle holds the body back ~40 ms.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.getInteger(PORT_PROPERTY, 0)), 1024);
+
+        workers = Executors.newFixedThreadPool(Integer.getInteger(THREADS_PROPERTY, 2 * Runtime.getRuntime().availableProcessors()), runnable -> {
+            Thread thread = new Thread(runnable, "stub-server-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        server.setExecutor(workers);
+        server.createContext(DOG_API_PATH, exchange -> handle(exchange, this::dogApi));
+        server.createContext(PET_STORE_API_PATH, exchange -> handle(exchange, this::petStoreApi));
+        server.createContext(IMAGES_PATH, exchange -> handle(exchange, StubServer::images));
+        server.start();
+    }
+
+    /**
+     * @return the stub server of this run; started on first use.
+     */
+    public static StubServer shared() {
+
+        if (shared == null) {
+
+            synchronized (StubServer.class) {
+
+                if (shared == null) {
+
+                    try {
+                        shared = new StubServer();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("could not start the stub server!", e);
+                    }
+                }
+            }
+        }
+
+        return shared;
+    }
+
+    //region getter
+
+    /**
+     * @return e.g. <code>http://127.0.0.1:41234</code>
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * @param path_template, as the PetStore's spec has it; e.g. <code>/pet/{petId}</code>.
+     * @return true, when the stub serves the PetStore operation.
+     */
+    public static boolean servesPetStore(String method, String path_template) {
+        return PET_STORE_OPERATIONS.contains(method + " " + path_template);
+    }
+
+    //endregion
+
+    public void stop() {
+        server.stop(0);
+        workers.shutdownNow();
+    }
+
+    //region dog api
+
+    private StubResponse dogApi(String method, String[] path, Map<String, List<String>> query, byte[] body) {
+
+        if (!"GET".equals(method))
+            return StubResponse.json(405, "{\"status\":\"error\",\"message\":\"Method not allowed\",\"code\":405}");
+
+        // breeds/list/all
+        if (path.length == 3 && path[0].equals("breeds") && path[1].equals("list") && path[2].equals("all"))
+            return StubResponse.json(200, allBreeds);
+
+        if (path.length < 3 || !path[0].equals("breed"))
+            return breedNotFound();
+
+        String breed = path[1];
+
+        List<String> sub_breeds = subBreeds.get(breed);
+
+        if (sub_breeds == null)
+            return breedNotFound();
+
+        // breed/{b}/list
+        if (path.length == 3 && path[2].equals("list"))
+            return dogMessage(toJsonArray(sub_breeds));
+
+        // breed/{b}/images/random
+        if (path.length == 4 && path[2].equals("images") && path[3].equals("random")) {
+
+            List<String> images = images(breed, null);
+
+            return dogMessage('"' + images.get(ThreadLocalRandom.current().nextInt(images.size())) + '"');
+        }
+
+        // breed/{b}/{sub}/images
+        if (path.length == 4 && path[3].equals("images")) {
+
+            if (!sub_breeds.contains(path[2]))
+                return StubResponse.json(404, "{\"status\":\"error\",\"message\":\"Breed not found (sub breed does not exist)\",\"code\":404}");
+
+            return dogMessage(toJsonArray(images(breed, path[2])));
+        }
+
+        return breedNotFound();
+    }
+
+    /**
+     * A handful of image urls, the same on every call; for a breed, or one of its sub-breeds.
+     */
+    private List<String> images(String breed, String sub_breed) {
+
+        String folder = sub_breed == null ? breed : breed + "-" + sub_breed;
+
+        int seed = Math.abs(folder.hashCode());
+
+        List<String> images = new ArrayList<>();
+
+        for (int i = 0; i < 3 + seed % 5; i++)
+            images.add(String.format("%s%sbreeds/%s/n02%06d_%d.jpg", getBaseUrl(), IMAGES_PATH, folder, seed % 1_000_000, 1000 + i));
+
+        return images;
+    }
+
+    private static StubResponse dogMessage(String message_json) {
+        return StubResponse.json(200, "{\"message\":" + message_json + ",\"status\":\"success\"}");
+    }
+
+    private static StubResponse breedNotFound() {
+        return StubResponse.json(404, "{\"status\":\"error\",\"message\":\"Breed not found (master breed does not exist)\",\"code\":404}");
+    }
+
+    //endregion
+
+    //region images
+
+    /**
+     * images/breeds/{folder}/{file}.jpg; a jpeg's start and end markers, around bytes made up from the path.
+     */
+    private static StubResponse images(String method, String[] path, Map<String, List<String>> query, byte[] body) {
+
+        if (!"GET".equals(method))
+            return new StubResponse(405, "text/plain", new byte[0]);
+
+        if (path.length != 3 || !path[0].equals("breeds") || !path[2].endsWith(".jpg"))
+            return new StubResponse(404, "text/plain", "not found".getBytes(StandardCharsets.UTF_8));
+
+        long seed = String.join("/", path).hashCode();
+
+        byte[] image = new byte[16 * 1024 + (int) Math.floorMod(seed, 48L * 1024)];
+
+        new Random(seed).nextBytes(image);
+
+        image[0] = (byte) 0xFF;
+        image[1] = (byte) 0xD8;
+        image[2] = (byte) 0xFF;
+        image[image.length - 2] = (byte) 0xFF;
+        image[image.length - 1] = (byte) 0xD9;
+
+        return new StubResponse(200, "image/jpeg", image);
+    }
+
+    //endregion
+
+    //region pet store api
+
+    private StubResponse petStoreApi(String method, String[] path, Map<String, List<String>> query, byte[] body) {
+
+        if (path.length == 0 || !path[0].equals("pet"))
+            return petStoreError(404, "unknown", "not found");
+
+        // POST | PUT pet
+        if (path.length == 1 && ("POST".equals(method) || "PUT".equals(method))) {
+
+            JsonObject pet;
+
+            try {
+                pet = new JsonParser().parse(new String(body, StandardCharsets.UTF_8)).getAsJsonObject();
+            } catch (RuntimeException e) {
+                return petStoreError(405, "unknown", "Invalid input");
+            }
+
+            return StubResponse.json(200, storePet(pet));
+        }
+
+        if (!"GET".equals(method))
+            return petStoreError(405, "unknown", "Method not allowed");
+
+        // pet/findByStatus?status=...
+        if (path.length == 2 && path[1].equals("findByStatus")) {
+
+            List<String> statuses = new ArrayList<>();
+
+            for (String status : query.getOrDefault("status", new ArrayList<>()))
+                statuses.addAll(Arrays.asList(status.split(",")));
+
+            StringBuilder found = new StringBuilder("[");
+
+            for (Map.Entry<Long, String> pet_status : petStatuses.entrySet()) {
+
+                byte[] pet = pets.get(pet_status.getKey());
+
+                if (pet != null && statuses.contains(pet_status.getValue()))
+                    found.append(found.length() > 1 ? "," : "").append(new String(pet, StandardCharsets.UTF_8));
+            }
+
+            return StubResponse.json(200, found.append(']').toString());
+        }
+
+        // pet/{id}
+        if (path.length == 2) {
+
+            byte[] pet;
+
+            try {
+                pet = pets.get(Long.parseLong(path[1]));
+            } catch (NumberFormatException e) {
+                return petStoreError(404, "unknown", "java.lang.NumberFormatException: For input string: \"" + path[1] + "\"");
+            }
+
+            return pet != null ? StubResponse.json(200, pet) : petStoreError(404, "error", "Pet not found");
+        }
+
+        return petStoreError(404, "unknown", "not found");
+    }
+
+    /**
+     * Stores the pet; giving it an id, when it has none (or 0), as the real store does.
+     *
+     * @return the pet, as stored.
+     */
+    private byte[] storePet(JsonObject pet) {
+
+        long id = pet.has("id") && !pet.get("id").isJsonNull() ? pet.get("id").getAsLong() : 0;
+
+        if (id == 0) {
+            id = nextPetId.incrementAndGet();
+            pet.addProperty("id", id);
+        }
+
+        if (!pet.has("photoUrls"))
+            pet.add("photoUrls", new JsonArray());
+
+        if (!pet.has("tags"))
+            pet.add("tags", new JsonArray());
+
+        byte[] stored = pet.toString().getBytes(StandardCharsets.UTF_8);
+
+        pets.put(id, stored);
+        petStatuses.put(id, pet.has("status") ? pet.get("status").getAsString() : "");
+
+        return stored;
+    }
+
+    private static StubResponse petStoreError(int code, String type, String message) {
+
+        JsonObject error = new JsonObject();
+        error.addProperty("code", code == 404 && "error".equals(type) ? 1 : code);
+        error.addProperty("type", type);
+        error.addProperty("message", message);
+
+        return StubResponse.json(code, error.toString());
+    }
+
+    //endregion
+
+    //region helper methods
+
+    private static String toJsonArray(List<String> values) {
+
+        JsonArray array = new JsonArray();
+
+        for (String value : values)
+            array.add(value);
+
+        return array.toString();
+    }
+
+    private static void handle(HttpExchange exchange, Handler handler) throws IOException {
+
+        try {
+
+            String context_path = exchange.getHttpContext().getPath();
+            String relative_path = exchange.getRequestURI().getPath().substring(context_path.length());
+
+            String[] path = relative_path.isEmpty() ? new String[0] : relative_path.split("/");
+
+            byte[] body = readAll(exchange);
+
+            StubResponse response = handler.handle(exchange.getRequestMethod(), path, query(exchange.getRequestURI().getRawQuery()), body);
+
+            exchange.getResponseHeaders().set("Content-Type", response.contentType);
+            exchange.sendResponseHeaders(response.status, response.body.length == 0 ? -1 : response.body.length);
+
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response.body);
+            }
+
+        } catch (RuntimeException e) {
+
+            exchange.sendResponseHeaders(500, -1);
+
+        } finally {
+
+            exchange.close();
+        }
+    }
+
+    private static byte[] readAll(HttpExchange exchange) throws IOException {
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        byte[] buffer = new byte[8192];
+
+        for (int read; (read = exchange.getRequestBody().read(buffer)) != -1; )
+            body.write(buffer, 0, read);
+
+        return body.toByteArray();
+    }
+
+    private static Map<String, List<String>> query(String raw_query) throws IOException {
+
+        Map<String, List<String>> query = new HashMap<>();
+
+        if (raw_query == null)
+            return query;
+
+        for (String parameter : raw_query.split("&")) {
+
+            int equals = parameter.indexOf('=');
+
+            String name = URLDecoder.decode(equals < 0 ? parameter : parameter.substring(0, equals), "UTF-8");
+            String value = equals < 0 ? "" : URLDecoder.decode(parameter.substring(equals + 1), "UTF-8");
+
+            query.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        }
+
+        return query;
+    }
+
+    //endregion
+
+    private interface Handler {
+        StubResponse handle(String method, String[] path, Map<String, List<String>> query, byte[] body);
+    }
+
+    /**
+     * Status, content type and already encoded body; of a stubbed response.
+     */
+    private static final class StubResponse {
+
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+
+        private StubResponse(int status, String content_type, byte[] body) {
+            this.status = status;
+            this.contentType = content_type;
+            this.body = body;
+        }
+
+        private static StubResponse json(int status, byte[] body) {
+            return new StubResponse(status, "application/json", body);
+        }
+
+        private static StubResponse json(int status, String body) {
+            return json(status, body.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+}
@@ -0,0 +1,200 @@
+package utilities;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Suite Bootstrap
+ * <p>
+ * Gets a suite run going, once per JVM; started by the {@link ParallelSuite} runner as soon as it's loaded, so that the
+ * slow, one-off initialization of the run overlaps the loading of its test classes, rather than the first test:
+ * <ul>
+ *     <li>the shared Html Report; ExtentReports and its templates, see {@link HtmlReporter}.</li>
+ *     <li>the {@link ApiClient}s; RestAssured, and the Groovy behind it, and the {@link StubServer} when in stub mode.</li>
+ *     <li>with <code>-Dsuite.warmup=on</code> (default off); a warm-up, of <code>suite.warmup.rounds</code> (default 3)
+ *     GETs per API, each read with a json path. It loads and compiles what every test's first request otherwise would,
+ *     and opens a pooled connection per host; so the first test's latency is not the JVM's. Warm-up requests go to the
+ *     network (never coalesced, see {@link RequestCoalescer}), and are neither timed, logged nor counted in the run's metrics.</li>
+ * </ul>
+ * Each on a daemon thread of its own; the suite's first test waits for them all.
+ * </p>
+ * <p>
+ * Every phase is timed, from the JVM's start to the first test; and reported as an Html Report summary, "suite startup".
+ * A failing phase (e.g. the warm-up, with the API down) is printed to System.err; it doesn't fail the run, the tests will.
+ * </p>
+ * <p>
+ * Most of what's left is class loading; which <code>mvn -Pcds</code> takes from a class data sharing archive, see pom.xml.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class SuiteBootstrap {
+
+    //region  helper variables
+
+    public static final String WARMUP_PROPERTY = "suite.warmup";
+    public static final String WARMUP_ROUNDS_PROPERTY = "suite.warmup.rounds";
+
+    private static volatile SuiteBootstrap started;
+
+    private final long jvmStartedAt = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final long startedAt = System.nanoTime();
+
+    /**
+     * phase, thread and millis; in the order they ended.
+     */
+    private final List<String[]> phases = new ArrayList<>();
+
+    private final CompletableFuture<Void> ready;
+
+    //endregion
+
+    private SuiteBootstrap(int warm_up_rounds) {
+
+        phase("jvm start, to the suite runner", "main", System.currentTimeMillis() - jvmStartedAt);
+
+        CompletableFuture<Void> report = CompletableFuture.runAsync(
+                () -> timed("html report", HtmlReporter::getReportWriter),
+                daemon("suite-bootstrap-report")
+        );
+
+        CompletableFuture<Void> clients = CompletableFuture.runAsync(() -> {
+
+            timed("api clients", ApiClient::isStubMode); // initializes both clients; and the stub server, in stub mode.
+
+            if (warm_up_rounds > 0)
+                timed("warm-up, " + warm_up_rounds + " round(s)", () -> warmUp(warm_up_rounds));
+
+        }, daemon("suite-bootstrap-clients"));
+
+        this.ready = CompletableFuture.allOf(report, clients);
+    }
+
+    /**
+     * Starts the bootstrap, on the first call; a no-op after.
+     *
+     * @throws IllegalArgumentException on a negative <code>suite.warmup.rounds</code>.
+     */
+    public static void start() {
+
+        if (started == null) {
+
+            synchronized (SuiteBootstrap.class) {
+
+                if (started == null) {
+
+                    boolean warm_up = "on".equalsIgnoreCase(System.getProperty(WARMUP_PROPERTY, "off"));
+                    int warm_up_rounds = Integer.getInteger(WARMUP_ROUNDS_PROPERTY, 3);
+
+                    if (warm_up_rounds < 0)
+                        throw new IllegalArgumentException(WARMUP_ROUNDS_PROPERTY + " must be at least 0; was " + warm_up_rounds);
+
+                    started = new SuiteBootstrap(warm_up ? warm_up_rounds : 0);
+
+                    SuiteBootstrap bootstrap = started;
+
+                    HtmlReporter.registerSummary("suite startup", bootstrap::toReportTable);
+                }
+            }
+        }
+    }
+
+    /**
+     * Notes the end of the suite runner's construction; its test classes loaded, and their runners built.
+     */
+    public static void testClassesLoaded() {
+
+        start();
+
+        started.phase("test classes, and their runners", Thread.currentThread().getName(), (System.nanoTime() - started.startedAt) / 1_000_000);
+    }
+
+    /**
+     * Waits for every phase of the bootstrap to end; before the first test.
+     */
+    public static void awaitReady() {
+
+        start();
+
+        SuiteBootstrap bootstrap = started;
+
+        long waiting_since = System.nanoTime();
+
+        try {
+            bootstrap.ready.join();
+        } catch (CompletionException e) {
+            System.err.println("suite bootstrap: " + e.getCause());
+        }
+
+        bootstrap.phase("waiting on the bootstrap", Thread.currentThread().getName(), (System.nanoTime() - waiting_since) / 1_000_000);
+        bootstrap.phase("jvm start, to the first test", "", System.currentTimeMillis() - bootstrap.jvmStartedAt);
+    }
+
+    /**
+     * @return each phase, with the thread it ran on and how long it took; in the order they ended.
+     */
+    public String[][] toReportTable() {
+
+        List<String[]> rows = new ArrayList<>();
+
+        rows.add(new String[]{"phase", "thread", "ms"});
+
+        synchronized (phases) {
+            rows.addAll(phases);
+        }
+
+        return rows.toArray(new String[0][]);
+    }
+
+    //region helper methods
+
+    private void timed(String phase, Runnable task) {
+
+        long started_at = System.nanoTime();
+
+        try {
+            task.run();
+        } finally {
+            phase(phase, Thread.currentThread().getName(), (System.nanoTime() - started_at) / 1_000_000);
+        }
+    }
+
+    private void phase(String phase, String thread, long millis) {
+        synchronized (phases) {
+            phases.add(new String[]{phase, thread, String.valueOf(millis)});
+        }
+    }
+
+    /**
+     * GETs of each API, read with a json path; untimed, and sent to the network.
+     */
+    private static void warmUp(int rounds) {
+
+        RequestTiming.untimed(() -> RequestCoalescer.uncoalesced(() -> {
+
+            for (int i = 0; i < rounds; i++) {
+                ApiClient.DOG_API.get("breeds/list/all").jsonPath().get("status");
+                ApiClient.PET_STORE_API.get("pet/{petId}", 0).jsonPath().get("id");
+            }
+        }));
+    }
+
+    /**
+     * @return an executor, running its task on a new daemon thread.
+     */
+    private static Executor daemon(String name) {
+
+        return task -> {
+            Thread thread = new Thread(task, name);
+            thread.setDaemon(true);
+            thread.start();
+        };
+    }
+
+    //endregion
+
+}
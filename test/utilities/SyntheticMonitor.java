@@ -0,0 +1,524 @@
+package utilities;
+
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.manipulation.Filter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Synthetic Monitor
+ * <p>
+ * Runs the suite's checks continuously, as production probes; each scenario of <code>monitor.scenarios</code>
+ * (a {@link ScenarioTable}, default <code>./test_data/monitor.csv</code>) probing a test class, or one of its test methods,
+ * on its own schedule:
+ * <ul>
+ *     <li>every <code>interval_s</code>, give or take <code>jitter_percent</code>; so probes don't fall in step.</li>
+ *     <li>at most <code>max_concurrent</code> probes of a scenario in flight; and one of a test class, as its reporter is
+ *     static (<code>monitor.class.concurrency</code>, default 1). A probe due while at a cap, is skipped and counted.</li>
+ *     <li>on <code>monitor.concurrency</code> probe threads in all (default 4).</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Each probe's outcome (all its tests passed) and duration, are kept in 1m, 5m and 1h {@link RollingWindow}s; of fixed size,
+ * so memory stays the same over days of uptime. They are rendered every <code>monitor.dashboard.interval.s</code> (default 10)
+ * to a dashboard, <code>./test_reports/&lt;report.title&gt;_monitor.html</code>; re-rendering only the rows of scenarios probed,
+ * or any of whose windows rolled on to a new slice, since. They're also the Html Report's "monitor" summary; the report
+ * keeping only the latest run of each test case, and no result log (<code>report.keep=latest</code>,
+ * <code>report.results=false</code>, unless set).
+ * </p>
+ * <p>
+ * <code>mvn -Pmonitor test-compile exec:java [-Dapi.mode=stub] [-Dmonitor.duration.s=...]</code>; runs until stopped,
+ * or for <code>monitor.duration.s</code>. The run's metrics can be scraped, with <code>-Dmetrics.port</code>; see {@link MetricsRegistry}.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class SyntheticMonitor {
+
+    //region  helper variables
+
+    public static final String SCENARIOS_PROPERTY = "monitor.scenarios";
+    public static final String CONCURRENCY_PROPERTY = "monitor.concurrency";
+    public static final String CLASS_CONCURRENCY_PROPERTY = "monitor.class.concurrency";
+    public static final String DURATION_PROPERTY = "monitor.duration.s";
+    public static final String DASHBOARD_INTERVAL_PROPERTY = "monitor.dashboard.interval.s";
+
+    private static final String DEFAULT_SCENARIOS_PATH = "./test_data/monitor.csv";
+    private static final int DEFAULT_CONCURRENCY = 4;
+    private static final int DEFAULT_DASHBOARD_INTERVAL_SECONDS = 10;
+    private static final long STOP_TIMEOUT_MINUTES = 5;
+    private static final int MAX_FAILURE_LENGTH = 500;
+
+    private final List<Scenario> scenarios;
+    private final ScheduledThreadPoolExecutor probes;
+    private final ScheduledThreadPoolExecutor dashboard;
+    private final int dashboardIntervalSeconds;
+    private final Path dashboardPath = Paths.get(HtmlReporter.getReportFilePath("_monitor.html"));
+    private final long startedAt = System.currentTimeMillis();
+
+    private final Map<Scenario, RenderedRow> renderedRows = new HashMap<>();
+
+    private volatile boolean stopped;
+
+    //endregion
+
+    public SyntheticMonitor(ScenarioTable table) {
+
+        int concurrency = Integer.getInteger(CONCURRENCY_PROPERTY, DEFAULT_CONCURRENCY);
+        int class_concurrency = Integer.getInteger(CLASS_CONCURRENCY_PROPERTY, 1);
+
+        this.dashboardIntervalSeconds = Integer.getInteger(DASHBOARD_INTERVAL_PROPERTY, DEFAULT_DASHBOARD_INTERVAL_SECONDS);
+
+        if (concurrency < 1 || class_concurrency < 1 || dashboardIntervalSeconds < 1)
+            throw new IllegalArgumentException(String.format("monitor.concurrency, monitor.class.concurrency and monitor.dashboard.interval.s must be at least 1; were %d, %d and %d",
+                    concurrency, class_concurrency, dashboardIntervalSeconds));
+
+        Map<Class<?>, Semaphore> class_permits = new HashMap<>();
+        List<Scenario> table_scenarios = new ArrayList<>();
+
+        for (Map<String, String> row : table.getRows()) {
+
+            String test = row.getOrDefault("test", "");
+
+            Class<?> test_class = testClassOf(test);
+
+            table_scenarios.add(new Scenario(row.get(ScenarioTable.CASE_ID_COLUMN), test, test_class,
+                    TimeUnit.SECONDS.toMillis(Long.parseLong(row.getOrDefault("interval_s", "60"))),
+                    Integer.parseInt(row.getOrDefault("jitter_percent", "10")) / 100.0,
+                    Integer.parseInt(row.getOrDefault("max_concurrent", "1")),
+                    class_permits.computeIfAbsent(test_class, any_class -> new Semaphore(class_concurrency))));
+        }
+
+        this.scenarios = Collections.unmodifiableList(table_scenarios);
+
+        this.probes = new ScheduledThreadPoolExecutor(concurrency, daemonThreads("monitor-probe"));
+        this.dashboard = new ScheduledThreadPoolExecutor(1, daemonThreads("monitor-dashboard"));
+
+        // on stop, scheduled probes and refreshes are dropped; only those already running are waited for.
+        probes.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        dashboard.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+
+        HtmlReporter.registerSummary("monitor", this::toReportTable);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+
+        // unless set otherwise; a long run keeps only the latest of each test case, and no result log of them all.
+        if (System.getProperty(HtmlReporter.KEEP_PROPERTY) == null)
+            System.setProperty(HtmlReporter.KEEP_PROPERTY, "latest");
+
+        if (System.getProperty(HtmlReporter.RESULTS_PROPERTY) == null)
+            System.setProperty(HtmlReporter.RESULTS_PROPERTY, "false");
+
+        // ...and every probe is sent; an answer shared with another probe, or remembered from an earlier one, proves nothing.
+        if (System.getProperty(RequestCoalescer.MODE_PROPERTY) == null)
+            System.setProperty(RequestCoalescer.MODE_PROPERTY, "off");
+
+        SyntheticMonitor monitor = new SyntheticMonitor(ScenarioTable.load(System.getProperty(SCENARIOS_PROPERTY, DEFAULT_SCENARIOS_PATH)));
+
+        Runtime.getRuntime().addShutdownHook(new Thread(monitor::stop, "monitor-stop"));
+
+        monitor.start();
+
+        System.out.printf("monitor: probing %d scenario(s); dashboard at %s%n", monitor.scenarios.size(), monitor.dashboardPath);
+
+        long duration_seconds = Long.getLong(DURATION_PROPERTY, 0);
+
+        if (duration_seconds <= 0) {
+            new CountDownLatch(1).await(); // until the JVM is stopped; the shutdown hook stops the monitor.
+        } else {
+            TimeUnit.SECONDS.sleep(duration_seconds);
+            monitor.stop();
+            System.exit(0);
+        }
+    }
+
+    /**
+     * Schedules every scenario's first probe; spread over its jitter, so they don't all start at once.
+     */
+    public void start() {
+
+        for (Scenario scenario : scenarios)
+            probes.schedule(() -> tick(scenario), (long) (ThreadLocalRandom.current().nextDouble() * scenario.intervalMillis * scenario.jitter), TimeUnit.MILLISECONDS);
+
+        dashboard.scheduleWithFixedDelay(this::writeDashboard, dashboardIntervalSeconds, dashboardIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops scheduling probes; waits for those in flight, and writes the dashboard one last time.
+     */
+    public synchronized void stop() {
+
+        if (stopped)
+            return;
+
+        stopped = true;
+
+        probes.shutdown();
+        dashboard.shutdown();
+
+        try {
+
+            if (!probes.awaitTermination(STOP_TIMEOUT_MINUTES, TimeUnit.MINUTES))
+                System.err.println("monitor: probes still in flight, after " + STOP_TIMEOUT_MINUTES + " minutes; not waiting for them.");
+
+            dashboard.awaitTermination(STOP_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        writeDashboard();
+    }
+
+    //region probing
+
+    /**
+     * Schedules the scenario's next probe, and then probes it; unless it, or its test class, is at its cap.
+     */
+    private void tick(Scenario scenario) {
+
+        try {
+            probes.schedule(() -> tick(scenario), scenario.nextDelayMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException stopping) {
+            return;
+        }
+
+        if (!scenario.permits.tryAcquire()) {
+            scenario.skipped.increment();
+            return;
+        }
+
+        try {
+
+            if (!scenario.classPermits.tryAcquire()) {
+                scenario.skipped.increment();
+                return;
+            }
+
+            try {
+                probe(scenario);
+            } finally {
+                scenario.classPermits.release();
+            }
+
+        } finally {
+            scenario.permits.release();
+        }
+    }
+
+    private void probe(Scenario scenario) {
+
+        long started_at = System.nanoTime();
+
+        boolean success;
+        String failure;
+
+        try {
+
+            // a new request every probe; a runner is not run twice, e.g. a ScenarioRunner's scheduler only runs once.
+            Result result = new JUnitCore().run(requestOf(scenario.testClass, scenario.test));
+
+            success = result.wasSuccessful() && result.getRunCount() > 0;
+
+            failure = !result.getFailures().isEmpty() ? result.getFailures().get(0).toString()
+                    : result.getRunCount() == 0 ? "no test ran" : null;
+
+        } catch (RuntimeException e) {
+
+            success = false;
+
+            failure = e.toString();
+        }
+
+        scenario.record(success, System.nanoTime() - started_at, failure);
+    }
+
+    //endregion
+
+    //region dashboard
+
+    /**
+     * @return one row per scenario, under a header row; its windows, and its last failure.
+     */
+    public String[][] toReportTable() {
+
+        List<String[]> rows = new ArrayList<>();
+
+        rows.add(new String[]{"scenario", "probes", "skipped", "1m", "5m", "1h", "last failure"});
+
+        for (Scenario scenario : scenarios) {
+
+            List<String> row = new ArrayList<>();
+            row.add(scenario.name);
+            row.add(String.valueOf(scenario.probes.sum()));
+            row.add(String.valueOf(scenario.skipped.sum()));
+            for (RollingWindow window : scenario.windows)
+                row.add(window.snapshot().toString());
+            row.add(scenario.lastFailure == null ? "-" : scenario.lastFailure);
+            rows.add(row.toArray(new String[0]));
+        }
+
+        return rows.toArray(new String[0][]);
+    }
+
+    /**
+     * Writes the dashboard; re-rendering a scenario's row, only when it was probed, or any of its windows rolled on to a
+     * new slice, since its last render. Rows are rendered as of the same now, as they are keyed on.
+     */
+    private void writeDashboard() {
+
+        long now = System.currentTimeMillis();
+
+        StringBuilder page = new StringBuilder(4096);
+
+        page.append("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"utf-8\">\n")
+                .append("<meta http-equiv=\"refresh\" content=\"").append(dashboardIntervalSeconds).append("\">\n")
+                .append("<title>Monitor: ").append(escapeHtml(HtmlReporter.getReportTitle())).append("</title>\n")
+                .append("<style>body{font-family:sans-serif;background:#1e1e1e;color:#ddd}table{border-collapse:collapse}")
+                .append("th,td{padding:4px 8px;border-bottom:1px solid #444;text-align:left}.down{color:#f66}.up{color:#6c6}</style>\n")
+                .append("</head>\n<body>\n<h1>").append(escapeHtml(HtmlReporter.getReportTitle())).append(" monitor</h1>\n")
+                .append("<p>updated ").append(timeOf(now)).append("; up since ").append(timeOf(startedAt))
+                .append("; ").append(scenarios.size()).append(" scenario(s)").append(stopped ? "; stopped" : "").append("</p>\n")
+                .append("<table>\n<tr><th>scenario</th><th>test</th><th>probes</th><th>skipped</th>")
+                .append("<th>1m</th><th>5m</th><th>1h</th><th>last probe</th><th>last failure</th></tr>\n");
+
+        synchronized (renderedRows) {
+
+            for (Scenario scenario : scenarios) {
+
+                RenderedRow rendered = renderedRows.get(scenario);
+
+                long version = scenario.version.get();
+                long[] slices = new long[scenario.windows.length];
+
+                for (int i = 0; i < slices.length; i++)
+                    slices[i] = scenario.windows[i].sliceOf(now);
+
+                if (rendered == null || rendered.version != version || !Arrays.equals(rendered.slices, slices)) {
+                    rendered = new RenderedRow(version, slices, renderRow(scenario, now));
+                    renderedRows.put(scenario, rendered);
+                }
+
+                page.append(rendered.html);
+            }
+        }
+
+        page.append("</table>\n</body>\n</html>\n");
+
+        Path partial = Paths.get(dashboardPath + ".partial");
+
+        try {
+
+            if (dashboardPath.getParent() != null)
+                Files.createDirectories(dashboardPath.getParent());
+
+            Files.write(partial, page.toString().getBytes(StandardCharsets.UTF_8));
+
+            Files.move(partial, dashboardPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException | UncheckedIOException e) {
+            // a dashboard that can't be written, must never stop the probes; try again on the next refresh.
+            System.err.println("monitor: could not write the dashboard; " + e);
+        }
+    }
+
+    private static String renderRow(Scenario scenario, long now) {
+
+        StringBuilder row = new StringBuilder(512);
+
+        row.append("<tr class=\"").append(scenario.lastFailed ? "down" : "up").append("\"><td>").append(escapeHtml(scenario.name))
+                .append("</td><td>").append(escapeHtml(scenario.test))
+                .append("</td><td>").append(scenario.probes.sum())
+                .append("</td><td>").append(scenario.skipped.sum()).append("</td>");
+
+        for (RollingWindow window : scenario.windows)
+            row.append("<td>").append(escapeHtml(window.snapshot(now).toString())).append("</td>");
+
+        row.append("<td>").append(scenario.lastProbeAt == 0 ? "-" : timeOf(scenario.lastProbeAt))
+                .append("</td><td>").append(scenario.lastFailure == null ? "-" : escapeHtml(scenario.lastFailure))
+                .append("</td></tr>\n");
+
+        return row.toString();
+    }
+
+    //endregion
+
+    //region helper methods
+
+    /**
+     * @param test, e.g. <code>TestDogApi</code>, or <code>TestDogApi#breed_is_on_the_list_of_breeds</code>.
+     */
+    private static Class<?> testClassOf(String test) {
+
+        String class_name = test.contains("#") ? test.substring(0, test.indexOf('#')) : test;
+
+        try {
+            return Class.forName(class_name);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("no test class " + class_name + "; of scenario test " + test, e);
+        }
+    }
+
+    /**
+     * @return the test class; or only its test method, with every parameter set of a parameterized one.
+     */
+    private static Request requestOf(Class<?> test_class, String test) {
+
+        if (!test.contains("#"))
+            return Request.aClass(test_class);
+
+        String method = test.substring(test.indexOf('#') + 1);
+
+        return Request.aClass(test_class).filterWith(new Filter() {
+
+            @Override
+            public boolean shouldRun(Description description) {
+
+                if (description.isTest())
+                    return method.equals(description.getMethodName()) || description.getMethodName().startsWith(method + "[");
+
+                for (Description child : description.getChildren())
+                    if (shouldRun(child))
+                        return true;
+
+                return false;
+            }
+
+            @Override
+            public String describe() {
+                return "method " + method;
+            }
+        });
+    }
+
+    private static ThreadFactory daemonThreads(String name_prefix) {
+
+        AtomicInteger thread_count = new AtomicInteger();
+
+        return task -> {
+            Thread thread = new Thread(task, name_prefix + "-" + thread_count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static String timeOf(long epoch_millis) {
+        return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(epoch_millis));
+    }
+
+    private static String escapeHtml(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    //endregion
+
+    /**
+     * One scheduled check; and its rolling windows.
+     */
+    private static final class Scenario {
+
+        private final String name;
+        private final String test;
+        private final Class<?> testClass;
+        private final long intervalMillis;
+        private final double jitter;
+        private final Semaphore permits;
+        private final Semaphore classPermits;
+
+        private final RollingWindow[] windows = {
+                new RollingWindow("1m", 1, TimeUnit.MINUTES, 12),
+                new RollingWindow("5m", 5, TimeUnit.MINUTES, 10),
+                new RollingWindow("1h", 1, TimeUnit.HOURS, 12)
+        };
+
+        private final LongAdder probes = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final AtomicLong version = new AtomicLong();
+        private volatile long lastProbeAt;
+        private volatile boolean lastFailed;
+        private volatile String lastFailure;
+
+        private Scenario(String name, String test, Class<?> test_class, long interval_millis, double jitter, int max_concurrent, Semaphore class_permits) {
+
+            if (interval_millis < 1 || jitter < 0 || jitter >= 1 || max_concurrent < 1)
+                throw new IllegalArgumentException(String.format(
+                        "scenario %s needs an interval_s of at least 1, a jitter_percent from 0 to 99, and a max_concurrent of at least 1", name));
+
+            this.name = name;
+            this.test = test;
+            this.testClass = test_class;
+            this.intervalMillis = interval_millis;
+            this.jitter = jitter;
+            this.permits = new Semaphore(max_concurrent);
+            this.classPermits = class_permits;
+        }
+
+        /**
+         * @return the interval, give or take up to the jitter.
+         */
+        private long nextDelayMillis() {
+            return Math.round(intervalMillis * (1 + jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1)));
+        }
+
+        private void record(boolean success, long nanos, String failure) {
+
+            for (RollingWindow window : windows)
+                window.record(success, nanos);
+
+            probes.increment();
+
+            lastProbeAt = System.currentTimeMillis();
+            lastFailed = !success;
+
+            if (failure != null)
+                lastFailure = timeOf(lastProbeAt) + "; " + (failure.length() > MAX_FAILURE_LENGTH ? failure.substring(0, MAX_FAILURE_LENGTH) + "..." : failure);
+
+            version.incrementAndGet();
+        }
+    }
+
+    private static final class RenderedRow {
+
+        private final long version;
+        private final long[] slices;
+        private final String html;
+
+        /**
+         * @param slices, each window's; in the scenario's window order.
+         */
+        private RenderedRow(long version, long[] slices, String html) {
+            this.version = version;
+            this.slices = slices;
+            this.html = html;
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+package utilities;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Unique Names
+ * <p>
+ * Hands out collision-free names, e.g. <code>pet-t1e4xk9-b7f2-1z</code>; as <code>&lt;prefix&gt;-&lt;namespace&gt;-&lt;counter&gt;</code>,
+ * the counter in base 36. Each name costs one atomic increment, and no retries or set of names handed out so far;
+ * so any number of parallel tests can share one generator, without locking.
+ * </p>
+ * <p>
+ * The namespace keeps concurrent runs (e.g. CI jobs, against the same server) apart; set it with
+ * <code>-Drun.namespace=&lt;job id&gt;</code>, otherwise every run gets its own, from the start time and a random suffix.
+ * Only lower case letters, digits and dashes are kept; and a namespace changed by that, gets a short hash of the one given
+ * appended, e.g. <code>CI Job #42</code> becomes <code>ci-job-42-42oiii</code>; so two namespaces never sanitise to one.
+ * A namespace with no letter or digit in it, is rejected.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class UniqueNames {
+
+    //region  helper variables
+
+    public static final String RUN_NAMESPACE_PROPERTY = "run.namespace";
+
+    private static final UniqueNames SHARED = new UniqueNames(System.getProperty(RUN_NAMESPACE_PROPERTY, defaultNamespace()));
+
+    private final String namespace;
+    private final AtomicLong counter = new AtomicLong();
+
+    //endregion
+
+    public UniqueNames(String namespace) {
+
+        String sanitised = namespace.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9-]+", "-");
+
+        if (!sanitised.matches(".*[a-z0-9].*"))
+            throw new IllegalArgumentException(RUN_NAMESPACE_PROPERTY + " must hold a letter or digit; was '" + namespace + "'");
+
+        this.namespace = sanitised.equals(namespace) ? namespace : sanitised + "-" + shortHash(namespace);
+    }
+
+    /**
+     * @return the generator shared by the whole test run.
+     */
+    public static UniqueNames shared() {
+        return SHARED;
+    }
+
+    //region getter
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    //endregion
+
+    /**
+     * @param prefix, e.g. <code>pet</code>.
+     * @return a name, never handed out before in this namespace; e.g. <code>pet-t1e4xk9-b7f2-1z</code>.
+     */
+    public String next(String prefix) {
+
+        String count = Long.toString(counter.incrementAndGet(), Character.MAX_RADIX);
+
+        return new StringBuilder(prefix.length() + namespace.length() + count.length() + 2)
+                .append(prefix).append('-')
+                .append(namespace).append('-')
+                .append(count)
+                .toString();
+    }
+
+    //region helper methods
+
+    /**
+     * @return the crc32 of the value's UTF-8 bytes, in base 36; at most 7 characters.
+     */
+    private static String shortHash(String value) {
+
+        CRC32 crc = new CRC32();
+
+        crc.update(value.getBytes(StandardCharsets.UTF_8));
+
+        return Long.toString(crc.getValue(), Character.MAX_RADIX);
+    }
+
+    /**
+     * @return the start time in seconds, and 20 random bits; both in base 36, e.g. <code>t1e4xk9-b7f2</code>.
+     */
+    private static String defaultNamespace() {
+        return Long.toString(System.currentTimeMillis() / 1000, Character.MAX_RADIX)
+                + "-" + Integer.toString(new SecureRandom().nextInt(1 << 20), Character.MAX_RADIX);
+    }
+
+    //endregion
+
+}
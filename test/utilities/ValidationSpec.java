@@ -0,0 +1,404 @@
+package utilities;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import io.restassured.response.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Validation Spec
+ * <p>
+ * A declarative list of expectations on a response; status code, status line, content type,
+ * required keys and field values; compiled once (e.g. per test class), e.g.
+ * <code>ValidationSpec.expect().statusCode(200).hasKey("message").fieldEquals("status", "success").compile()</code>.
+ * </p>
+ * <p>
+ * {@link #validate(Response)} reads the body in one streamed pass, keeping only the (dotted) paths the spec
+ * asks about, and checks every expectation; returning all of their outcomes, not just the first failure.
+ * That pass is timed, as the response's parse (see {@link RequestTiming}).
+ * </p>
+ * <p>
+ * The content type is matched on its media type, ignoring case and parameters (e.g. <code>; charset=utf-8</code>).
+ * Numbers are equal when their values are, e.g. <code>12</code> and <code>12L</code>.
+ * </p>
+ *
+ * @since 17 October 2026
+ */
+public class ValidationSpec {
+
+    //region  helper variables
+
+    private static final Object CONTAINER = new Object() {
+        @Override
+        public String toString() {
+            return "{...}";
+        }
+    };
+
+    private final List<Expectation> expectations;
+    private final Set<String> bodyPaths;
+    private final Set<String> bodyPathPrefixes;
+
+    //endregion
+
+    private ValidationSpec(List<Expectation> expectations) {
+
+        this.expectations = Collections.unmodifiableList(new ArrayList<>(expectations));
+
+        Set<String> body_paths = new HashSet<>();
+        Set<String> body_path_prefixes = new HashSet<>();
+
+        for (Expectation expectation : expectations) {
+
+            if (expectation.path == null)
+                continue;
+
+            body_paths.add(expectation.path);
+
+            for (int dot = expectation.path.indexOf('.'); dot > 0; dot = expectation.path.indexOf('.', dot + 1))
+                body_path_prefixes.add(expectation.path.substring(0, dot));
+        }
+
+        this.bodyPaths = body_paths;
+        this.bodyPathPrefixes = body_path_prefixes;
+    }
+
+    /**
+     * @return a new, empty spec builder.
+     */
+    public static Builder expect() {
+        return new Builder(Collections.emptyList());
+    }
+
+    /**
+     * @return a builder, holding this spec's expectations; to compile a stricter spec from.
+     */
+    public Builder and() {
+        return new Builder(expectations);
+    }
+
+    /**
+     * Checks every expectation, against the one response.
+     */
+    public Result validate(Response response) {
+
+        Map<String, Object> body = bodyPaths.isEmpty() ? Collections.emptyMap() : new HashMap<>();
+        String body_error = null;
+
+        if (!bodyPaths.isEmpty()) {
+
+            byte[] body_bytes = response.asByteArray();
+
+            long parse_started_at = System.nanoTime();
+
+            body_error = readBody(body_bytes, body);
+
+            RequestTiming.parsed(response, System.nanoTime() - parse_started_at);
+        }
+
+        List<Check> checks = new ArrayList<>(expectations.size());
+
+        for (Expectation expectation : expectations) {
+
+            Object actual;
+            boolean passed;
+
+            switch (expectation.kind) {
+
+                case STATUS_CODE:
+                    actual = response.statusCode();
+                    passed = expectation.expected.equals(actual);
+                    break;
+
+                case STATUS_LINE:
+                    actual = response.statusLine();
+                    passed = expectation.expected.equals(actual);
+                    break;
+
+                case CONTENT_TYPE:
+                    actual = response.contentType();
+                    passed = actual != null && expectation.expected.toString().equalsIgnoreCase(((String) actual).split(";")[0].trim());
+                    break;
+
+                case HAS_KEY:
+                    actual = body_error != null ? body_error : body.containsKey(expectation.path) ? "present" : "absent";
+                    passed = body_error == null && body.containsKey(expectation.path);
+                    break;
+
+                default:
+                    actual = body_error != null ? body_error : body.get(expectation.path);
+                    passed = body_error == null && body.containsKey(expectation.path) && valuesEqual(expectation.expected, actual);
+            }
+
+            checks.add(new Check(expectation.toString(), passed, actual));
+        }
+
+        return new Result(checks, body);
+    }
+
+    //region helper methods
+
+    /**
+     * Streams the body, keeping the values at this spec's paths; objects and arrays kept as a marker only.
+     *
+     * @return null, or why the body could not be read as json.
+     */
+    private String readBody(byte[] body, Map<String, Object> found) {
+
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8))) {
+
+            if (reader.peek() != JsonToken.BEGIN_OBJECT)
+                return "body is not a json object";
+
+            readObject(reader, "", found);
+
+            return null;
+
+        } catch (IOException | RuntimeException e) {
+            return "body is not json; " + e.getMessage();
+        }
+    }
+
+    private void readObject(JsonReader reader, String prefix, Map<String, Object> found) throws IOException {
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+
+            String path = prefix + reader.nextName();
+            JsonToken token = reader.peek();
+            boolean is_container = token == JsonToken.BEGIN_OBJECT || token == JsonToken.BEGIN_ARRAY;
+
+            if (token == JsonToken.BEGIN_OBJECT && bodyPathPrefixes.contains(path)) {
+
+                if (bodyPaths.contains(path))
+                    found.put(path, CONTAINER);
+
+                readObject(reader, path + ".", found);
+
+            } else if (bodyPaths.contains(path) && !is_container) {
+
+                found.put(path, JsonStreamSearch.readScalar(reader));
+
+            } else {
+
+                if (bodyPaths.contains(path))
+                    found.put(path, CONTAINER);
+
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+    }
+
+    private static boolean valuesEqual(Object expected, Object actual) {
+
+        if (expected instanceof Number && actual instanceof Number) {
+
+            if (isIntegral(expected) && isIntegral(actual))
+                return ((Number) expected).longValue() == ((Number) actual).longValue();
+
+            return ((Number) expected).doubleValue() == ((Number) actual).doubleValue();
+        }
+
+        return Objects.equals(expected, actual);
+    }
+
+    private static boolean isIntegral(Object number) {
+        return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+    }
+
+    //endregion
+
+    /**
+     * Collects expectations, in the order they will be checked and reported.
+     */
+    public static class Builder {
+
+        private final List<Expectation> expectations;
+
+        private Builder(List<Expectation> expectations) {
+            this.expectations = new ArrayList<>(expectations);
+        }
+
+        public Builder statusCode(int status_code) {
+            return add(new Expectation(Kind.STATUS_CODE, null, status_code));
+        }
+
+        public Builder statusLine(String status_line) {
+            return add(new Expectation(Kind.STATUS_LINE, null, status_line));
+        }
+
+        public Builder contentType(String media_type) {
+            return add(new Expectation(Kind.CONTENT_TYPE, null, media_type));
+        }
+
+        /**
+         * @param path, a top-level key, or a dotted path to a nested one; e.g. <code>message.bulldog</code>.
+         */
+        public Builder hasKey(String path) {
+            return add(new Expectation(Kind.HAS_KEY, path, null));
+        }
+
+        /**
+         * @param path,  a top-level key, or a dotted path to a nested one.
+         * @param value, a string, number, boolean or null.
+         */
+        public Builder fieldEquals(String path, Object value) {
+            return add(new Expectation(Kind.FIELD_EQUALS, path, value));
+        }
+
+        public ValidationSpec compile() {
+            return new ValidationSpec(expectations);
+        }
+
+        private Builder add(Expectation expectation) {
+            expectations.add(expectation);
+            return this;
+        }
+    }
+
+    private enum Kind {STATUS_CODE, STATUS_LINE, CONTENT_TYPE, HAS_KEY, FIELD_EQUALS}
+
+    private static class Expectation {
+
+        private final Kind kind;
+        private final String path;
+        private final Object expected;
+
+        private Expectation(Kind kind, String path, Object expected) {
+            this.kind = kind;
+            this.path = path;
+            this.expected = expected;
+        }
+
+        /**
+         * @return e.g. <code>status code == 200</code>, <code>has key message</code> or <code>status == success</code>.
+         */
+        @Override
+        public String toString() {
+            switch (kind) {
+                case STATUS_CODE:
+                    return "status code == " + expected;
+                case STATUS_LINE:
+                    return "status line == " + expected;
+                case CONTENT_TYPE:
+                    return "content type == " + expected;
+                case HAS_KEY:
+                    return "has key " + path;
+                default:
+                    return path + " == " + expected;
+            }
+        }
+    }
+
+    /**
+     * Outcome of one expectation.
+     */
+    public static class Check {
+
+        private final String expectation;
+        private final boolean passed;
+        private final Object actual;
+
+        private Check(String expectation, boolean passed, Object actual) {
+            this.expectation = expectation;
+            this.passed = passed;
+            this.actual = actual;
+        }
+
+        public String getExpectation() {
+            return expectation;
+        }
+
+        public boolean isPassed() {
+            return passed;
+        }
+
+        public Object getActual() {
+            return actual;
+        }
+
+        /**
+         * @return e.g. <code>status == success ; was failure</code>
+         */
+        @Override
+        public String toString() {
+            return expectation + " ; was " + actual;
+        }
+    }
+
+    /**
+     * Outcomes of every expectation, in spec order.
+     */
+    public static class Result {
+
+        private final List<Check> checks;
+        private final Map<String, Object> body;
+
+        private Result(List<Check> checks, Map<String, Object> body) {
+            this.checks = Collections.unmodifiableList(checks);
+            this.body = body;
+        }
+
+        public List<Check> getChecks() {
+            return checks;
+        }
+
+        /**
+         * @param path, one of the spec's key or field paths.
+         * @return the value read at the path; a string, Long, Double, boolean or null. Null for an object, array or absent key.
+         */
+        public Object getValue(String path) {
+            Object value = body.get(path);
+            return value == CONTAINER ? null : value;
+        }
+
+        public List<Check> getFailures() {
+
+            List<Check> failures = new ArrayList<>();
+
+            for (Check check : checks)
+                if (!check.isPassed())
+                    failures.add(check);
+
+            return failures;
+        }
+
+        public boolean isPassed() {
+            return getFailures().isEmpty();
+        }
+
+        /**
+         * @throws AssertionError listing every failed expectation, when any failed.
+         */
+        public void assertPassed() throws AssertionError {
+
+            List<Check> failures = getFailures();
+
+            if (failures.isEmpty())
+                return;
+
+            StringBuilder message = new StringBuilder().append(failures.size()).append(" expectation(s) failed:");
+
+            for (Check failure : failures)
+                message.append("\n  ").append(failure);
+
+            throw new AssertionError(message.toString());
+        }
+    }
+
+}